@@ -0,0 +1,35 @@
+package com.example;
+
+import java.util.concurrent.atomic.LongAdder;
+
+// Counters for the onBackpressure* and the conflating (sample, throttle*)
+// operators. Put one in the Context under CONTEXT_KEY (e.g. with
+// FluxContextWrite) and every such operator below that point counts into it;
+// without one they count nothing.
+final class BackpressureStats {
+    static final String CONTEXT_KEY = "backpressure.stats";
+
+    // items that arrived while downstream had no demand and no room was left
+    final LongAdder overflowed = new LongAdder();
+    // items discarded because of that, by whichever policy
+    final LongAdder dropped = new LongAdder();
+    // items a conflating operator passed over for a newer one or a closed window
+    final LongAdder skipped = new LongAdder();
+
+    static BackpressureStats from(Context context) {
+        return context.get(CONTEXT_KEY);
+    }
+
+    void overflow(boolean droppedItem) {
+        overflowed.increment();
+        if (droppedItem) {
+            dropped.increment();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "BackpressureStats{overflowed=" + overflowed.sum() + ", dropped=" + dropped.sum()
+                + ", skipped=" + skipped.sum() + "}";
+    }
+}
@@ -0,0 +1,24 @@
+package com.example;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+// For blocking work: at most maxThreads threads (idle ones exit after a minute)
+// and at most maxQueuedTasks pending tasks, beyond which schedule() throws
+// RejectedExecutionException instead of buffering without bound.
+class BoundedElasticScheduler extends ExecutorScheduler {
+
+    BoundedElasticScheduler(int maxThreads, int maxQueuedTasks, String name) {
+        super(newPool(maxThreads, name), maxQueuedTasks);
+    }
+
+    private static ThreadPoolExecutor newPool(int maxThreads, String name) {
+        // the pool queue only ever holds one drain per busy worker; the task cap
+        // is enforced by ExecutorScheduler
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(maxThreads, maxThreads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), Schedulers.daemonThreadFactory(name));
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+}
@@ -0,0 +1,18 @@
+package com.example;
+
+// A pipeline produced by PipelineCompiler: the source items plus the loop that
+// applies every stage. Subscribing allocates only the subscription.
+class CompiledFlux<T> implements Publisher<T> {
+    private final Object[] items;
+    private final CompiledLoop loop;
+
+    CompiledFlux(Object[] items, CompiledLoop loop) {
+        this.items = items;
+        this.loop = loop;
+    }
+
+    @Override
+    public void subscribe(Subscriber<T> subscriber) {
+        subscriber.onSubscribe(new CompiledSubscription<>(subscriber, items, loop));
+    }
+}
@@ -0,0 +1,12 @@
+package com.example;
+
+// The fused map/filter stages of a compiled pipeline. Implementations are
+// hidden copies of CompiledLoopTemplate, one per compiled pipeline.
+interface CompiledLoop {
+    // Runs one source item through every stage; StageChain.SKIP when a filter dropped it.
+    Object apply(Object item);
+
+    // Emits up to n surviving items starting at items[index], stopping early
+    // on cancellation. Returns the index of the first item not consumed.
+    int drain(Object[] items, int index, long n, CompiledSubscription<?> subscription);
+}
@@ -0,0 +1,59 @@
+package com.example;
+
+import java.lang.constant.ConstantDescs;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+
+// Never loaded as-is: PipelineCompiler defines a hidden copy of these bytes for
+// each pipeline, with the composed stage handle as class data. STAGES is then a
+// true constant of that copy, so the JIT inlines the whole chain into drain().
+final class CompiledLoopTemplate implements CompiledLoop {
+    private static final MethodHandle STAGES;
+
+    static {
+        try {
+            STAGES = MethodHandles.classData(MethodHandles.lookup(), ConstantDescs.DEFAULT_NAME, MethodHandle.class);
+        } catch (IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    CompiledLoopTemplate() {
+    }
+
+    @Override
+    public Object apply(Object item) {
+        try {
+            return (Object) STAGES.invokeExact(item);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public int drain(Object[] items, int index, long n, CompiledSubscription<?> subscription) {
+        Subscriber<Object> downstream = (Subscriber<Object>) subscription.downstream;
+        int i = index;
+        long emitted = 0;
+        try {
+            while (emitted != n && i != items.length) {
+                if (subscription.cancelled) {
+                    return i;
+                }
+                Object item = (Object) STAGES.invokeExact(items[i++]);
+                if (item != StageChain.SKIP) {
+                    downstream.onNext(item);
+                    emitted++;
+                }
+            }
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new RuntimeException(e);
+        }
+        return i;
+    }
+}
@@ -0,0 +1,84 @@
+package com.example;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Same demand accounting as ArraySubscription; the loop does the iterating.
+class CompiledSubscription<T> implements QueueSubscription<T> {
+    final Subscriber<T> downstream;
+    volatile boolean cancelled;
+
+    private final Object[] items;
+    private final CompiledLoop loop;
+    private final AtomicLong requested = new AtomicLong();
+    private int index;
+
+    CompiledSubscription(Subscriber<T> downstream, Object[] items, CompiledLoop loop) {
+        this.downstream = downstream;
+        this.items = items;
+        this.loop = loop;
+    }
+
+    @Override
+    public void request(long n) {
+        Operators.validate(n);
+        if (Operators.addCap(requested, n) == 0) {
+            drain(n);
+        }
+    }
+
+    @Override
+    public void cancel() {
+        cancelled = true;
+    }
+
+    private void drain(long n) {
+        int i = index;
+        for (;;) {
+            // the loop emits exactly n items unless the source runs out first
+            i = loop.drain(items, i, n, this);
+            if (cancelled) {
+                return;
+            }
+            if (i == items.length) {
+                downstream.onComplete();
+                return;
+            }
+            index = i;
+            n = requested.addAndGet(-n);
+            if (n == 0) {
+                return;
+            }
+        }
+    }
+
+    @Override
+    public int requestFusion(int requestedMode) {
+        return (requestedMode & SYNC) != 0 ? SYNC : NONE;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T poll() {
+        Object[] a = items;
+        int i = index;
+        while (i != a.length) {
+            Object item = loop.apply(a[i++]);
+            if (item != StageChain.SKIP) {
+                index = i;
+                return (T) item;
+            }
+        }
+        index = i;
+        return null;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return index == items.length;
+    }
+
+    @Override
+    public void clear() {
+        index = items.length;
+    }
+}
@@ -0,0 +1,20 @@
+package com.example;
+
+// A hot publisher: subscribers only register, and the single upstream
+// subscription starts when connect() is called.
+abstract class ConnectablePublisher<T> implements Publisher<T> {
+
+    // Subscribes upstream if not already connected; disposing the result
+    // cancels the upstream and completes the current subscribers.
+    abstract Disposable connect();
+
+    Publisher<T> refCount() {
+        return refCount(1);
+    }
+
+    // Connects once n subscribers are present and disconnects when all of them
+    // have cancelled.
+    Publisher<T> refCount(int n) {
+        return new FluxRefCount<>(this, n);
+    }
+}
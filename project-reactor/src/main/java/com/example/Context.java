@@ -1,40 +1,45 @@
 package com.example;
 
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.StringJoiner;
+import java.util.function.BiConsumer;
 
-class Context {
-    private final Map<String, Object> entries;
+// Immutable, so a put always returns a new Context. Small contexts (up to five
+// entries) keep their entries in fields and scan them linearly; bigger ones are
+// a ContextN trie that shares structure between versions.
+abstract class Context {
+    public static final Context EMPTY = new Context0();
 
-    public static final Context EMPTY = new Context(Collections.emptyMap());
-
-    private Context(Map<String, Object> entries) {
-        this.entries = Collections.unmodifiableMap(entries);
+    Context() {
     }
 
-    public Context put(String key, Object value) {
-        Map<String, Object> newEntries = new HashMap<>(this.entries);
-        newEntries.put(key, value);
-        return new Context(newEntries);
-    }
+    public abstract Context put(String key, Object value);
+
+    public abstract int size();
+
+    // null when the key is absent; keys and values are never null
+    abstract Object find(String key);
+
+    abstract void forEach(BiConsumer<String, Object> action);
 
     @SuppressWarnings("unchecked")
     public <V> V get(String key) {
-        return (V) entries.get(key);
+        return (V) find(key);
     }
 
     @SuppressWarnings("unchecked")
     public <V> V getOrDefault(String key, V defaultValue) {
-        return (V) entries.getOrDefault(key, defaultValue);
+        Object value = find(key);
+        return value != null ? (V) value : defaultValue;
     }
 
     public boolean hasKey(String key) {
-        return entries.containsKey(key);
+        return find(key) != null;
     }
 
     @Override
     public String toString() {
-        return "Context" + entries;
+        StringJoiner joiner = new StringJoiner(", ", "Context{", "}");
+        forEach((key, value) -> joiner.add(key + "=" + value));
+        return joiner.toString();
     }
 }
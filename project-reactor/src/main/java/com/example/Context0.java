@@ -0,0 +1,28 @@
+package com.example;
+
+import java.util.Objects;
+import java.util.function.BiConsumer;
+
+final class Context0 extends Context {
+
+    @Override
+    public Context put(String key, Object value) {
+        Objects.requireNonNull(key, "key");
+        Objects.requireNonNull(value, "value");
+        return new Context1(key, value);
+    }
+
+    @Override
+    public int size() {
+        return 0;
+    }
+
+    @Override
+    Object find(String key) {
+        return null;
+    }
+
+    @Override
+    void forEach(BiConsumer<String, Object> action) {
+    }
+}
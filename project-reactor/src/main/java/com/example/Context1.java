@@ -0,0 +1,42 @@
+package com.example;
+
+import java.util.Objects;
+import java.util.function.BiConsumer;
+
+final class Context1 extends Context {
+    private final String key1;
+    private final Object value1;
+
+    Context1(String key1, Object value1) {
+        this.key1 = key1;
+        this.value1 = value1;
+    }
+
+    @Override
+    public Context put(String key, Object value) {
+        Objects.requireNonNull(key, "key");
+        Objects.requireNonNull(value, "value");
+        if (key1.equals(key)) {
+            return new Context1(key, value);
+        }
+        return new Context2(key1, value1, key, value);
+    }
+
+    @Override
+    public int size() {
+        return 1;
+    }
+
+    @Override
+    Object find(String key) {
+        if (key1.equals(key)) {
+            return value1;
+        }
+        return null;
+    }
+
+    @Override
+    void forEach(BiConsumer<String, Object> action) {
+        action.accept(key1, value1);
+    }
+}
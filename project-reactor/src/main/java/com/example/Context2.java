@@ -0,0 +1,53 @@
+package com.example;
+
+import java.util.Objects;
+import java.util.function.BiConsumer;
+
+final class Context2 extends Context {
+    private final String key1;
+    private final Object value1;
+    private final String key2;
+    private final Object value2;
+
+    Context2(String key1, Object value1, String key2, Object value2) {
+        this.key1 = key1;
+        this.value1 = value1;
+        this.key2 = key2;
+        this.value2 = value2;
+    }
+
+    @Override
+    public Context put(String key, Object value) {
+        Objects.requireNonNull(key, "key");
+        Objects.requireNonNull(value, "value");
+        if (key1.equals(key)) {
+            return new Context2(key, value, key2, value2);
+        }
+        if (key2.equals(key)) {
+            return new Context2(key1, value1, key, value);
+        }
+        return new Context3(key1, value1, key2, value2, key, value);
+    }
+
+    @Override
+    public int size() {
+        return 2;
+    }
+
+    @Override
+    Object find(String key) {
+        if (key1.equals(key)) {
+            return value1;
+        }
+        if (key2.equals(key)) {
+            return value2;
+        }
+        return null;
+    }
+
+    @Override
+    void forEach(BiConsumer<String, Object> action) {
+        action.accept(key1, value1);
+        action.accept(key2, value2);
+    }
+}
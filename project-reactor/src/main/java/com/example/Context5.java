@@ -0,0 +1,86 @@
+package com.example;
+
+import java.util.Objects;
+import java.util.function.BiConsumer;
+
+final class Context5 extends Context {
+    private final String key1;
+    private final Object value1;
+    private final String key2;
+    private final Object value2;
+    private final String key3;
+    private final Object value3;
+    private final String key4;
+    private final Object value4;
+    private final String key5;
+    private final Object value5;
+
+    Context5(String key1, Object value1, String key2, Object value2, String key3, Object value3, String key4, Object value4, String key5, Object value5) {
+        this.key1 = key1;
+        this.value1 = value1;
+        this.key2 = key2;
+        this.value2 = value2;
+        this.key3 = key3;
+        this.value3 = value3;
+        this.key4 = key4;
+        this.value4 = value4;
+        this.key5 = key5;
+        this.value5 = value5;
+    }
+
+    @Override
+    public Context put(String key, Object value) {
+        Objects.requireNonNull(key, "key");
+        Objects.requireNonNull(value, "value");
+        if (key1.equals(key)) {
+            return new Context5(key, value, key2, value2, key3, value3, key4, value4, key5, value5);
+        }
+        if (key2.equals(key)) {
+            return new Context5(key1, value1, key, value, key3, value3, key4, value4, key5, value5);
+        }
+        if (key3.equals(key)) {
+            return new Context5(key1, value1, key2, value2, key, value, key4, value4, key5, value5);
+        }
+        if (key4.equals(key)) {
+            return new Context5(key1, value1, key2, value2, key3, value3, key, value, key5, value5);
+        }
+        if (key5.equals(key)) {
+            return new Context5(key1, value1, key2, value2, key3, value3, key4, value4, key, value);
+        }
+        return ContextN.of(this, key, value);
+    }
+
+    @Override
+    public int size() {
+        return 5;
+    }
+
+    @Override
+    Object find(String key) {
+        if (key1.equals(key)) {
+            return value1;
+        }
+        if (key2.equals(key)) {
+            return value2;
+        }
+        if (key3.equals(key)) {
+            return value3;
+        }
+        if (key4.equals(key)) {
+            return value4;
+        }
+        if (key5.equals(key)) {
+            return value5;
+        }
+        return null;
+    }
+
+    @Override
+    void forEach(BiConsumer<String, Object> action) {
+        action.accept(key1, value1);
+        action.accept(key2, value2);
+        action.accept(key3, value3);
+        action.accept(key4, value4);
+        action.accept(key5, value5);
+    }
+}
@@ -0,0 +1,193 @@
+package com.example;
+
+import java.util.Objects;
+import java.util.function.BiConsumer;
+
+// Persistent hash array mapped trie: each level consumes 5 bits of the key hash,
+// and a put only copies the nodes on the path to the changed entry.
+final class ContextN extends Context {
+    private final Node root;
+    private final int size;
+
+    private ContextN(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    static ContextN of(Context5 context, String key, Object value) {
+        Node[] root = {BitmapNode.EMPTY};
+        context.forEach((k, v) -> root[0] = root[0].put(k, v, hash(k), 0));
+        return new ContextN(root[0].put(key, value, hash(key), 0), 6);
+    }
+
+    @Override
+    public Context put(String key, Object value) {
+        Objects.requireNonNull(key, "key");
+        Objects.requireNonNull(value, "value");
+        int hash = hash(key);
+        int newSize = root.find(key, hash, 0) == null ? size + 1 : size;
+        return new ContextN(root.put(key, value, hash, 0), newSize);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    Object find(String key) {
+        return root.find(key, hash(key), 0);
+    }
+
+    @Override
+    void forEach(BiConsumer<String, Object> action) {
+        root.forEach(action);
+    }
+
+    private static int hash(String key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private static int bit(int hash, int shift) {
+        return 1 << ((hash >>> shift) & 31);
+    }
+
+    abstract static class Node {
+        abstract Object find(String key, int hash, int shift);
+
+        abstract Node put(String key, Object value, int hash, int shift);
+
+        abstract void forEach(BiConsumer<String, Object> action);
+    }
+
+    // slots holds key/value pairs; a null key means the value is a child node
+    static final class BitmapNode extends Node {
+        static final BitmapNode EMPTY = new BitmapNode(0, new Object[0]);
+
+        private final int bitmap;
+        private final Object[] slots;
+
+        BitmapNode(int bitmap, Object[] slots) {
+            this.bitmap = bitmap;
+            this.slots = slots;
+        }
+
+        @Override
+        Object find(String key, int hash, int shift) {
+            int bit = bit(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return null;
+            }
+            int i = 2 * Integer.bitCount(bitmap & (bit - 1));
+            Object k = slots[i];
+            if (k == null) {
+                return ((Node) slots[i + 1]).find(key, hash, shift + 5);
+            }
+            return key.equals(k) ? slots[i + 1] : null;
+        }
+
+        @Override
+        Node put(String key, Object value, int hash, int shift) {
+            int bit = bit(hash, shift);
+            int i = 2 * Integer.bitCount(bitmap & (bit - 1));
+
+            if ((bitmap & bit) == 0) {
+                Object[] copy = new Object[slots.length + 2];
+                System.arraycopy(slots, 0, copy, 0, i);
+                copy[i] = key;
+                copy[i + 1] = value;
+                System.arraycopy(slots, i, copy, i + 2, slots.length - i);
+                return new BitmapNode(bitmap | bit, copy);
+            }
+
+            Object k = slots[i];
+            Object replacement;
+            if (k == null) {
+                replacement = ((Node) slots[i + 1]).put(key, value, hash, shift + 5);
+            } else if (key.equals(k)) {
+                replacement = value;
+            } else {
+                // two keys share this slot: push both one level down
+                replacement = merge((String) k, slots[i + 1], key, value, hash, shift + 5);
+                Object[] copy = slots.clone();
+                copy[i] = null;
+                copy[i + 1] = replacement;
+                return new BitmapNode(bitmap, copy);
+            }
+            Object[] copy = slots.clone();
+            copy[i + 1] = replacement;
+            return new BitmapNode(bitmap, copy);
+        }
+
+        private static Node merge(String key1, Object value1, String key2, Object value2, int hash2, int shift) {
+            int hash1 = hash(key1);
+            if (hash1 == hash2) {
+                return new CollisionNode(hash1, new Object[] {key1, value1, key2, value2});
+            }
+            return EMPTY.put(key1, value1, hash1, shift).put(key2, value2, hash2, shift);
+        }
+
+        @Override
+        void forEach(BiConsumer<String, Object> action) {
+            for (int i = 0; i < slots.length; i += 2) {
+                if (slots[i] == null) {
+                    ((Node) slots[i + 1]).forEach(action);
+                } else {
+                    action.accept((String) slots[i], slots[i + 1]);
+                }
+            }
+        }
+    }
+
+    // keys whose full 32-bit hashes are equal
+    static final class CollisionNode extends Node {
+        private final int hash;
+        private final Object[] entries;
+
+        CollisionNode(int hash, Object[] entries) {
+            this.hash = hash;
+            this.entries = entries;
+        }
+
+        @Override
+        Object find(String key, int hash, int shift) {
+            if (hash != this.hash) {
+                return null;
+            }
+            for (int i = 0; i < entries.length; i += 2) {
+                if (key.equals(entries[i])) {
+                    return entries[i + 1];
+                }
+            }
+            return null;
+        }
+
+        @Override
+        Node put(String key, Object value, int hash, int shift) {
+            if (hash != this.hash) {
+                BitmapNode parent = new BitmapNode(bit(this.hash, shift), new Object[] {null, this});
+                return parent.put(key, value, hash, shift);
+            }
+            for (int i = 0; i < entries.length; i += 2) {
+                if (key.equals(entries[i])) {
+                    Object[] copy = entries.clone();
+                    copy[i + 1] = value;
+                    return new CollisionNode(hash, copy);
+                }
+            }
+            Object[] copy = new Object[entries.length + 2];
+            System.arraycopy(entries, 0, copy, 0, entries.length);
+            copy[entries.length] = key;
+            copy[entries.length + 1] = value;
+            return new CollisionNode(hash, copy);
+        }
+
+        @Override
+        void forEach(BiConsumer<String, Object> action) {
+            for (int i = 0; i < entries.length; i += 2) {
+                action.accept((String) entries[i], entries[i + 1]);
+            }
+        }
+    }
+}
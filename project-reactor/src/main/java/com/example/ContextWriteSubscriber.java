@@ -1,17 +1,13 @@
 package com.example;
 
-import java.util.function.UnaryOperator;
-
 class ContextWriteSubscriber<T> extends CoreSubscriber<T> {
     private final Subscriber<T> downstream;
     private final Context modifiedContext;
 
-    ContextWriteSubscriber(Subscriber<T> downstream, UnaryOperator<Context> contextModifier) {
+    ContextWriteSubscriber(Subscriber<T> downstream, Context modifiedContext) {
         super(downstream);
         this.downstream = downstream;
-
-        Context downstreamCtx = downstream.currentContext();
-        this.modifiedContext = contextModifier.apply(downstreamCtx);
+        this.modifiedContext = modifiedContext;
     }
 
     @Override
@@ -26,11 +22,13 @@ class ContextWriteSubscriber<T> extends CoreSubscriber<T> {
 
     @Override
     public void onNext(T item) {
+        Hooks.onNext(this, item);
         downstream.onNext(item);
     }
 
     @Override
     public void onComplete() {
+        Hooks.onComplete(this);
         downstream.onComplete();
     }
 }
@@ -0,0 +1,7 @@
+package com.example;
+
+interface Disposable {
+    void dispose();
+
+    boolean isDisposed();
+}
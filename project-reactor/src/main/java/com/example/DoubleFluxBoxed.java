@@ -0,0 +1,45 @@
+package com.example;
+
+// Bridges a double pipeline back to a Publisher<Double>; boxing happens here only.
+class DoubleFluxBoxed implements Publisher<Double> {
+    private final DoublePublisher upstream;
+
+    DoubleFluxBoxed(DoublePublisher upstream) {
+        this.upstream = upstream;
+        Hooks.onAssembly(this);
+    }
+
+    @Override
+    public void subscribe(Subscriber<Double> downstreamSubscriber) {
+        Hooks.onSubscribe(this, downstreamSubscriber);
+        upstream.subscribe(new DoubleBoxedSubscriber(downstreamSubscriber));
+    }
+}
+
+class DoubleBoxedSubscriber implements DoubleSubscriber {
+    private final Subscriber<Double> downstream;
+
+    DoubleBoxedSubscriber(Subscriber<Double> downstream) {
+        this.downstream = downstream;
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        downstream.onSubscribe(subscription);
+    }
+
+    @Override
+    public void onNext(double item) {
+        downstream.onNext(item);
+    }
+
+    @Override
+    public void onComplete() {
+        downstream.onComplete();
+    }
+
+    @Override
+    public Context currentContext() {
+        return downstream.currentContext();
+    }
+}
@@ -0,0 +1,62 @@
+package com.example;
+
+import java.util.function.DoublePredicate;
+
+class DoubleFluxFilter implements DoublePublisher {
+    final DoublePublisher upstream;
+    final DoublePredicate predicate;
+
+    DoubleFluxFilter(DoublePublisher upstream, DoublePredicate predicate) {
+        if (upstream instanceof DoubleFluxFilter) {
+            DoubleFluxFilter previous = (DoubleFluxFilter) upstream;
+            this.upstream = previous.upstream;
+            this.predicate = previous.predicate.and(predicate);
+        } else {
+            this.upstream = upstream;
+            this.predicate = predicate;
+        }
+        Hooks.onAssembly(this);
+    }
+
+    @Override
+    public void subscribe(DoubleSubscriber downstreamSubscriber) {
+        Hooks.onSubscribe(this, downstreamSubscriber);
+        upstream.subscribe(new DoubleFilterSubscriber(downstreamSubscriber, predicate));
+    }
+}
+
+class DoubleFilterSubscriber implements DoubleSubscriber {
+    private final DoubleSubscriber downstream;
+    private final DoublePredicate predicate;
+    private Subscription upstream;
+
+    DoubleFilterSubscriber(DoubleSubscriber downstream, DoublePredicate predicate) {
+        this.downstream = downstream;
+        this.predicate = predicate;
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        this.upstream = subscription;
+        downstream.onSubscribe(subscription);
+    }
+
+    @Override
+    public void onNext(double item) {
+        if (predicate.test(item)) {
+            downstream.onNext(item);
+        } else {
+            upstream.request(1);
+        }
+    }
+
+    @Override
+    public void onComplete() {
+        downstream.onComplete();
+    }
+
+    @Override
+    public Context currentContext() {
+        return downstream.currentContext();
+    }
+}
@@ -0,0 +1,98 @@
+package com.example;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+class DoubleFluxJust implements DoublePublisher {
+    private final double[] items;
+
+    DoubleFluxJust(double... items) {
+        this.items = items;
+        Hooks.onAssembly(this);
+    }
+
+    @Override
+    public void subscribe(DoubleSubscriber subscriber) {
+        Hooks.onSubscribe(this, subscriber);
+        subscriber.onSubscribe(new DoubleArraySubscription(subscriber, items));
+    }
+}
+
+// Same demand accounting as ArraySubscription, without boxing the items.
+class DoubleArraySubscription implements Subscription {
+    private final DoubleSubscriber subscriber;
+    private final double[] items;
+    private final AtomicLong requested = new AtomicLong();
+    private int index;
+    private volatile boolean cancelled;
+
+    DoubleArraySubscription(DoubleSubscriber subscriber, double[] items) {
+        this.subscriber = subscriber;
+        this.items = items;
+    }
+
+    @Override
+    public void request(long n) {
+        Operators.validate(n);
+        if (Operators.addCap(requested, n) == 0) {
+            if (n == Long.MAX_VALUE) {
+                fastPath();
+            } else {
+                slowPath(n);
+            }
+        }
+    }
+
+    @Override
+    public void cancel() {
+        cancelled = true;
+    }
+
+    private void fastPath() {
+        double[] a = items;
+        for (int i = index; i < a.length; i++) {
+            if (cancelled) {
+                return;
+            }
+            subscriber.onNext(a[i]);
+        }
+        if (!cancelled) {
+            subscriber.onComplete();
+        }
+    }
+
+    private void slowPath(long n) {
+        double[] a = items;
+        int i = index;
+        long emitted = 0;
+
+        for (;;) {
+            while (emitted != n && i != a.length) {
+                if (cancelled) {
+                    return;
+                }
+                subscriber.onNext(a[i]);
+                i++;
+                emitted++;
+            }
+
+            if (cancelled) {
+                return;
+            }
+
+            if (i == a.length) {
+                subscriber.onComplete();
+                return;
+            }
+
+            n = requested.get();
+            if (n == emitted) {
+                index = i;
+                n = requested.addAndGet(-emitted);
+                if (n == 0) {
+                    return;
+                }
+                emitted = 0;
+            }
+        }
+    }
+}
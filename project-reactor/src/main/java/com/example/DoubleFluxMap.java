@@ -0,0 +1,56 @@
+package com.example;
+
+import java.util.function.DoubleUnaryOperator;
+
+class DoubleFluxMap implements DoublePublisher {
+    final DoublePublisher upstream;
+    final DoubleUnaryOperator mapper;
+
+    DoubleFluxMap(DoublePublisher upstream, DoubleUnaryOperator mapper) {
+        if (upstream instanceof DoubleFluxMap) {
+            DoubleFluxMap previous = (DoubleFluxMap) upstream;
+            this.upstream = previous.upstream;
+            this.mapper = previous.mapper.andThen(mapper);
+        } else {
+            this.upstream = upstream;
+            this.mapper = mapper;
+        }
+        Hooks.onAssembly(this);
+    }
+
+    @Override
+    public void subscribe(DoubleSubscriber downstreamSubscriber) {
+        Hooks.onSubscribe(this, downstreamSubscriber);
+        upstream.subscribe(new DoubleMapSubscriber(downstreamSubscriber, mapper));
+    }
+}
+
+class DoubleMapSubscriber implements DoubleSubscriber {
+    private final DoubleSubscriber downstream;
+    private final DoubleUnaryOperator mapper;
+
+    DoubleMapSubscriber(DoubleSubscriber downstream, DoubleUnaryOperator mapper) {
+        this.downstream = downstream;
+        this.mapper = mapper;
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        downstream.onSubscribe(subscription);
+    }
+
+    @Override
+    public void onNext(double item) {
+        downstream.onNext(mapper.applyAsDouble(item));
+    }
+
+    @Override
+    public void onComplete() {
+        downstream.onComplete();
+    }
+
+    @Override
+    public Context currentContext() {
+        return downstream.currentContext();
+    }
+}
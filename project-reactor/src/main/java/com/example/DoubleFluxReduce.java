@@ -0,0 +1,143 @@
+package com.example;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.DoubleBinaryOperator;
+
+// Folds the whole source into one double, emitted when the source completes.
+// Without an identity an empty source completes without a value.
+class DoubleFluxReduce implements DoublePublisher {
+    private final DoublePublisher upstream;
+    private final boolean hasIdentity;
+    private final double identity;
+    private final DoubleBinaryOperator reducer;
+
+    DoubleFluxReduce(DoublePublisher upstream, DoubleBinaryOperator reducer) {
+        this(upstream, false, 0, reducer);
+    }
+
+    DoubleFluxReduce(DoublePublisher upstream, double identity, DoubleBinaryOperator reducer) {
+        this(upstream, true, identity, reducer);
+    }
+
+    private DoubleFluxReduce(DoublePublisher upstream, boolean hasIdentity, double identity, DoubleBinaryOperator reducer) {
+        this.upstream = upstream;
+        this.hasIdentity = hasIdentity;
+        this.identity = identity;
+        this.reducer = reducer;
+        Hooks.onAssembly(this);
+    }
+
+    static DoubleFluxReduce sum(DoublePublisher upstream) {
+        return new DoubleFluxReduce(upstream, 0, Double::sum);
+    }
+
+    static DoubleFluxReduce min(DoublePublisher upstream) {
+        return new DoubleFluxReduce(upstream, Math::min);
+    }
+
+    static DoubleFluxReduce max(DoublePublisher upstream) {
+        return new DoubleFluxReduce(upstream, Math::max);
+    }
+
+    @Override
+    public void subscribe(DoubleSubscriber downstreamSubscriber) {
+        Hooks.onSubscribe(this, downstreamSubscriber);
+        upstream.subscribe(new DoubleReduceSubscriber(downstreamSubscriber, hasIdentity, identity, reducer));
+    }
+}
+
+class DoubleReduceSubscriber implements DoubleSubscriber, Subscription {
+    // the result goes out once both the downstream request and the upstream completion arrived
+    private static final int NO_REQUEST_NO_RESULT = 0;
+    private static final int HAS_REQUEST = 1;
+    private static final int HAS_RESULT = 2;
+    private static final int EMITTED = 3;
+
+    private final DoubleSubscriber downstream;
+    private final DoubleBinaryOperator reducer;
+    private final AtomicInteger state = new AtomicInteger();
+
+    private Subscription upstream;
+    private boolean hasValue;
+    private double value;
+
+    DoubleReduceSubscriber(DoubleSubscriber downstream, boolean hasIdentity, double identity, DoubleBinaryOperator reducer) {
+        this.downstream = downstream;
+        this.reducer = reducer;
+        this.hasValue = hasIdentity;
+        this.value = identity;
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        this.upstream = subscription;
+        downstream.onSubscribe(this);
+        subscription.request(Long.MAX_VALUE);
+    }
+
+    @Override
+    public void onNext(double item) {
+        if (hasValue) {
+            value = reducer.applyAsDouble(value, item);
+        } else {
+            value = item;
+            hasValue = true;
+        }
+    }
+
+    @Override
+    public void onComplete() {
+        if (!hasValue) {
+            if (state.getAndSet(EMITTED) != EMITTED) {
+                downstream.onComplete();
+            }
+            return;
+        }
+        for (;;) {
+            int s = state.get();
+            if (s == HAS_REQUEST) {
+                if (state.compareAndSet(HAS_REQUEST, EMITTED)) {
+                    emit();
+                }
+                return;
+            }
+            if (state.compareAndSet(NO_REQUEST_NO_RESULT, HAS_RESULT)) {
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void request(long n) {
+        Operators.validate(n);
+        for (;;) {
+            int s = state.get();
+            if (s == HAS_RESULT) {
+                if (state.compareAndSet(HAS_RESULT, EMITTED)) {
+                    emit();
+                }
+                return;
+            }
+            if (s != NO_REQUEST_NO_RESULT || state.compareAndSet(NO_REQUEST_NO_RESULT, HAS_REQUEST)) {
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void cancel() {
+        if (state.getAndSet(EMITTED) != EMITTED) {
+            upstream.cancel();
+        }
+    }
+
+    private void emit() {
+        downstream.onNext(value);
+        downstream.onComplete();
+    }
+
+    @Override
+    public Context currentContext() {
+        return downstream.currentContext();
+    }
+}
@@ -0,0 +1,5 @@
+package com.example;
+
+interface DoublePublisher {
+    void subscribe(DoubleSubscriber subscriber);
+}
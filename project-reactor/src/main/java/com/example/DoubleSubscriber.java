@@ -0,0 +1,10 @@
+package com.example;
+
+// Subscriber for unboxed double items.
+interface DoubleSubscriber {
+    void onSubscribe(Subscription subscription);
+    void onNext(double item);
+    void onComplete();
+
+    Context currentContext();
+}
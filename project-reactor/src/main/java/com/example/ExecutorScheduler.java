@@ -0,0 +1,169 @@
+package com.example;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Workers queue their own tasks and hand the executor one drain at a time,
+// so a worker is serial even though the executor may be a shared pool.
+class ExecutorScheduler implements Scheduler {
+    private final Executor executor;
+    private final int maxQueuedTasks;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger workers = new AtomicInteger();
+    private volatile boolean disposed;
+
+    ExecutorScheduler(Executor executor) {
+        this(executor, Integer.MAX_VALUE);
+    }
+
+    ExecutorScheduler(Executor executor, int maxQueuedTasks) {
+        if (maxQueuedTasks <= 0) {
+            throw new IllegalArgumentException("maxQueuedTasks must be positive, got " + maxQueuedTasks);
+        }
+        this.executor = executor;
+        this.maxQueuedTasks = maxQueuedTasks;
+    }
+
+    @Override
+    public Worker createWorker() {
+        if (disposed) {
+            throw new RejectedExecutionException("Scheduler is disposed");
+        }
+        workers.incrementAndGet();
+        return new SerialWorker();
+    }
+
+    @Override
+    public int queueSize() {
+        return queued.get();
+    }
+
+    @Override
+    public int activeWorkers() {
+        return workers.get();
+    }
+
+    @Override
+    public void dispose() {
+        disposed = true;
+        if (executor instanceof ExecutorService) {
+            ((ExecutorService) executor).shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return disposed;
+    }
+
+    class SerialWorker implements Worker, Runnable {
+        private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger wip = new AtomicInteger();
+        private final AtomicBoolean workerDisposed = new AtomicBoolean();
+
+        @Override
+        public void schedule(Runnable task) {
+            if (workerDisposed.get()) {
+                return;
+            }
+            if (queued.incrementAndGet() > maxQueuedTasks) {
+                queued.decrementAndGet();
+                throw new RejectedExecutionException("Task queue is full (" + maxQueuedTasks + " tasks)");
+            }
+            tasks.offer(task);
+            if (wip.getAndIncrement() == 0) {
+                try {
+                    executor.execute(this);
+                } catch (RejectedExecutionException e) {
+                    discard();
+                    throw e;
+                }
+            }
+        }
+
+        // Undoes a drain the executor refused: drops the queued tasks and lowers
+        // wip, so the counters stay true and a later schedule() can try again.
+        private void discard() {
+            int missed = 1;
+            for (;;) {
+                while (tasks.poll() != null) {
+                    queued.decrementAndGet();
+                }
+                missed = wip.addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public Disposable schedule(Runnable task, long delay, TimeUnit unit) {
+            return new FutureDisposable(Schedulers.timer().schedule(() -> schedule(task), delay, unit));
+        }
+
+        @Override
+        public void run() {
+            int missed = 1;
+            for (;;) {
+                Runnable task;
+                while ((task = tasks.poll()) != null) {
+                    queued.decrementAndGet();
+                    if (!workerDisposed.get()) {
+                        runSafely(task);
+                    }
+                }
+                missed = wip.addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public void dispose() {
+            if (workerDisposed.compareAndSet(false, true)) {
+                workers.decrementAndGet();
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return workerDisposed.get();
+        }
+    }
+
+    // a failing task must not leave the worker's drain loop stuck
+    static void runSafely(Runnable task) {
+        try {
+            task.run();
+        } catch (Throwable e) {
+            Thread current = Thread.currentThread();
+            current.getUncaughtExceptionHandler().uncaughtException(current, e);
+        }
+    }
+
+    static class FutureDisposable implements Disposable {
+        private final Future<?> future;
+
+        FutureDisposable(Future<?> future) {
+            this.future = future;
+        }
+
+        @Override
+        public void dispose() {
+            future.cancel(false);
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return future.isDone();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.example;
+
+import java.util.function.Predicate;
+
+class FilterSubscriber<T> extends CoreSubscriber<T> implements QueueSubscription<T> {
+    private final Subscriber<T> downstream;
+    private final Predicate<T> predicate;
+    private Subscription upstream;
+    private QueueSubscription<T> qs;
+
+    FilterSubscriber(Subscriber<T> downstream, Predicate<T> predicate) {
+        super(downstream);
+        this.downstream = downstream;
+        this.predicate = predicate;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void onSubscribe(Subscription subscription) {
+        this.upstream = subscription;
+        if (subscription instanceof QueueSubscription) {
+            this.qs = (QueueSubscription<T>) subscription;
+            downstream.onSubscribe(this);
+        } else {
+            downstream.onSubscribe(subscription);
+        }
+    }
+
+    @Override
+    public void onNext(T item) {
+        Hooks.onNext(this, item);
+        if (predicate.test(item)) {
+            downstream.onNext(item);
+        } else {
+            // the dropped item used up one unit of downstream demand
+            upstream.request(1);
+        }
+    }
+
+    @Override
+    public void onComplete() {
+        Hooks.onComplete(this);
+        downstream.onComplete();
+    }
+
+    @Override
+    public void request(long n) {
+        qs.request(n);
+    }
+
+    @Override
+    public void cancel() {
+        qs.cancel();
+    }
+
+    @Override
+    public int requestFusion(int requestedMode) {
+        return qs.requestFusion(requestedMode);
+    }
+
+    @Override
+    public T poll() {
+        // in SYNC mode rejected items are skipped here instead of re-requested
+        T item;
+        while ((item = qs.poll()) != null) {
+            Hooks.onNext(this, item);
+            if (predicate.test(item)) {
+                return item;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return qs.isEmpty();
+    }
+
+    @Override
+    public void clear() {
+        qs.clear();
+    }
+}
@@ -0,0 +1,82 @@
+package com.example;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Collects items into lists of maxSize; for n lists it asks upstream for n * maxSize items.
+class FluxBuffer<T> implements Publisher<List<T>> {
+    private final Publisher<T> upstream;
+    private final int maxSize;
+
+    FluxBuffer(Publisher<T> upstream, int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive, got " + maxSize);
+        }
+        this.upstream = upstream;
+        this.maxSize = maxSize;
+        Hooks.onAssembly(this);
+    }
+
+    @Override
+    public void subscribe(Subscriber<List<T>> downstreamSubscriber) {
+        Hooks.onSubscribe(this, downstreamSubscriber);
+        upstream.subscribe(new BufferSubscriber<>(downstreamSubscriber, maxSize));
+    }
+}
+
+class BufferSubscriber<T> extends CoreSubscriber<T> implements Subscription {
+    private final Subscriber<List<T>> downstream;
+    private final int maxSize;
+
+    private Subscription upstream;
+    private List<T> buffer;
+
+    BufferSubscriber(Subscriber<List<T>> downstream, int maxSize) {
+        super(downstream);
+        this.downstream = downstream;
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        this.upstream = subscription;
+        downstream.onSubscribe(this);
+    }
+
+    @Override
+    public void onNext(T item) {
+        Hooks.onNext(this, item);
+        List<T> b = buffer;
+        if (b == null) {
+            b = new ArrayList<>(maxSize);
+            buffer = b;
+        }
+        b.add(item);
+        if (b.size() == maxSize) {
+            buffer = null;
+            downstream.onNext(b);
+        }
+    }
+
+    @Override
+    public void onComplete() {
+        Hooks.onComplete(this);
+        List<T> b = buffer;
+        buffer = null;
+        if (b != null) {
+            downstream.onNext(b);
+        }
+        downstream.onComplete();
+    }
+
+    @Override
+    public void request(long n) {
+        Operators.validate(n);
+        upstream.request(Operators.multiplyCap(n, maxSize));
+    }
+
+    @Override
+    public void cancel() {
+        upstream.cancel();
+    }
+}
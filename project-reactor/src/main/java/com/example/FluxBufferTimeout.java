@@ -0,0 +1,220 @@
+package com.example;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Emits a list when it reaches maxSize items or when timespan has passed since
+// its first item, whichever comes first. Upstream demand follows what closed
+// lists actually took, so lists cut short by the timer do not leave surplus
+// items piling up. Without a size limit (the buffer(Duration) form) upstream
+// demand is unbounded.
+class FluxBufferTimeout<T> implements Publisher<List<T>> {
+    private final Publisher<T> upstream;
+    private final int maxSize;
+    private final Duration timespan;
+    private final Scheduler scheduler;
+
+    FluxBufferTimeout(Publisher<T> upstream, Duration timespan) {
+        this(upstream, Integer.MAX_VALUE, timespan, Schedulers.parallel());
+    }
+
+    FluxBufferTimeout(Publisher<T> upstream, int maxSize, Duration timespan) {
+        this(upstream, maxSize, timespan, Schedulers.parallel());
+    }
+
+    FluxBufferTimeout(Publisher<T> upstream, int maxSize, Duration timespan, Scheduler scheduler) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive, got " + maxSize);
+        }
+        if (timespan.isNegative() || timespan.isZero()) {
+            throw new IllegalArgumentException("timespan must be positive, got " + timespan);
+        }
+        this.upstream = upstream;
+        this.maxSize = maxSize;
+        this.timespan = timespan;
+        this.scheduler = scheduler;
+        Hooks.onAssembly(this);
+    }
+
+    @Override
+    public void subscribe(Subscriber<List<T>> downstreamSubscriber) {
+        Hooks.onSubscribe(this, downstreamSubscriber);
+        upstream.subscribe(new BufferTimeoutSubscriber<>(
+                downstreamSubscriber, maxSize, timespan.toNanos(), scheduler.createWorker()));
+    }
+}
+
+class BufferTimeoutSubscriber<T> extends CoreSubscriber<T> implements Subscription {
+    private final Subscriber<List<T>> downstream;
+    private final int maxSize;
+    private final boolean unbounded;
+    private final long timespanNanos;
+    private final Scheduler.Worker worker;
+
+    // items from upstream, batched by the drain loop; the timer only records
+    // which batch timed out, so batches are only ever touched by the drain
+    private final Queue<T> inbound = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger wip = new AtomicInteger();
+    private final AtomicLong requested = new AtomicLong();
+    // the highest batch id whose timer has fired
+    private final AtomicLong timedOut = new AtomicLong();
+    private volatile boolean done;
+    private final AtomicBoolean cancelled = new AtomicBoolean();
+
+    private Subscription upstream;
+
+    // drain-thread state
+    private final Queue<List<T>> ready = new ArrayDeque<>();
+    private List<T> current;
+    private long batchId;
+    private Disposable timer;
+    private long emitted;
+    // batches closed so far, and items asked of upstream that have not yet
+    // gone out in a closed batch
+    private long closed;
+    private long outstanding;
+
+    BufferTimeoutSubscriber(Subscriber<List<T>> downstream, int maxSize, long timespanNanos, Scheduler.Worker worker) {
+        super(downstream);
+        this.downstream = downstream;
+        this.maxSize = maxSize;
+        this.unbounded = maxSize == Integer.MAX_VALUE;
+        this.timespanNanos = timespanNanos;
+        this.worker = worker;
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        this.upstream = subscription;
+        downstream.onSubscribe(this);
+        if (unbounded) {
+            subscription.request(Long.MAX_VALUE);
+        }
+    }
+
+    @Override
+    public void onNext(T item) {
+        Hooks.onNext(this, item);
+        if (cancelled.get()) {
+            return;
+        }
+        inbound.offer(item);
+        drain();
+    }
+
+    private void timeout(long id) {
+        timedOut.accumulateAndGet(id, Math::max);
+        drain();
+    }
+
+    @Override
+    public void onComplete() {
+        Hooks.onComplete(this);
+        done = true;
+        drain();
+    }
+
+    @Override
+    public void request(long n) {
+        Operators.validate(n);
+        Operators.addCap(requested, n);
+        drain();
+    }
+
+    @Override
+    public void cancel() {
+        if (!cancelled.compareAndSet(false, true)) {
+            return;
+        }
+        upstream.cancel();
+        worker.dispose();
+        drain();
+    }
+
+    private void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        long e = emitted;
+        for (;;) {
+            if (cancelled.get()) {
+                inbound.clear();
+                ready.clear();
+                current = null;
+                return;
+            }
+            boolean d = done;
+            T item;
+            while ((item = inbound.poll()) != null) {
+                if (current == null) {
+                    current = unbounded ? new ArrayList<>() : new ArrayList<>(maxSize);
+                    long id = ++batchId;
+                    timer = worker.schedule(() -> timeout(id), timespanNanos, TimeUnit.NANOSECONDS);
+                }
+                current.add(item);
+                if (current.size() == maxSize) {
+                    close();
+                }
+            }
+            if (current != null && (d || timedOut.get() == batchId)) {
+                close();
+            }
+            long r = requested.get();
+            while (e != r) {
+                List<T> batch = ready.poll();
+                if (batch == null) {
+                    break;
+                }
+                downstream.onNext(batch);
+                e++;
+            }
+            if (d && ready.isEmpty()) {
+                worker.dispose();
+                downstream.onComplete();
+                return;
+            }
+            emitted = e;
+            if (!unbounded && !d) {
+                replenish(r);
+            }
+            missed = wip.addAndGet(-missed);
+            if (missed == 0) {
+                return;
+            }
+        }
+    }
+
+    private void close() {
+        timer.dispose();
+        if (outstanding != Long.MAX_VALUE) {
+            outstanding -= current.size();
+        }
+        closed++;
+        ready.offer(current);
+        current = null;
+    }
+
+    // Keeps maxSize items asked of upstream for every requested batch not yet
+    // closed. A closed batch gives back only the items it took, so one the
+    // timer cut short does not leave its remainder queued behind it.
+    private void replenish(long r) {
+        if (outstanding == Long.MAX_VALUE || r <= closed) {
+            return;
+        }
+        long target = r == Long.MAX_VALUE ? Long.MAX_VALUE : Operators.multiplyCap(r - closed, maxSize);
+        if (target > outstanding) {
+            long n = target == Long.MAX_VALUE ? Long.MAX_VALUE : target - outstanding;
+            outstanding = target;
+            upstream.request(n);
+        }
+    }
+}
@@ -3,18 +3,60 @@ package com.example;
 import java.util.function.UnaryOperator;
 
 class FluxContextWrite<T> implements Publisher<T> {
-    private final Publisher<T> upstream;
+    final Publisher<T> upstream;
     private final UnaryOperator<Context> contextModifier;
+    private final boolean constant;
+    // last (downstream context, modified context) pair, kept only for constant
+    // modifiers: subscribers that share a context instance, usually
+    // Context.EMPTY, then reuse the result
+    private volatile ContextMemo memo;
 
     FluxContextWrite(Publisher<T> upstream, UnaryOperator<Context> contextModifier) {
+        this(upstream, contextModifier, false);
+    }
+
+    private FluxContextWrite(Publisher<T> upstream, UnaryOperator<Context> contextModifier, boolean constant) {
         this.upstream = upstream;
         this.contextModifier = contextModifier;
+        this.constant = constant;
+        Hooks.onAssembly(this);
+    }
+
+    // For modifiers whose result depends only on the context they are given,
+    // such as ctx -> ctx.put("region", "eu"). Ones that create a value per
+    // subscription, an id or a BackpressureStats, must use the constructor.
+    static <T> FluxContextWrite<T> constant(Publisher<T> upstream, UnaryOperator<Context> contextModifier) {
+        return new FluxContextWrite<>(upstream, contextModifier, true);
     }
 
     @Override
     public void subscribe(Subscriber<T> downstreamSubscriber) {
+        Hooks.onSubscribe(this, downstreamSubscriber);
         ContextWriteSubscriber<T> contextSubscriber =
-                new ContextWriteSubscriber<>(downstreamSubscriber, contextModifier);
+                new ContextWriteSubscriber<>(downstreamSubscriber, modify(downstreamSubscriber.currentContext()));
         upstream.subscribe(contextSubscriber);
     }
+
+    Context modify(Context downstreamContext) {
+        if (!constant) {
+            return contextModifier.apply(downstreamContext);
+        }
+        ContextMemo m = memo;
+        if (m != null && m.input == downstreamContext) {
+            return m.output;
+        }
+        Context modified = contextModifier.apply(downstreamContext);
+        memo = new ContextMemo(downstreamContext, modified);
+        return modified;
+    }
+
+    private static final class ContextMemo {
+        final Context input;
+        final Context output;
+
+        ContextMemo(Context input, Context output) {
+            this.input = input;
+            this.output = output;
+        }
+    }
 }
@@ -0,0 +1,130 @@
+package com.example;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Emits each item delay after it arrived, one at a time: the next item is
+// requested only once the previous one went out. Timed by the shared timing
+// wheel; every signal to downstream is sent from the worker, so the state
+// below needs no synchronization.
+class FluxDelayElements<T> implements Publisher<T> {
+    private final Publisher<T> upstream;
+    private final Duration delay;
+    private final Scheduler scheduler;
+
+    FluxDelayElements(Publisher<T> upstream, Duration delay) {
+        this(upstream, delay, Schedulers.parallel());
+    }
+
+    FluxDelayElements(Publisher<T> upstream, Duration delay, Scheduler scheduler) {
+        if (delay.isNegative()) {
+            throw new IllegalArgumentException("delay must not be negative, got " + delay);
+        }
+        this.upstream = upstream;
+        this.delay = delay;
+        this.scheduler = scheduler;
+        Hooks.onAssembly(this);
+    }
+
+    @Override
+    public void subscribe(Subscriber<T> downstreamSubscriber) {
+        Hooks.onSubscribe(this, downstreamSubscriber);
+        upstream.subscribe(new DelayElementsSubscriber<>(downstreamSubscriber, delay.toNanos(), scheduler.createWorker()));
+    }
+}
+
+class DelayElementsSubscriber<T> extends CoreSubscriber<T> implements Subscription, Runnable {
+    private final Subscriber<T> downstream;
+    private final long delayNanos;
+    private final Scheduler.Worker worker;
+    private final AtomicLong requested = new AtomicLong();
+
+    private Subscription upstream;
+    private volatile Disposable timer;
+    // an item is waiting out its delay; set before onComplete can be seen
+    private volatile boolean delaying;
+    private volatile boolean done;
+    private final AtomicBoolean cancelled = new AtomicBoolean();
+
+    // worker-thread state
+    private boolean awaitingItem;
+    private long emitted;
+
+    DelayElementsSubscriber(Subscriber<T> downstream, long delayNanos, Scheduler.Worker worker) {
+        super(downstream);
+        this.downstream = downstream;
+        this.delayNanos = delayNanos;
+        this.worker = worker;
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        this.upstream = subscription;
+        downstream.onSubscribe(this);
+    }
+
+    @Override
+    public void onNext(T item) {
+        Hooks.onNext(this, item);
+        delaying = true;
+        timer = Schedulers.timingWheel().schedule(
+                () -> worker.schedule(() -> emit(item)), delayNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void onComplete() {
+        Hooks.onComplete(this);
+        done = true;
+        worker.schedule(this);
+    }
+
+    @Override
+    public void request(long n) {
+        Operators.validate(n);
+        Operators.addCap(requested, n);
+        worker.schedule(this);
+    }
+
+    @Override
+    public void cancel() {
+        if (!cancelled.compareAndSet(false, true)) {
+            return;
+        }
+        upstream.cancel();
+        Disposable t = timer;
+        if (t != null) {
+            t.dispose();
+        }
+        worker.dispose();
+    }
+
+    private void emit(T item) {
+        if (cancelled.get()) {
+            return;
+        }
+        downstream.onNext(item);
+        emitted++;
+        awaitingItem = false;
+        delaying = false;
+        run();
+    }
+
+    // worker only: complete, or ask for the next item if there is demand
+    @Override
+    public void run() {
+        if (cancelled.get() || delaying) {
+            return;
+        }
+        if (done) {
+            downstream.onComplete();
+            worker.dispose();
+            return;
+        }
+        if (!awaitingItem && requested.get() != emitted) {
+            awaitingItem = true;
+            upstream.request(1);
+        }
+    }
+}
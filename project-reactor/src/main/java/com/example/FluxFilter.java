@@ -1,47 +1,127 @@
 package com.example;
 
+import java.util.function.Function;
 import java.util.function.Predicate;
 
 class FluxFilter<T> implements Publisher<T> {
-    private final Publisher<T> upstream;
-    private final Predicate<T> predicate;
+    final Publisher<Object> upstream;
+    // non-null when a FluxMap directly upstream was fused into this stage
+    final Function<Object, T> mapper;
+    final Predicate<T> predicate;
 
+    @SuppressWarnings("unchecked")
     FluxFilter(Publisher<T> upstream, Predicate<T> predicate) {
-        this.upstream = upstream;
-        this.predicate = predicate;
+        if (upstream instanceof FluxFilter) {
+            // filter(p).filter(q) collapses into a single filter(p && q) stage
+            FluxFilter<T> previous = (FluxFilter<T>) upstream;
+            this.upstream = previous.upstream;
+            this.mapper = previous.mapper;
+            this.predicate = previous.predicate.and(predicate);
+        } else if (upstream instanceof FluxMap) {
+            // map(f).filter(p) runs as one MapFilterSubscriber
+            FluxMap<Object, T> previous = (FluxMap<Object, T>) upstream;
+            this.upstream = previous.upstream;
+            this.mapper = previous.mapper;
+            this.predicate = predicate;
+        } else {
+            this.upstream = (Publisher<Object>) upstream;
+            this.mapper = null;
+            this.predicate = predicate;
+        }
+        Hooks.onAssembly(this);
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public void subscribe(Subscriber<T> downstreamSubscriber) {
+        Hooks.onSubscribe(this, downstreamSubscriber);
+        if (mapper != null) {
+            upstream.subscribe(new MapFilterSubscriber<>(downstreamSubscriber, mapper, predicate));
+            return;
+        }
         FilterSubscriber<T> filterSubscriber = new FilterSubscriber<>(downstreamSubscriber, predicate);
-        upstream.subscribe(filterSubscriber);
+        upstream.subscribe((Subscriber<Object>) filterSubscriber);
     }
 }
 
-class FilterSubscriber<T> extends CoreSubscriber<T> {
-    private final Subscriber<T> downstream;
-    private final Predicate<T> predicate;
+class MapFilterSubscriber<T, R> extends CoreSubscriber<T> implements QueueSubscription<R> {
+    private final Subscriber<R> downstream;
+    private final Function<T, R> mapper;
+    private final Predicate<R> predicate;
+    private Subscription upstream;
+    private QueueSubscription<T> qs;
 
-    FilterSubscriber(Subscriber<T> downstream, Predicate<T> predicate) {
+    MapFilterSubscriber(Subscriber<R> downstream, Function<T, R> mapper, Predicate<R> predicate) {
         super(downstream);
         this.downstream = downstream;
+        this.mapper = mapper;
         this.predicate = predicate;
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public void onSubscribe(Subscription subscription) {
-        downstream.onSubscribe(subscription);
+        this.upstream = subscription;
+        if (subscription instanceof QueueSubscription) {
+            this.qs = (QueueSubscription<T>) subscription;
+            downstream.onSubscribe(this);
+        } else {
+            downstream.onSubscribe(subscription);
+        }
     }
 
     @Override
     public void onNext(T item) {
-        if (predicate.test(item)) {
-            downstream.onNext(item);
+        Hooks.onNext(this, item);
+        R mapped = mapper.apply(item);
+        if (predicate.test(mapped)) {
+            downstream.onNext(mapped);
+        } else {
+            upstream.request(1);
         }
     }
 
     @Override
     public void onComplete() {
+        Hooks.onComplete(this);
         downstream.onComplete();
     }
+
+    @Override
+    public void request(long n) {
+        qs.request(n);
+    }
+
+    @Override
+    public void cancel() {
+        qs.cancel();
+    }
+
+    @Override
+    public int requestFusion(int requestedMode) {
+        return qs.requestFusion(requestedMode);
+    }
+
+    @Override
+    public R poll() {
+        T item;
+        while ((item = qs.poll()) != null) {
+            Hooks.onNext(this, item);
+            R mapped = mapper.apply(item);
+            if (predicate.test(mapped)) {
+                return mapped;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return qs.isEmpty();
+    }
+
+    @Override
+    public void clear() {
+        qs.clear();
+    }
 }
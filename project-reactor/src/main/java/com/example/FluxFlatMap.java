@@ -0,0 +1,432 @@
+package com.example;
+
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+class FluxFlatMap<T, R> implements Publisher<R> {
+    private final Publisher<T> upstream;
+    private final Function<T, Publisher<R>> mapper;
+    private final int maxConcurrency;
+    private final int prefetch;
+
+    FluxFlatMap(Publisher<T> upstream, Function<T, Publisher<R>> mapper, int maxConcurrency, int prefetch) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency must be positive, got " + maxConcurrency);
+        }
+        if (prefetch <= 0) {
+            throw new IllegalArgumentException("prefetch must be positive, got " + prefetch);
+        }
+        this.upstream = upstream;
+        this.mapper = mapper;
+        this.maxConcurrency = maxConcurrency;
+        this.prefetch = prefetch;
+        Hooks.onAssembly(this);
+    }
+
+    @Override
+    public void subscribe(Subscriber<R> downstreamSubscriber) {
+        Hooks.onSubscribe(this, downstreamSubscriber);
+        upstream.subscribe(new FlatMapMain<>(downstreamSubscriber, mapper, maxConcurrency, prefetch));
+    }
+}
+
+// Every emission, from scalars or from inners, goes through one drain loop
+// guarded by wip, so downstream.onNext is never called concurrently.
+class FlatMapMain<T, R> extends CoreSubscriber<T> implements Subscription {
+    @SuppressWarnings("rawtypes")
+    private static final FlatMapInner[] EMPTY = new FlatMapInner[0];
+
+    private final Subscriber<R> downstream;
+    private final Function<T, Publisher<R>> mapper;
+    private final int maxConcurrency;
+    private final int prefetch;
+    private final boolean unbounded;
+
+    private final AtomicInteger wip = new AtomicInteger();
+    private final AtomicLong requested = new AtomicLong();
+    // copy-on-write array of active inners
+    private final AtomicReference<FlatMapInner<R>[]> inners;
+
+    private Subscription upstream;
+    // scalar values that could not be emitted right away; only onNext offers to it
+    private volatile Queue<R> scalarQueue;
+    private volatile boolean done;
+    private final AtomicBoolean cancelled = new AtomicBoolean();
+
+    // drain-thread state
+    private long emitted;
+    private int lastIndex;
+
+    @SuppressWarnings("unchecked")
+    FlatMapMain(Subscriber<R> downstream, Function<T, Publisher<R>> mapper, int maxConcurrency, int prefetch) {
+        super(downstream);
+        this.downstream = downstream;
+        this.mapper = mapper;
+        this.maxConcurrency = maxConcurrency;
+        this.prefetch = prefetch;
+        this.unbounded = maxConcurrency == Integer.MAX_VALUE;
+        this.inners = new AtomicReference<>(EMPTY);
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        this.upstream = subscription;
+        downstream.onSubscribe(this);
+        subscription.request(unbounded ? Long.MAX_VALUE : maxConcurrency);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void onNext(T item) {
+        Hooks.onNext(this, item);
+        if (cancelled.get()) {
+            return;
+        }
+        Publisher<R> inner = mapper.apply(item);
+        if (inner instanceof Callable) {
+            // scalar inner: take its value instead of subscribing
+            R value = Operators.call((Callable<R>) inner);
+            if (value == null) {
+                replenish(1);
+            } else {
+                emitScalar(value);
+            }
+            return;
+        }
+        if (inner instanceof FluxJust) {
+            FluxJust<R> just = (FluxJust<R>) inner;
+            if (just.isScalar()) {
+                R value = just.scalarValue();
+                if (value == null) {
+                    replenish(1);
+                } else {
+                    emitScalar(value);
+                }
+                return;
+            }
+        }
+        FlatMapInner<R> innerSubscriber = new FlatMapInner<>(this, prefetch);
+        add(innerSubscriber);
+        inner.subscribe(innerSubscriber);
+    }
+
+    private void emitScalar(R value) {
+        if (wip.get() == 0 && wip.compareAndSet(0, 1)) {
+            Queue<R> queue = scalarQueue;
+            if (emitted != requested.get() && (queue == null || queue.isEmpty())) {
+                downstream.onNext(value);
+                emitted++;
+                replenish(1);
+            } else {
+                offerScalar(value);
+            }
+            if (wip.decrementAndGet() == 0) {
+                return;
+            }
+            drainLoop();
+        } else {
+            offerScalar(value);
+            drain();
+        }
+    }
+
+    private void offerScalar(R value) {
+        Queue<R> queue = scalarQueue;
+        if (queue == null) {
+            queue = unbounded ? new ConcurrentLinkedQueue<>() : new SpscArrayQueue<>(maxConcurrency);
+            scalarQueue = queue;
+        }
+        if (!queue.offer(value)) {
+            throw new IllegalStateException("flatMap scalar queue is full: upstream ignored backpressure");
+        }
+    }
+
+    @Override
+    public void onComplete() {
+        Hooks.onComplete(this);
+        done = true;
+        drain();
+    }
+
+    @Override
+    public void request(long n) {
+        Operators.validate(n);
+        Operators.addCap(requested, n);
+        drain();
+    }
+
+    @Override
+    public void cancel() {
+        if (!cancelled.compareAndSet(false, true)) {
+            return;
+        }
+        upstream.cancel();
+        if (wip.getAndIncrement() == 0) {
+            clear();
+        }
+    }
+
+    // Called by the drain loop; once cancelled, wip is never lowered again so
+    // later signals cannot restart the loop.
+    private boolean checkCancelled() {
+        if (cancelled.get()) {
+            clear();
+            return true;
+        }
+        return false;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void clear() {
+        Queue<R> queue = scalarQueue;
+        if (queue != null) {
+            queue.clear();
+        }
+        for (FlatMapInner<R> inner : inners.getAndSet(EMPTY)) {
+            inner.cancel();
+        }
+    }
+
+    private void replenish(long n) {
+        if (!unbounded) {
+            upstream.request(n);
+        }
+    }
+
+    void drain() {
+        if (wip.getAndIncrement() == 0) {
+            drainLoop();
+        }
+    }
+
+    private void drainLoop() {
+        int missed = 1;
+        for (;;) {
+            if (checkCancelled()) {
+                return;
+            }
+            long r = requested.get();
+            long e = emitted;
+            long replenishMain = 0;
+
+            Queue<R> queue = scalarQueue;
+            if (queue != null) {
+                while (e != r) {
+                    if (checkCancelled()) {
+                        return;
+                    }
+                    R value = queue.poll();
+                    if (value == null) {
+                        break;
+                    }
+                    downstream.onNext(value);
+                    e++;
+                    replenishMain++;
+                }
+            }
+
+            FlatMapInner<R>[] a = inners.get();
+            int n = a.length;
+            if (n != 0) {
+                // start where the previous pass stopped so no inner is starved
+                int j = lastIndex < n ? lastIndex : 0;
+                for (int i = 0; i < n; i++) {
+                    FlatMapInner<R> inner = a[j];
+                    int consumed = 0;
+                    while (e != r) {
+                        if (checkCancelled()) {
+                            return;
+                        }
+                        R value = inner.poll();
+                        if (value == null) {
+                            break;
+                        }
+                        downstream.onNext(value);
+                        e++;
+                        consumed++;
+                    }
+                    if (consumed != 0) {
+                        inner.requestMore(consumed);
+                    }
+                    if (inner.done && inner.isEmpty()) {
+                        remove(inner);
+                        replenishMain++;
+                    }
+                    if (++j == n) {
+                        j = 0;
+                    }
+                }
+                lastIndex = j;
+            }
+
+            emitted = e;
+            if (replenishMain != 0) {
+                replenish(replenishMain);
+            }
+
+            if (checkCancelled()) {
+                return;
+            }
+            queue = scalarQueue;
+            if (done && inners.get().length == 0 && (queue == null || queue.isEmpty())) {
+                downstream.onComplete();
+                return;
+            }
+
+            missed = wip.addAndGet(-missed);
+            if (missed == 0) {
+                return;
+            }
+        }
+    }
+
+    private void add(FlatMapInner<R> inner) {
+        for (;;) {
+            FlatMapInner<R>[] current = inners.get();
+            @SuppressWarnings({"unchecked", "rawtypes"})
+            FlatMapInner<R>[] next = new FlatMapInner[current.length + 1];
+            System.arraycopy(current, 0, next, 0, current.length);
+            next[current.length] = inner;
+            if (inners.compareAndSet(current, next)) {
+                return;
+            }
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private void remove(FlatMapInner<R> inner) {
+        for (;;) {
+            FlatMapInner<R>[] current = inners.get();
+            int index = -1;
+            for (int i = 0; i < current.length; i++) {
+                if (current[i] == inner) {
+                    index = i;
+                    break;
+                }
+            }
+            if (index < 0) {
+                return;
+            }
+            FlatMapInner<R>[] next = EMPTY;
+            if (current.length != 1) {
+                next = new FlatMapInner[current.length - 1];
+                System.arraycopy(current, 0, next, 0, index);
+                System.arraycopy(current, index + 1, next, index, current.length - index - 1);
+            }
+            if (inners.compareAndSet(current, next)) {
+                return;
+            }
+        }
+    }
+}
+
+class FlatMapInner<R> implements Subscriber<R> {
+    private final FlatMapMain<?, R> parent;
+    private final int prefetch;
+    private final int limit;
+
+    // cancel() may run before the inner publisher has called onSubscribe
+    private volatile Subscription upstream;
+    private volatile boolean cancelled;
+    private Queue<R> queue;
+    // set when the inner source agreed to SYNC fusion
+    private QueueSubscription<R> qs;
+    private boolean exhausted;
+    volatile boolean done;
+
+    // drain-thread state
+    private int produced;
+
+    FlatMapInner(FlatMapMain<?, R> parent, int prefetch) {
+        this.parent = parent;
+        this.prefetch = prefetch;
+        this.limit = prefetch - (prefetch >> 2);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void onSubscribe(Subscription subscription) {
+        this.upstream = subscription;
+        if (cancelled) {
+            subscription.cancel();
+            return;
+        }
+        if (subscription instanceof QueueSubscription) {
+            QueueSubscription<R> fused = (QueueSubscription<R>) subscription;
+            if (fused.requestFusion(QueueSubscription.SYNC) == QueueSubscription.SYNC) {
+                this.qs = fused;
+                this.done = true;
+                parent.drain();
+                return;
+            }
+        }
+        this.queue = new SpscArrayQueue<>(prefetch);
+        subscription.request(prefetch);
+    }
+
+    @Override
+    public void onNext(R item) {
+        if (!queue.offer(item)) {
+            throw new IllegalStateException("flatMap inner queue is full: inner ignored backpressure");
+        }
+        parent.drain();
+    }
+
+    @Override
+    public void onComplete() {
+        done = true;
+        parent.drain();
+    }
+
+    @Override
+    public Context currentContext() {
+        return parent.currentContext();
+    }
+
+    void cancel() {
+        cancelled = true;
+        Subscription s = upstream;
+        if (s != null) {
+            s.cancel();
+        }
+    }
+
+    R poll() {
+        if (qs != null) {
+            R item = qs.poll();
+            if (item == null) {
+                exhausted = true;
+            }
+            return item;
+        }
+        Queue<R> q = queue;
+        return q != null ? q.poll() : null;
+    }
+
+    boolean isEmpty() {
+        if (qs != null) {
+            return exhausted || qs.isEmpty();
+        }
+        Queue<R> q = queue;
+        return q == null || q.isEmpty();
+    }
+
+    void requestMore(int consumed) {
+        if (qs != null) {
+            return;
+        }
+        int p = produced + consumed;
+        if (p >= limit) {
+            produced = 0;
+            upstream.request(p);
+        } else {
+            produced = p;
+        }
+    }
+}
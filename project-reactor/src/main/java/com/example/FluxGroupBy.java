@@ -0,0 +1,674 @@
+package com.example;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+// Splits the source into one GroupedPublisher per key. Upstream is asked for
+// prefetch items in total and re-requested as items leave the groups, so the
+// groups, with any parked items, never buffer more than prefetch items.
+//
+// At most maxGroups groups are open. When a new key arrives at the limit, the
+// group that has been cancelled or idle the longest is dropped and completed,
+// idle meaning nothing buffered. Groups list themselves when they go idle or
+// are cancelled, so finding one takes amortized O(1) whatever the key count. If
+// every group still holds items, the item is parked along with everything
+// behind it, and since parked items have not left the groups upstream is not
+// re-requested for them; a group that drains or is cancelled resumes
+// delivery. An item for a cancelled group's key opens a new group.
+class FluxGroupBy<T, K> implements Publisher<GroupedPublisher<K, T>> {
+    private final Publisher<T> upstream;
+    private final int maxGroups;
+    private final int prefetch;
+    private final Supplier<GroupTable<T, K>> tables;
+
+    FluxGroupBy(Publisher<T> upstream, Function<T, K> keyFn, int maxGroups, int prefetch) {
+        this(upstream, maxGroups, prefetch, () -> new ObjectGroupTable<>(keyFn));
+    }
+
+    private FluxGroupBy(Publisher<T> upstream, int maxGroups, int prefetch, Supplier<GroupTable<T, K>> tables) {
+        if (maxGroups <= 0) {
+            throw new IllegalArgumentException("maxGroups must be positive, got " + maxGroups);
+        }
+        if (prefetch <= 0) {
+            throw new IllegalArgumentException("prefetch must be positive, got " + prefetch);
+        }
+        this.upstream = upstream;
+        this.maxGroups = maxGroups;
+        this.prefetch = prefetch;
+        this.tables = tables;
+        Hooks.onAssembly(this);
+    }
+
+    // int keys are looked up without boxing; only a group's key() is boxed
+    static <T> FluxGroupBy<T, Integer> byIntKey(
+            Publisher<T> upstream, ToIntFunction<T> keyFn, int maxGroups, int prefetch) {
+        return new FluxGroupBy<>(upstream, maxGroups, prefetch,
+                () -> new LongGroupTable<>(keyFn::applyAsInt, key -> (int) key));
+    }
+
+    static <T> FluxGroupBy<T, Long> byLongKey(
+            Publisher<T> upstream, ToLongFunction<T> keyFn, int maxGroups, int prefetch) {
+        return new FluxGroupBy<>(upstream, maxGroups, prefetch,
+                () -> new LongGroupTable<>(keyFn, Long::valueOf));
+    }
+
+    @Override
+    public void subscribe(Subscriber<GroupedPublisher<K, T>> downstreamSubscriber) {
+        Hooks.onSubscribe(this, downstreamSubscriber);
+        upstream.subscribe(new GroupByMain<>(downstreamSubscriber, tables.get(), maxGroups, prefetch));
+    }
+}
+
+class GroupByMain<T, K> extends CoreSubscriber<T> implements Subscription {
+    private final Subscriber<GroupedPublisher<K, T>> downstream;
+    private final GroupTable<T, K> table;
+    private final int maxGroups;
+    private final int prefetch;
+    private final int limit;
+
+    // opened groups waiting for downstream demand; polled by the drain loop and
+    // by cancellation, hence not single-consumer
+    private final Queue<UnicastGroup<K, T>> pending = new ConcurrentLinkedQueue<>();
+    // items that found no room for their group, in arrival order
+    private final Queue<T> parked;
+    // groups that went idle or were cancelled, oldest first; entries can be
+    // stale, so eviction checks them again
+    private final Queue<UnicastGroup<K, T>> idle = new MpscLinkedQueue<>();
+    // held while handing items to groups: by upstream in onNext, or by the
+    // thread of a group that made room for parked items
+    private final AtomicInteger ingestWip = new AtomicInteger();
+    private final AtomicInteger wip = new AtomicInteger();
+    private final AtomicLong requested = new AtomicLong();
+    // items that left the groups but were not yet re-requested from upstream
+    private final AtomicLong consumed = new AtomicLong();
+    // one for the outer subscription plus one per unfinished group: upstream is
+    // only cancelled once the outer and every group have been cancelled
+    private final AtomicInteger active = new AtomicInteger(1);
+    private final AtomicBoolean cancelled = new AtomicBoolean();
+
+    private Subscription upstream;
+    private volatile boolean upstreamDone;
+    private volatile boolean done;
+    // set while items are parked, so groups going idle know to resume them
+    private volatile boolean parking;
+
+    // ingest state, guarded by ingestWip: the last open() found no room
+    private boolean full;
+
+    // drain-thread state
+    private long emitted;
+
+    GroupByMain(Subscriber<GroupedPublisher<K, T>> downstream, GroupTable<T, K> table, int maxGroups, int prefetch) {
+        this(downstream, table, maxGroups, prefetch, new SpscArrayQueue<>(prefetch));
+    }
+
+    // parked is passed in so tests can act between the ingest loop's steps
+    GroupByMain(Subscriber<GroupedPublisher<K, T>> downstream, GroupTable<T, K> table, int maxGroups, int prefetch,
+            Queue<T> parked) {
+        super(downstream);
+        this.downstream = downstream;
+        this.table = table;
+        this.maxGroups = maxGroups;
+        this.prefetch = prefetch;
+        this.limit = prefetch - (prefetch >> 2);
+        this.parked = parked;
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        this.upstream = subscription;
+        downstream.onSubscribe(this);
+        subscription.request(prefetch);
+    }
+
+    @Override
+    public void onNext(T item) {
+        Hooks.onNext(this, item);
+        int missed;
+        if (ingestWip.get() == 0 && ingestWip.compareAndSet(0, 1)) {
+            // nothing parked ahead of it: hand the item over directly
+            if (!parked.isEmpty() || !dispatch(item)) {
+                park(item);
+            }
+            missed = ingestWip.decrementAndGet();
+            if (missed == 0) {
+                return;
+            }
+        } else {
+            park(item);
+            if (ingestWip.getAndIncrement() != 0) {
+                return;
+            }
+            missed = 1;
+        }
+        ingestLoop(missed);
+    }
+
+    @Override
+    public void onComplete() {
+        Hooks.onComplete(this);
+        upstreamDone = true;
+        ingest();
+    }
+
+    private void park(T item) {
+        // parked items count against prefetch like buffered ones
+        if (!parked.offer(item)) {
+            throw new IllegalStateException("groupBy queue is full: upstream ignored backpressure");
+        }
+    }
+
+    // Hands parked items to their groups, and completes everything once
+    // upstream is done and nothing is parked.
+    void ingest() {
+        if (ingestWip.getAndIncrement() == 0) {
+            ingestLoop(1);
+        }
+    }
+
+    private void ingestLoop(int missed) {
+        for (;;) {
+            // read before looking at parked: onComplete() follows the last
+            // park, so seeing it done means that item is visible below
+            boolean d = upstreamDone;
+            T item;
+            while ((item = parked.peek()) != null && dispatch(item)) {
+                parked.poll();
+            }
+            if (d && parked.isEmpty() && !done) {
+                for (UnicastGroup<K, T> group : table.groups()) {
+                    group.complete();
+                }
+                table.clear();
+                done = true;
+                drain();
+            }
+            missed = ingestWip.addAndGet(-missed);
+            if (missed == 0) {
+                return;
+            }
+        }
+    }
+
+    // false when the item's group could not be opened for lack of room
+    private boolean dispatch(T item) {
+        UnicastGroup<K, T> group = table.get(item, this);
+        if (group == null) {
+            if (full) {
+                full = false;
+                return false;
+            }
+            // the outer was cancelled, so no new group can reach anyone
+            replenish(1);
+            return true;
+        }
+        group.next(item);
+        return true;
+    }
+
+    // Called by the table when an item's key has no open group; null when the
+    // outer was cancelled or, with full set, when there is no room.
+    UnicastGroup<K, T> open(K key, long rawKey) {
+        if (cancelled.get()) {
+            return null;
+        }
+        if (table.size() >= maxGroups && !evictOne()) {
+            parking = true;
+            // a group that went idle before seeing parking listed itself
+            // before that, so one more look cannot miss it
+            if (!evictOne()) {
+                full = true;
+                return null;
+            }
+        }
+        if (parking) {
+            parking = false;
+        }
+        UnicastGroup<K, T> group = new UnicastGroup<>(this, key, rawKey, prefetch);
+        active.getAndIncrement();
+        pending.offer(group);
+        if (cancelled.get()) {
+            // lost a race with cancel(): nobody will deliver this group
+            clearPending();
+        } else {
+            drain();
+        }
+        return group;
+    }
+
+    private boolean evictOne() {
+        UnicastGroup<K, T> group;
+        while ((group = idle.poll()) != null) {
+            group.listed.set(false);
+            // re-checked after unlisting: a group that goes idle from here on
+            // lists itself again
+            if ((group.cancelled || group.isIdle()) && table.remove(group)) {
+                group.complete();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Called by a group that drained its queue or was cancelled.
+    void groupIdle(UnicastGroup<K, T> group) {
+        if (group.listed.compareAndSet(false, true)) {
+            idle.offer(group);
+        }
+        if (parking) {
+            ingest();
+        }
+    }
+
+    @Override
+    public void request(long n) {
+        Operators.validate(n);
+        Operators.addCap(requested, n);
+        drain();
+    }
+
+    @Override
+    public void cancel() {
+        if (cancelled.compareAndSet(false, true)) {
+            clearPending();
+            groupTerminated();
+        }
+    }
+
+    private void clearPending() {
+        UnicastGroup<K, T> group;
+        while ((group = pending.poll()) != null) {
+            group.cancel();
+        }
+    }
+
+    void groupTerminated() {
+        if (active.decrementAndGet() == 0) {
+            upstream.cancel();
+        }
+    }
+
+    // Re-requests items that left a group, in batches of `limit`.
+    void replenish(long n) {
+        if (n == 0) {
+            return;
+        }
+        if (consumed.addAndGet(n) >= limit) {
+            long c = consumed.getAndSet(0);
+            if (c != 0) {
+                upstream.request(c);
+            }
+        }
+    }
+
+    private void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        for (;;) {
+            // once cancelled wip stays raised; open() clears late groups itself
+            if (cancelled.get()) {
+                clearPending();
+                return;
+            }
+            long r = requested.get();
+            long e = emitted;
+            while (e != r) {
+                UnicastGroup<K, T> group = pending.poll();
+                if (group == null) {
+                    break;
+                }
+                downstream.onNext(group);
+                e++;
+            }
+            emitted = e;
+            if (done && pending.isEmpty()) {
+                downstream.onComplete();
+                return;
+            }
+            missed = wip.addAndGet(-missed);
+            if (missed == 0) {
+                return;
+            }
+        }
+    }
+}
+
+// A group: buffers its items until its single subscriber requests them, and
+// hands every item that leaves it back to the main for re-requesting.
+class UnicastGroup<K, T> implements GroupedPublisher<K, T>, Subscription {
+    private final GroupByMain<T, K> parent;
+    private final K key;
+    // the key as the primitive tables store it
+    final long rawKey;
+    private final Queue<T> queue;
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+    private final AtomicBoolean terminated = new AtomicBoolean();
+    private final AtomicInteger wip = new AtomicInteger();
+    private final AtomicLong requested = new AtomicLong();
+    // set while the group is on the main's idle list
+    final AtomicBoolean listed = new AtomicBoolean();
+    private volatile Subscriber<T> actual;
+    private volatile boolean done;
+    volatile boolean cancelled;
+
+    // drain-thread state
+    private long emitted;
+
+    UnicastGroup(GroupByMain<T, K> parent, K key, long rawKey, int prefetch) {
+        this.parent = parent;
+        this.key = key;
+        this.rawKey = rawKey;
+        this.queue = new SpscArrayQueue<>(prefetch);
+    }
+
+    @Override
+    public K key() {
+        return key;
+    }
+
+    @Override
+    public void subscribe(Subscriber<T> subscriber) {
+        if (!subscribed.compareAndSet(false, true)) {
+            throw new IllegalStateException("A group allows only one subscriber");
+        }
+        subscriber.onSubscribe(this);
+        actual = subscriber;
+        drain();
+    }
+
+    void next(T item) {
+        if (!queue.offer(item)) {
+            throw new IllegalStateException("groupBy group queue is full: upstream ignored backpressure");
+        }
+        drain();
+    }
+
+    void complete() {
+        done = true;
+        drain();
+    }
+
+    boolean isIdle() {
+        return queue.isEmpty();
+    }
+
+    @Override
+    public void request(long n) {
+        Operators.validate(n);
+        Operators.addCap(requested, n);
+        drain();
+    }
+
+    @Override
+    public void cancel() {
+        cancelled = true;
+        drain();
+    }
+
+    private boolean terminate() {
+        if (terminated.compareAndSet(false, true)) {
+            parent.groupTerminated();
+            return true;
+        }
+        return false;
+    }
+
+    private void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        for (;;) {
+            if (cancelled) {
+                // keep clearing on later passes: an item may land after cancel
+                long dropped = 0;
+                while (queue.poll() != null) {
+                    dropped++;
+                }
+                parent.replenish(dropped);
+                if (terminate()) {
+                    parent.groupIdle(this);
+                }
+            } else {
+                Subscriber<T> a = actual;
+                if (a != null) {
+                    long r = requested.get();
+                    long e = emitted;
+                    while (e != r) {
+                        T item = queue.poll();
+                        if (item == null) {
+                            break;
+                        }
+                        a.onNext(item);
+                        e++;
+                    }
+                    parent.replenish(e - emitted);
+                    boolean drained = e != emitted && queue.isEmpty();
+                    emitted = e;
+                    if (done && queue.isEmpty()) {
+                        if (terminate()) {
+                            a.onComplete();
+                        }
+                        return;
+                    }
+                    if (drained) {
+                        parent.groupIdle(this);
+                    }
+                }
+            }
+            missed = wip.addAndGet(-missed);
+            if (missed == 0) {
+                return;
+            }
+        }
+    }
+}
+
+// Maps keys to open groups. Only the holder of the main's ingestWip touches a
+// table.
+abstract class GroupTable<T, K> {
+    // the open group for item's key, opened through main.open() if needed;
+    // null when main refused to open one
+    abstract UnicastGroup<K, T> get(T item, GroupByMain<T, K> main);
+
+    // false when the group was no longer in the table
+    abstract boolean remove(UnicastGroup<K, T> group);
+
+    abstract int size();
+
+    abstract Iterable<UnicastGroup<K, T>> groups();
+
+    abstract void clear();
+}
+
+final class ObjectGroupTable<T, K> extends GroupTable<T, K> {
+    private final Function<T, K> keyFn;
+    private final HashMap<K, UnicastGroup<K, T>> map = new HashMap<>();
+
+    ObjectGroupTable(Function<T, K> keyFn) {
+        this.keyFn = keyFn;
+    }
+
+    @Override
+    UnicastGroup<K, T> get(T item, GroupByMain<T, K> main) {
+        K key = Objects.requireNonNull(keyFn.apply(item), "groupBy key");
+        UnicastGroup<K, T> group = map.get(key);
+        if (group != null) {
+            if (!group.cancelled) {
+                return group;
+            }
+            map.remove(key);
+        }
+        group = main.open(key, 0);
+        if (group != null) {
+            map.put(key, group);
+        }
+        return group;
+    }
+
+    @Override
+    boolean remove(UnicastGroup<K, T> group) {
+        return map.remove(group.key(), group);
+    }
+
+    @Override
+    int size() {
+        return map.size();
+    }
+
+    @Override
+    Iterable<UnicastGroup<K, T>> groups() {
+        return map.values();
+    }
+
+    @Override
+    void clear() {
+        map.clear();
+    }
+}
+
+// groupBy's table for int and long keys: open addressing over a long[] with
+// linear probing, so looking up an item's group never boxes its key. Removal
+// shifts the following run back instead of leaving tombstones.
+final class LongGroupTable<T, K> extends GroupTable<T, K> {
+    private final ToLongFunction<T> keyFn;
+    // boxes a key once, when its group opens
+    private final LongFunction<K> boxer;
+
+    private long[] keys;
+    private UnicastGroup<K, T>[] values;
+    private int mask;
+    private int size;
+
+    LongGroupTable(ToLongFunction<T> keyFn, LongFunction<K> boxer) {
+        this.keyFn = keyFn;
+        this.boxer = boxer;
+        allocate(16);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new UnicastGroup[capacity];
+        mask = capacity - 1;
+    }
+
+    private int slot(long key) {
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+    }
+
+    @Override
+    UnicastGroup<K, T> get(T item, GroupByMain<T, K> main) {
+        long key = keyFn.applyAsLong(item);
+        int i = slot(key);
+        for (UnicastGroup<K, T> g; (g = values[i]) != null; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                if (!g.cancelled) {
+                    return g;
+                }
+                removeAt(i);
+                break;
+            }
+        }
+        UnicastGroup<K, T> opened = main.open(boxer.apply(key), key);
+        if (opened != null) {
+            insert(key, opened);
+        }
+        return opened;
+    }
+
+    private void insert(long key, UnicastGroup<K, T> group) {
+        if ((size + 1) << 1 > values.length) {
+            grow();
+        }
+        int i = slot(key);
+        while (values[i] != null) {
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        values[i] = group;
+        size++;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        UnicastGroup<K, T>[] oldValues = values;
+        allocate(oldValues.length << 1);
+        size = 0;
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] != null) {
+                insert(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    @Override
+    boolean remove(UnicastGroup<K, T> group) {
+        int i = slot(group.rawKey);
+        for (UnicastGroup<K, T> g; (g = values[i]) != null; i = (i + 1) & mask) {
+            if (g == group) {
+                removeAt(i);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void removeAt(int i) {
+        values[i] = null;
+        size--;
+        int j = i;
+        for (;;) {
+            j = (j + 1) & mask;
+            if (values[j] == null) {
+                return;
+            }
+            int home = slot(keys[j]);
+            // move the entry back unless its home slot lies in (i, j]
+            boolean stays = i <= j ? (home > i && home <= j) : (home > i || home <= j);
+            if (!stays) {
+                keys[i] = keys[j];
+                values[i] = values[j];
+                values[j] = null;
+                i = j;
+            }
+        }
+    }
+
+    @Override
+    int size() {
+        return size;
+    }
+
+    @Override
+    Iterable<UnicastGroup<K, T>> groups() {
+        List<UnicastGroup<K, T>> list = new ArrayList<>(size);
+        for (UnicastGroup<K, T> g : values) {
+            if (g != null) {
+                list.add(g);
+            }
+        }
+        return list;
+    }
+
+    @Override
+    void clear() {
+        Arrays.fill(values, null);
+        size = 0;
+    }
+}
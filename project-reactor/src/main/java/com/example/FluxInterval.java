@@ -0,0 +1,87 @@
+package com.example;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Emits 0, 1, 2, ... once per period, timed by the shared timing wheel and
+// delivered on a worker of the given scheduler. A tick that finds no demand is
+// dropped; its number is not reused.
+class FluxInterval implements Publisher<Long> {
+    private final Duration period;
+    private final Scheduler scheduler;
+
+    FluxInterval(Duration period) {
+        this(period, Schedulers.parallel());
+    }
+
+    FluxInterval(Duration period, Scheduler scheduler) {
+        if (period.isNegative() || period.isZero()) {
+            throw new IllegalArgumentException("period must be positive, got " + period);
+        }
+        this.period = period;
+        this.scheduler = scheduler;
+        Hooks.onAssembly(this);
+    }
+
+    @Override
+    public void subscribe(Subscriber<Long> downstreamSubscriber) {
+        Hooks.onSubscribe(this, downstreamSubscriber);
+        IntervalSubscription subscription = new IntervalSubscription(downstreamSubscriber, scheduler.createWorker());
+        downstreamSubscriber.onSubscribe(subscription);
+        subscription.start(period.toNanos());
+    }
+}
+
+class IntervalSubscription implements Subscription, Runnable {
+    private final Subscriber<Long> downstream;
+    private final Scheduler.Worker worker;
+    private final AtomicLong requested = new AtomicLong();
+    private volatile Disposable timer;
+    private volatile boolean cancelled;
+
+    // worker-thread state
+    private long count;
+    private long emitted;
+
+    IntervalSubscription(Subscriber<Long> downstream, Scheduler.Worker worker) {
+        this.downstream = downstream;
+        this.worker = worker;
+    }
+
+    void start(long periodNanos) {
+        timer = Schedulers.timingWheel().schedulePeriodically(
+                () -> worker.schedule(this), periodNanos, periodNanos, TimeUnit.NANOSECONDS);
+        if (cancelled) {
+            timer.dispose();
+        }
+    }
+
+    @Override
+    public void run() {
+        if (cancelled) {
+            return;
+        }
+        long tick = count++;
+        if (requested.get() != emitted) {
+            downstream.onNext(tick);
+            emitted++;
+        }
+    }
+
+    @Override
+    public void request(long n) {
+        Operators.validate(n);
+        Operators.addCap(requested, n);
+    }
+
+    @Override
+    public void cancel() {
+        cancelled = true;
+        Disposable t = timer;
+        if (t != null) {
+            t.dispose();
+        }
+        worker.dispose();
+    }
+}
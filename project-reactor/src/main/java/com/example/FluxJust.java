@@ -1,11 +1,14 @@
 package com.example;
 
+import java.util.concurrent.atomic.AtomicLong;
+
 class FluxJust<T> implements Publisher<T> {
-    private final T[] items;
+    final T[] items;
 
     @SafeVarargs
     FluxJust(T... items) {
         this.items = items;
+        Hooks.onAssembly(this);
     }
 
     @Override
@@ -14,20 +17,125 @@ class FluxJust<T> implements Publisher<T> {
         // this method call Map's onSubscribe
         // subscriber = MapSubscriber
 
-        Context ctx = subscriber.currentContext();
-        String traceId = ctx.getOrDefault("traceId", "no-trace");
-        System.out.println("FluxJust: traceId = " + traceId);
-        String userId = ctx.getOrDefault("userId", "no-userId");
-        System.out.println("FluxJust: userId = " + userId);
-
-        subscriber.onSubscribe(new Subscription() {
-            @Override
-            public void request(long n) {
-                for (T item : items) {
-                    subscriber.onNext(item);
+        Hooks.onSubscribe(this, subscriber);
+        Hooks.onContextRead(this, subscriber);
+
+        subscriber.onSubscribe(new ArraySubscription<>(subscriber, items));
+    }
+
+    // zero or one item: flatMap can take the value without subscribing
+    boolean isScalar() {
+        return items.length <= 1;
+    }
+
+    T scalarValue() {
+        return items.length == 0 ? null : items[0];
+    }
+}
+
+class ArraySubscription<T> implements QueueSubscription<T> {
+    private final Subscriber<T> subscriber;
+    private final T[] items;
+
+    // outstanding demand; the caller that moves it away from 0 runs the drain loop,
+    // so a request(n) made from inside onNext only adds demand instead of recursing
+    private final AtomicLong requested = new AtomicLong();
+    private int index;
+    private volatile boolean cancelled;
+
+    ArraySubscription(Subscriber<T> subscriber, T[] items) {
+        this.subscriber = subscriber;
+        this.items = items;
+    }
+
+    @Override
+    public void request(long n) {
+        Operators.validate(n);
+        if (Operators.addCap(requested, n) == 0) {
+            if (n == Long.MAX_VALUE) {
+                fastPath();
+            } else {
+                slowPath(n);
+            }
+        }
+    }
+
+    @Override
+    public void cancel() {
+        cancelled = true;
+    }
+
+    @Override
+    public int requestFusion(int requestedMode) {
+        return (requestedMode & SYNC) != 0 ? SYNC : NONE;
+    }
+
+    @Override
+    public T poll() {
+        int i = index;
+        if (i == items.length) {
+            return null;
+        }
+        index = i + 1;
+        return items[i];
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return index == items.length;
+    }
+
+    @Override
+    public void clear() {
+        index = items.length;
+    }
+
+    private void fastPath() {
+        T[] a = items;
+        for (int i = index; i < a.length; i++) {
+            if (cancelled) {
+                return;
+            }
+            subscriber.onNext(a[i]);
+        }
+        if (!cancelled) {
+            subscriber.onComplete();
+        }
+    }
+
+    private void slowPath(long n) {
+        T[] a = items;
+        int i = index;
+        long emitted = 0;
+
+        for (;;) {
+            while (emitted != n && i != a.length) {
+                if (cancelled) {
+                    return;
                 }
+                subscriber.onNext(a[i]);
+                i++;
+                emitted++;
+            }
+
+            if (cancelled) {
+                return;
+            }
+
+            if (i == a.length) {
                 subscriber.onComplete();
+                return;
+            }
+
+            n = requested.get();
+            if (n == emitted) {
+                index = i;
+                n = requested.addAndGet(-emitted);
+                if (n == 0) {
+                    return;
+                }
+                emitted = 0;
             }
-        });
+        }
     }
 }
@@ -0,0 +1,173 @@
+package com.example;
+
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Shields the source from unbounded downstream demand: at most highTide items
+// are outstanding upstream, replenished in lowTide chunks as items are emitted.
+class FluxLimitRate<T> implements Publisher<T> {
+    private final Publisher<T> upstream;
+    private final int highTide;
+    private final int lowTide;
+
+    FluxLimitRate(Publisher<T> upstream, int highTide) {
+        this(upstream, highTide, highTide - (highTide >> 2));
+    }
+
+    FluxLimitRate(Publisher<T> upstream, int highTide, int lowTide) {
+        if (highTide <= 0) {
+            throw new IllegalArgumentException("highTide must be positive, got " + highTide);
+        }
+        if (lowTide <= 0 || lowTide > highTide) {
+            throw new IllegalArgumentException("lowTide must be in [1, " + highTide + "], got " + lowTide);
+        }
+        this.upstream = upstream;
+        this.highTide = highTide;
+        this.lowTide = lowTide;
+        Hooks.onAssembly(this);
+    }
+
+    @Override
+    public void subscribe(Subscriber<T> downstreamSubscriber) {
+        Hooks.onSubscribe(this, downstreamSubscriber);
+        upstream.subscribe(new LimitRateSubscriber<>(downstreamSubscriber, highTide, lowTide));
+    }
+}
+
+// Items go straight through when downstream has demand and nothing is queued;
+// otherwise they wait in a highTide-sized queue. Either way emission happens
+// under wip, which also owns the replenish counter.
+class LimitRateSubscriber<T> extends CoreSubscriber<T> implements Subscription {
+    private final Subscriber<T> downstream;
+    private final int highTide;
+    private final int lowTide;
+
+    private final AtomicInteger wip = new AtomicInteger();
+    private final AtomicLong requested = new AtomicLong();
+    private final Queue<T> queue;
+
+    private Subscription upstream;
+    private volatile boolean done;
+    private final AtomicBoolean cancelled = new AtomicBoolean();
+
+    // drain-thread state
+    private long emitted;
+    private int consumed;
+
+    LimitRateSubscriber(Subscriber<T> downstream, int highTide, int lowTide) {
+        super(downstream);
+        this.downstream = downstream;
+        this.highTide = highTide;
+        this.lowTide = lowTide;
+        this.queue = new SpscArrayQueue<>(highTide);
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        this.upstream = subscription;
+        downstream.onSubscribe(this);
+        subscription.request(highTide);
+    }
+
+    @Override
+    public void onNext(T item) {
+        Hooks.onNext(this, item);
+        if (cancelled.get()) {
+            return;
+        }
+        if (wip.get() == 0 && wip.compareAndSet(0, 1)) {
+            if (emitted != requested.get() && queue.isEmpty()) {
+                downstream.onNext(item);
+                emitted++;
+                replenish();
+            } else {
+                offer(item);
+            }
+            if (wip.decrementAndGet() == 0) {
+                return;
+            }
+            drainLoop();
+        } else {
+            offer(item);
+            drain();
+        }
+    }
+
+    private void offer(T item) {
+        if (!queue.offer(item)) {
+            throw new IllegalStateException("limitRate queue is full: upstream ignored backpressure");
+        }
+    }
+
+    @Override
+    public void onComplete() {
+        Hooks.onComplete(this);
+        done = true;
+        drain();
+    }
+
+    @Override
+    public void request(long n) {
+        Operators.validate(n);
+        Operators.addCap(requested, n);
+        drain();
+    }
+
+    @Override
+    public void cancel() {
+        if (!cancelled.compareAndSet(false, true)) {
+            return;
+        }
+        upstream.cancel();
+        drain();
+    }
+
+    private void replenish() {
+        if (++consumed == lowTide) {
+            consumed = 0;
+            upstream.request(lowTide);
+        }
+    }
+
+    private void drain() {
+        if (wip.getAndIncrement() == 0) {
+            drainLoop();
+        }
+    }
+
+    private void drainLoop() {
+        int missed = 1;
+        for (;;) {
+            if (cancelled.get()) {
+                queue.clear();
+                return;
+            }
+            long r = requested.get();
+            long e = emitted;
+            while (e != r) {
+                if (cancelled.get()) {
+                    queue.clear();
+                    return;
+                }
+                T item = queue.poll();
+                if (item == null) {
+                    break;
+                }
+                downstream.onNext(item);
+                e++;
+                emitted = e;
+                replenish();
+            }
+            if (done && queue.isEmpty()) {
+                downstream.onComplete();
+                return;
+            }
+            missed = wip.addAndGet(-missed);
+            if (missed == 0) {
+                return;
+            }
+        }
+    }
+}
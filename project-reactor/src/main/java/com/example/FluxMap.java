@@ -1,50 +1,44 @@
 package com.example;
 
+import java.util.concurrent.Callable;
 import java.util.function.Function;
 
 class FluxMap<T, R> implements Publisher<R> {
-    private final Publisher<T> upstream;
-    private final Function<T, R> mapper;
+    final Publisher<Object> upstream;
+    final Function<Object, R> mapper;
 
+    @SuppressWarnings("unchecked")
     FluxMap(Publisher<T> upstream, Function<T, R> mapper) {
-        this.upstream = upstream;
-        this.mapper = mapper;
+        if (upstream instanceof FluxMap) {
+            // map(f).map(g) collapses into a single map(g . f) stage
+            FluxMap<Object, T> previous = (FluxMap<Object, T>) upstream;
+            this.upstream = previous.upstream;
+            this.mapper = previous.mapper.andThen(mapper);
+        } else {
+            this.upstream = (Publisher<Object>) upstream;
+            this.mapper = (Function<Object, R>) mapper;
+        }
+        Hooks.onAssembly(this);
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public void subscribe(Subscriber<R> downstreamSubscriber) {
         // Filter call this method
-        MapSubscriber<T, R> mapSubscriber = new MapSubscriber<>(downstreamSubscriber, mapper);
+        Hooks.onSubscribe(this, downstreamSubscriber);
+        if (!Hooks.ENABLED && upstream instanceof Callable) {
+            // map over a scalar is itself a scalar: no MapSubscriber, and the
+            // source is evaluated only when downstream requests. Skipped while
+            // hooks are on, since the source's own subscribe() would not run
+            // to report its subscription and context read.
+            Callable<Object> source = (Callable<Object>) upstream;
+            downstreamSubscriber.onSubscribe(new ScalarSubscription<>(downstreamSubscriber, () -> {
+                Object value = source.call();
+                return value == null ? null : mapper.apply(value);
+            }));
+            return;
+        }
+        MapSubscriber<Object, R> mapSubscriber = new MapSubscriber<>(downstreamSubscriber, mapper);
         upstream.subscribe(mapSubscriber);
     }
 }
-
-class MapSubscriber<T, R> extends CoreSubscriber<T> {
-    private final Subscriber<R> downstream;
-    private final Function<T, R> mapper;
-
-    MapSubscriber(Subscriber<R> downstream, Function<T, R> mapper) {
-        super(downstream);
-        this.downstream = downstream;
-        this.mapper = mapper;
-    }
-
-    @Override
-    public void onSubscribe(Subscription subscription) {
-        downstream.onSubscribe(subscription);
-    }
-
-    @Override
-    public void onNext(T item) {
-        Context ctx = currentContext();
-        System.out.println("FluxMap: ctx = " + ctx);
-
-        R mapped = mapper.apply(item);
-        downstream.onNext(mapped);
-    }
-
-    @Override
-    public void onComplete() {
-        downstream.onComplete();
-    }
-}
\ No newline at end of file
@@ -0,0 +1,51 @@
+package com.example;
+
+import java.util.function.ToDoubleFunction;
+
+// Bridges a Publisher<T> into a double pipeline.
+class FluxMapToDouble<T> implements DoublePublisher {
+    private final Publisher<T> upstream;
+    private final ToDoubleFunction<T> mapper;
+
+    FluxMapToDouble(Publisher<T> upstream, ToDoubleFunction<T> mapper) {
+        this.upstream = upstream;
+        this.mapper = mapper;
+        Hooks.onAssembly(this);
+    }
+
+    @Override
+    public void subscribe(DoubleSubscriber downstreamSubscriber) {
+        Hooks.onSubscribe(this, downstreamSubscriber);
+        upstream.subscribe(new MapToDoubleSubscriber<>(downstreamSubscriber, mapper));
+    }
+}
+
+class MapToDoubleSubscriber<T> implements Subscriber<T> {
+    private final DoubleSubscriber downstream;
+    private final ToDoubleFunction<T> mapper;
+
+    MapToDoubleSubscriber(DoubleSubscriber downstream, ToDoubleFunction<T> mapper) {
+        this.downstream = downstream;
+        this.mapper = mapper;
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        downstream.onSubscribe(subscription);
+    }
+
+    @Override
+    public void onNext(T item) {
+        downstream.onNext(mapper.applyAsDouble(item));
+    }
+
+    @Override
+    public void onComplete() {
+        downstream.onComplete();
+    }
+
+    @Override
+    public Context currentContext() {
+        return downstream.currentContext();
+    }
+}
@@ -0,0 +1,51 @@
+package com.example;
+
+import java.util.function.ToIntFunction;
+
+// Bridges a Publisher<T> into an int pipeline.
+class FluxMapToInt<T> implements IntPublisher {
+    private final Publisher<T> upstream;
+    private final ToIntFunction<T> mapper;
+
+    FluxMapToInt(Publisher<T> upstream, ToIntFunction<T> mapper) {
+        this.upstream = upstream;
+        this.mapper = mapper;
+        Hooks.onAssembly(this);
+    }
+
+    @Override
+    public void subscribe(IntSubscriber downstreamSubscriber) {
+        Hooks.onSubscribe(this, downstreamSubscriber);
+        upstream.subscribe(new MapToIntSubscriber<>(downstreamSubscriber, mapper));
+    }
+}
+
+class MapToIntSubscriber<T> implements Subscriber<T> {
+    private final IntSubscriber downstream;
+    private final ToIntFunction<T> mapper;
+
+    MapToIntSubscriber(IntSubscriber downstream, ToIntFunction<T> mapper) {
+        this.downstream = downstream;
+        this.mapper = mapper;
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        downstream.onSubscribe(subscription);
+    }
+
+    @Override
+    public void onNext(T item) {
+        downstream.onNext(mapper.applyAsInt(item));
+    }
+
+    @Override
+    public void onComplete() {
+        downstream.onComplete();
+    }
+
+    @Override
+    public Context currentContext() {
+        return downstream.currentContext();
+    }
+}
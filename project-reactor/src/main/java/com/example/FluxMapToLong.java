@@ -0,0 +1,51 @@
+package com.example;
+
+import java.util.function.ToLongFunction;
+
+// Bridges a Publisher<T> into a long pipeline.
+class FluxMapToLong<T> implements LongPublisher {
+    private final Publisher<T> upstream;
+    private final ToLongFunction<T> mapper;
+
+    FluxMapToLong(Publisher<T> upstream, ToLongFunction<T> mapper) {
+        this.upstream = upstream;
+        this.mapper = mapper;
+        Hooks.onAssembly(this);
+    }
+
+    @Override
+    public void subscribe(LongSubscriber downstreamSubscriber) {
+        Hooks.onSubscribe(this, downstreamSubscriber);
+        upstream.subscribe(new MapToLongSubscriber<>(downstreamSubscriber, mapper));
+    }
+}
+
+class MapToLongSubscriber<T> implements Subscriber<T> {
+    private final LongSubscriber downstream;
+    private final ToLongFunction<T> mapper;
+
+    MapToLongSubscriber(LongSubscriber downstream, ToLongFunction<T> mapper) {
+        this.downstream = downstream;
+        this.mapper = mapper;
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        downstream.onSubscribe(subscription);
+    }
+
+    @Override
+    public void onNext(T item) {
+        downstream.onNext(mapper.applyAsLong(item));
+    }
+
+    @Override
+    public void onComplete() {
+        downstream.onComplete();
+    }
+
+    @Override
+    public Context currentContext() {
+        return downstream.currentContext();
+    }
+}
@@ -0,0 +1,124 @@
+package com.example;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Records what passes this point of the chain into StageMetrics.of(name).
+// Items are observed as they are pushed, so this stage is a fusion barrier.
+class FluxMetrics<T> implements Publisher<T> {
+    private final Publisher<T> upstream;
+    private final StageMetrics metrics;
+
+    FluxMetrics(Publisher<T> upstream, String name) {
+        this.upstream = upstream;
+        this.metrics = StageMetrics.of(name);
+        Hooks.onAssembly(this);
+    }
+
+    @Override
+    public void subscribe(Subscriber<T> downstreamSubscriber) {
+        Hooks.onSubscribe(this, downstreamSubscriber);
+        upstream.subscribe(new MetricsSubscriber<>(downstreamSubscriber, metrics));
+    }
+}
+
+class MetricsSubscriber<T> extends CoreSubscriber<T> implements Subscription {
+    private final Subscriber<T> downstream;
+    private final StageMetrics metrics;
+    private final long subscribedAt;
+
+    private final AtomicLong outstanding = new AtomicLong();
+    private final AtomicBoolean terminated = new AtomicBoolean();
+    private Subscription upstream;
+    // when the item now awaited was requested, or the previous item arrived
+    // if demand was left over; 0 while there is no demand
+    private volatile long waitingSince;
+
+    MetricsSubscriber(Subscriber<T> downstream, StageMetrics metrics) {
+        super(downstream);
+        this.downstream = downstream;
+        this.metrics = metrics;
+        this.subscribedAt = System.nanoTime();
+        metrics.subscribed.increment();
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        this.upstream = subscription;
+        downstream.onSubscribe(this);
+    }
+
+    @Override
+    public void onNext(T item) {
+        Hooks.onNext(this, item);
+        long now = System.nanoTime();
+        long since = waitingSince;
+        if (since != 0) {
+            metrics.requestToOnNext.record(now - since);
+        }
+        metrics.delivered.increment();
+        // one CAS for check and decrement: a request(Long.MAX_VALUE) in between
+        // must not be decremented away from the unbounded marker
+        long current;
+        do {
+            current = outstanding.get();
+        } while (current != Long.MAX_VALUE && !outstanding.compareAndSet(current, current - 1));
+        if (current != Long.MAX_VALUE) {
+            metrics.demand.decrement();
+            waitingSince = current == 1 ? 0 : now;
+        } else {
+            waitingSince = now;
+        }
+        downstream.onNext(item);
+    }
+
+    @Override
+    public void onComplete() {
+        Hooks.onComplete(this);
+        if (terminate()) {
+            metrics.completed.increment();
+        }
+        downstream.onComplete();
+    }
+
+    @Override
+    public void request(long n) {
+        Operators.validate(n);
+        long previous = Operators.addCap(outstanding, n);
+        if (previous != Long.MAX_VALUE && !terminated.get()) {
+            if (Operators.addCap(previous, n) == Long.MAX_VALUE) {
+                // unbounded from now on: counted separately from bounded demand
+                metrics.demand.add(-previous);
+                metrics.unbounded.increment();
+            } else {
+                metrics.demand.add(n);
+            }
+            if (previous == 0) {
+                waitingSince = System.nanoTime();
+            }
+        }
+        upstream.request(n);
+    }
+
+    @Override
+    public void cancel() {
+        if (terminate()) {
+            metrics.cancelled.increment();
+        }
+        upstream.cancel();
+    }
+
+    private boolean terminate() {
+        if (!terminated.compareAndSet(false, true)) {
+            return false;
+        }
+        metrics.lifetime.record(System.nanoTime() - subscribedAt);
+        long left = outstanding.get();
+        if (left == Long.MAX_VALUE) {
+            metrics.unbounded.decrement();
+        } else {
+            metrics.demand.add(-left);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,9 @@
+package com.example;
+
+// The first item only, or an empty completion for an empty source.
+class FluxNext<T> extends FluxTake<T> {
+
+    FluxNext(Publisher<T> upstream) {
+        super(upstream, 1);
+    }
+}
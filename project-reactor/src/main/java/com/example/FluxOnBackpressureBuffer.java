@@ -0,0 +1,204 @@
+package com.example;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+// Requests everything from upstream and holds up to capacity items for a slow
+// downstream; what happens to an item that does not fit is the Overflow policy.
+class FluxOnBackpressureBuffer<T> implements Publisher<T> {
+    enum Overflow {
+        // Subscribers have no error signal: upstream is cancelled and downstream
+        // completes once it has drained what is buffered
+        ERROR,
+        // the arriving item is discarded
+        DROP_LATEST,
+        // the oldest buffered item is discarded to make room
+        DROP_OLDEST
+    }
+
+    private final Publisher<T> upstream;
+    private final int capacity;
+    private final Overflow overflow;
+    private final Consumer<T> onOverflow;
+
+    FluxOnBackpressureBuffer(Publisher<T> upstream, int capacity, Overflow overflow) {
+        this(upstream, capacity, overflow, null);
+    }
+
+    // onOverflow sees each discarded item; it runs on the upstream thread
+    FluxOnBackpressureBuffer(Publisher<T> upstream, int capacity, Overflow overflow, Consumer<T> onOverflow) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive, got " + capacity);
+        }
+        this.upstream = upstream;
+        this.capacity = capacity;
+        this.overflow = overflow;
+        this.onOverflow = onOverflow;
+        Hooks.onAssembly(this);
+    }
+
+    @Override
+    public void subscribe(Subscriber<T> downstreamSubscriber) {
+        Hooks.onSubscribe(this, downstreamSubscriber);
+        upstream.subscribe(new BackpressureBufferSubscriber<>(downstreamSubscriber, capacity, overflow, onOverflow));
+    }
+}
+
+class BackpressureBufferSubscriber<T> extends CoreSubscriber<T> implements Subscription {
+    private final Subscriber<T> downstream;
+    private final int capacity;
+    private final FluxOnBackpressureBuffer.Overflow overflow;
+    private final Consumer<T> onOverflow;
+    private final BackpressureStats stats;
+
+    // DROP_OLDEST polls from the upstream thread too, so it needs a queue with
+    // more than one consumer; size keeps the bound exact either way
+    private final Queue<T> queue;
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicInteger wip = new AtomicInteger();
+    private final AtomicLong requested = new AtomicLong();
+
+    private Subscription upstream;
+    private volatile boolean done;
+    private final AtomicBoolean cancelled = new AtomicBoolean();
+
+    // drain-thread state
+    private long emitted;
+
+    BackpressureBufferSubscriber(Subscriber<T> downstream, int capacity,
+            FluxOnBackpressureBuffer.Overflow overflow, Consumer<T> onOverflow) {
+        super(downstream);
+        this.downstream = downstream;
+        this.capacity = capacity;
+        this.overflow = overflow;
+        this.onOverflow = onOverflow;
+        this.stats = BackpressureStats.from(downstream.currentContext());
+        this.queue = overflow == FluxOnBackpressureBuffer.Overflow.DROP_OLDEST
+                ? new ConcurrentLinkedQueue<>()
+                : new SpscArrayQueue<>(capacity);
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        this.upstream = subscription;
+        downstream.onSubscribe(this);
+        subscription.request(Long.MAX_VALUE);
+    }
+
+    @Override
+    public void onNext(T item) {
+        Hooks.onNext(this, item);
+        if (done) {
+            return;
+        }
+        if (size.get() == capacity) {
+            switch (overflow) {
+                case DROP_OLDEST:
+                    T oldest = queue.poll();
+                    if (oldest != null) {
+                        size.decrementAndGet();
+                        discard(oldest);
+                    }
+                    break;
+                case DROP_LATEST:
+                    discard(item);
+                    return;
+                default:
+                    discard(item);
+                    done = true;
+                    upstream.cancel();
+                    drain();
+                    return;
+            }
+        }
+        queue.offer(item);
+        size.incrementAndGet();
+        drain();
+    }
+
+    private void discard(T item) {
+        if (stats != null) {
+            stats.overflow(true);
+        }
+        if (onOverflow != null) {
+            onOverflow.accept(item);
+        }
+    }
+
+    @Override
+    public void onComplete() {
+        Hooks.onComplete(this);
+        if (done) {
+            return;
+        }
+        done = true;
+        drain();
+    }
+
+    @Override
+    public void request(long n) {
+        Operators.validate(n);
+        Operators.addCap(requested, n);
+        drain();
+    }
+
+    @Override
+    public void cancel() {
+        if (!cancelled.compareAndSet(false, true)) {
+            return;
+        }
+        upstream.cancel();
+        if (wip.getAndIncrement() == 0) {
+            queue.clear();
+        }
+    }
+
+    private void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        for (;;) {
+            // once cancelled wip stays raised, so the loop never restarts
+            if (cancelled.get()) {
+                queue.clear();
+                return;
+            }
+            long r = requested.get();
+            long e = emitted;
+            while (e != r) {
+                if (cancelled.get()) {
+                    queue.clear();
+                    return;
+                }
+                boolean d = done;
+                T item = queue.poll();
+                if (item == null) {
+                    if (d) {
+                        downstream.onComplete();
+                        return;
+                    }
+                    break;
+                }
+                size.decrementAndGet();
+                downstream.onNext(item);
+                e++;
+            }
+            emitted = e;
+            if (done && queue.isEmpty()) {
+                if (!cancelled.get()) {
+                    downstream.onComplete();
+                }
+                return;
+            }
+            missed = wip.addAndGet(-missed);
+            if (missed == 0) {
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.example;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+// Requests everything from upstream and passes an item on only if downstream
+// has demand for it right now; the rest are dropped.
+class FluxOnBackpressureDrop<T> implements Publisher<T> {
+    private final Publisher<T> upstream;
+    private final Consumer<T> onDrop;
+
+    FluxOnBackpressureDrop(Publisher<T> upstream) {
+        this(upstream, null);
+    }
+
+    // onDrop sees each dropped item; it runs on the upstream thread
+    FluxOnBackpressureDrop(Publisher<T> upstream, Consumer<T> onDrop) {
+        this.upstream = upstream;
+        this.onDrop = onDrop;
+        Hooks.onAssembly(this);
+    }
+
+    @Override
+    public void subscribe(Subscriber<T> downstreamSubscriber) {
+        Hooks.onSubscribe(this, downstreamSubscriber);
+        upstream.subscribe(new BackpressureDropSubscriber<>(downstreamSubscriber, onDrop));
+    }
+}
+
+class BackpressureDropSubscriber<T> extends CoreSubscriber<T> implements Subscription {
+    private final Subscriber<T> downstream;
+    private final Consumer<T> onDrop;
+    private final BackpressureStats stats;
+    private final AtomicLong requested = new AtomicLong();
+
+    private Subscription upstream;
+
+    // upstream-thread state: items are emitted straight from onNext
+    private long emitted;
+
+    BackpressureDropSubscriber(Subscriber<T> downstream, Consumer<T> onDrop) {
+        super(downstream);
+        this.downstream = downstream;
+        this.onDrop = onDrop;
+        this.stats = BackpressureStats.from(downstream.currentContext());
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        this.upstream = subscription;
+        downstream.onSubscribe(this);
+        subscription.request(Long.MAX_VALUE);
+    }
+
+    @Override
+    public void onNext(T item) {
+        Hooks.onNext(this, item);
+        if (requested.get() != emitted) {
+            emitted++;
+            downstream.onNext(item);
+            return;
+        }
+        if (stats != null) {
+            stats.overflow(true);
+        }
+        if (onDrop != null) {
+            onDrop.accept(item);
+        }
+    }
+
+    @Override
+    public void onComplete() {
+        Hooks.onComplete(this);
+        downstream.onComplete();
+    }
+
+    @Override
+    public void request(long n) {
+        Operators.validate(n);
+        Operators.addCap(requested, n);
+    }
+
+    @Override
+    public void cancel() {
+        upstream.cancel();
+    }
+}
@@ -0,0 +1,85 @@
+package com.example;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Requests everything from upstream and passes items on while downstream has
+// demand. The first item without demand ends the sequence: Subscribers have no
+// error signal, so upstream is cancelled and downstream completes.
+class FluxOnBackpressureError<T> implements Publisher<T> {
+    private final Publisher<T> upstream;
+
+    FluxOnBackpressureError(Publisher<T> upstream) {
+        this.upstream = upstream;
+        Hooks.onAssembly(this);
+    }
+
+    @Override
+    public void subscribe(Subscriber<T> downstreamSubscriber) {
+        Hooks.onSubscribe(this, downstreamSubscriber);
+        upstream.subscribe(new BackpressureErrorSubscriber<>(downstreamSubscriber));
+    }
+}
+
+class BackpressureErrorSubscriber<T> extends CoreSubscriber<T> implements Subscription {
+    private final Subscriber<T> downstream;
+    private final BackpressureStats stats;
+    private final AtomicLong requested = new AtomicLong();
+
+    private Subscription upstream;
+
+    // upstream-thread state
+    private long emitted;
+    private boolean done;
+
+    BackpressureErrorSubscriber(Subscriber<T> downstream) {
+        super(downstream);
+        this.downstream = downstream;
+        this.stats = BackpressureStats.from(downstream.currentContext());
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        this.upstream = subscription;
+        downstream.onSubscribe(this);
+        subscription.request(Long.MAX_VALUE);
+    }
+
+    @Override
+    public void onNext(T item) {
+        Hooks.onNext(this, item);
+        if (done) {
+            return;
+        }
+        if (requested.get() != emitted) {
+            emitted++;
+            downstream.onNext(item);
+            return;
+        }
+        if (stats != null) {
+            stats.overflow(true);
+        }
+        done = true;
+        upstream.cancel();
+        downstream.onComplete();
+    }
+
+    @Override
+    public void onComplete() {
+        Hooks.onComplete(this);
+        if (!done) {
+            done = true;
+            downstream.onComplete();
+        }
+    }
+
+    @Override
+    public void request(long n) {
+        Operators.validate(n);
+        Operators.addCap(requested, n);
+    }
+
+    @Override
+    public void cancel() {
+        upstream.cancel();
+    }
+}
@@ -0,0 +1,118 @@
+package com.example;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Requests everything from upstream and keeps only the newest item not yet
+// delivered: a slow downstream always gets the latest value, and the items
+// overwritten in between are dropped.
+class FluxOnBackpressureLatest<T> implements Publisher<T> {
+    private final Publisher<T> upstream;
+
+    FluxOnBackpressureLatest(Publisher<T> upstream) {
+        this.upstream = upstream;
+        Hooks.onAssembly(this);
+    }
+
+    @Override
+    public void subscribe(Subscriber<T> downstreamSubscriber) {
+        Hooks.onSubscribe(this, downstreamSubscriber);
+        upstream.subscribe(new BackpressureLatestSubscriber<>(downstreamSubscriber));
+    }
+}
+
+class BackpressureLatestSubscriber<T> extends CoreSubscriber<T> implements Subscription {
+    private final Subscriber<T> downstream;
+    private final BackpressureStats stats;
+    private final AtomicReference<T> latest = new AtomicReference<>();
+    private final AtomicInteger wip = new AtomicInteger();
+    private final AtomicLong requested = new AtomicLong();
+
+    private Subscription upstream;
+    private volatile boolean done;
+    private final AtomicBoolean cancelled = new AtomicBoolean();
+
+    // drain-thread state
+    private long emitted;
+
+    BackpressureLatestSubscriber(Subscriber<T> downstream) {
+        super(downstream);
+        this.downstream = downstream;
+        this.stats = BackpressureStats.from(downstream.currentContext());
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        this.upstream = subscription;
+        downstream.onSubscribe(this);
+        subscription.request(Long.MAX_VALUE);
+    }
+
+    @Override
+    public void onNext(T item) {
+        Hooks.onNext(this, item);
+        if (latest.getAndSet(item) != null && stats != null) {
+            stats.overflow(true);
+        }
+        drain();
+    }
+
+    @Override
+    public void onComplete() {
+        Hooks.onComplete(this);
+        done = true;
+        drain();
+    }
+
+    @Override
+    public void request(long n) {
+        Operators.validate(n);
+        Operators.addCap(requested, n);
+        drain();
+    }
+
+    @Override
+    public void cancel() {
+        if (!cancelled.compareAndSet(false, true)) {
+            return;
+        }
+        upstream.cancel();
+        if (wip.getAndIncrement() == 0) {
+            latest.lazySet(null);
+        }
+    }
+
+    private void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        for (;;) {
+            // once cancelled wip stays raised, so the loop never restarts
+            if (cancelled.get()) {
+                latest.lazySet(null);
+                return;
+            }
+            boolean d = done;
+            if (requested.get() != emitted) {
+                T item = latest.getAndSet(null);
+                if (item != null) {
+                    downstream.onNext(item);
+                    emitted++;
+                }
+            }
+            if (d && latest.get() == null) {
+                if (!cancelled.get()) {
+                    downstream.onComplete();
+                }
+                return;
+            }
+            missed = wip.addAndGet(-missed);
+            if (missed == 0) {
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,332 @@
+package com.example;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// A buffer that never drops: upstream demand is unbounded, items wait in a
+// small in-memory ring, and once the ring is full they are serialized into
+// memory-mapped segment files under dir. Once anything is on disk new items go
+// there too, until the disk part has been read back, so disk items are always
+// newer than ring items and reading the ring first keeps the order. A segment
+// file is deleted and unmapped as soon as it has been read, and the rest on
+// completion. Cancellation deletes the rest too but leaves unmapping them to
+// the garbage collector, as upstream may still be writing into the last one.
+//
+// Records are a length prefix and the serialized bytes; a record never spans
+// two segments, so an item must serialize to at most segmentSize - 4 bytes.
+// IO failures surface as UncheckedIOException, as there is no error signal.
+class FluxOnBackpressureSpill<T> implements Publisher<T> {
+    static final int DEFAULT_RING_CAPACITY = 256;
+
+    interface Serializer<T> {
+        byte[] serialize(T item);
+
+        T deserialize(byte[] bytes);
+    }
+
+    private final Publisher<T> upstream;
+    private final Serializer<T> serializer;
+    private final Path dir;
+    private final int segmentSize;
+    private final int ringCapacity;
+
+    FluxOnBackpressureSpill(Publisher<T> upstream, Serializer<T> serializer, Path dir, int segmentSize) {
+        this(upstream, serializer, dir, segmentSize, DEFAULT_RING_CAPACITY);
+    }
+
+    FluxOnBackpressureSpill(Publisher<T> upstream, Serializer<T> serializer, Path dir, int segmentSize,
+            int ringCapacity) {
+        if (segmentSize <= 8) {
+            throw new IllegalArgumentException("segmentSize must be larger than 8 bytes, got " + segmentSize);
+        }
+        if (ringCapacity <= 0) {
+            throw new IllegalArgumentException("ringCapacity must be positive, got " + ringCapacity);
+        }
+        this.upstream = upstream;
+        this.serializer = serializer;
+        this.dir = dir;
+        this.segmentSize = segmentSize;
+        this.ringCapacity = ringCapacity;
+        Hooks.onAssembly(this);
+    }
+
+    @Override
+    public void subscribe(Subscriber<T> downstreamSubscriber) {
+        Hooks.onSubscribe(this, downstreamSubscriber);
+        upstream.subscribe(new SpillSubscriber<>(downstreamSubscriber, serializer, dir, segmentSize, ringCapacity));
+    }
+}
+
+class SpillSubscriber<T> extends CoreSubscriber<T> implements Subscription {
+    // written where the next record would not fit, to send the reader onwards
+    private static final int END_OF_SEGMENT = -1;
+
+    private final Subscriber<T> downstream;
+    private final FluxOnBackpressureSpill.Serializer<T> serializer;
+    private final Path dir;
+    private final int segmentSize;
+
+    private final Queue<T> ring;
+    // segments in write order; the upstream thread adds, the drain removes
+    private final Queue<SpillSegment> segments = new ConcurrentLinkedQueue<>();
+    // records written to disk and not yet read back; its increment publishes
+    // a record's bytes to the drain thread
+    private final AtomicLong spilled = new AtomicLong();
+    private final AtomicInteger wip = new AtomicInteger();
+    private final AtomicLong requested = new AtomicLong();
+
+    private Subscription upstream;
+    private volatile boolean done;
+    private final AtomicBoolean cancelled = new AtomicBoolean();
+
+    // upstream-thread state
+    private SpillSegment writeSegment;
+
+    // drain-thread state
+    private long emitted;
+
+    SpillSubscriber(Subscriber<T> downstream, FluxOnBackpressureSpill.Serializer<T> serializer, Path dir,
+            int segmentSize, int ringCapacity) {
+        super(downstream);
+        this.downstream = downstream;
+        this.serializer = serializer;
+        this.dir = dir;
+        this.segmentSize = segmentSize;
+        this.ring = new SpscArrayQueue<>(ringCapacity);
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        this.upstream = subscription;
+        downstream.onSubscribe(this);
+        subscription.request(Long.MAX_VALUE);
+    }
+
+    @Override
+    public void onNext(T item) {
+        Hooks.onNext(this, item);
+        if (cancelled.get()) {
+            return;
+        }
+        if (spilled.get() != 0 || !ring.offer(item)) {
+            spill(item);
+            spilled.incrementAndGet();
+            if (cancelled.get()) {
+                // the drain may have cleared up before this segment existed
+                deleteSegments();
+                return;
+            }
+        }
+        drain();
+    }
+
+    private void spill(T item) {
+        byte[] bytes = serializer.serialize(item);
+        int recordSize = 4 + bytes.length;
+        if (recordSize > segmentSize) {
+            throw new IllegalArgumentException("item of " + bytes.length
+                    + " bytes does not fit a segment of " + segmentSize + " bytes");
+        }
+        SpillSegment segment = writeSegment;
+        if (segment == null || segment.writer.remaining() < recordSize) {
+            if (segment != null && segment.writer.remaining() >= 4) {
+                segment.writer.putInt(END_OF_SEGMENT);
+            }
+            segment = SpillSegment.create(dir, segmentSize);
+            writeSegment = segment;
+            segments.offer(segment);
+        }
+        segment.writer.putInt(bytes.length);
+        segment.writer.put(bytes);
+    }
+
+    @Override
+    public void onComplete() {
+        Hooks.onComplete(this);
+        done = true;
+        drain();
+    }
+
+    @Override
+    public void request(long n) {
+        Operators.validate(n);
+        Operators.addCap(requested, n);
+        drain();
+    }
+
+    @Override
+    public void cancel() {
+        if (!cancelled.compareAndSet(false, true)) {
+            return;
+        }
+        upstream.cancel();
+        if (wip.getAndIncrement() == 0) {
+            clear();
+        }
+    }
+
+    private void clear() {
+        ring.clear();
+        deleteSegments();
+    }
+
+    private void deleteSegments() {
+        SpillSegment segment;
+        while ((segment = segments.poll()) != null) {
+            segment.delete();
+        }
+    }
+
+    private T readSpilled() {
+        for (;;) {
+            SpillSegment segment = segments.peek();
+            ByteBuffer reader = segment.reader;
+            int length = reader.remaining() < 4 ? END_OF_SEGMENT : reader.getInt();
+            if (length == END_OF_SEGMENT) {
+                // the writer moved on before the record now waiting was written
+                segments.poll();
+                segment.release();
+                continue;
+            }
+            byte[] bytes = new byte[length];
+            reader.get(bytes);
+            return serializer.deserialize(bytes);
+        }
+    }
+
+    private void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        for (;;) {
+            // once cancelled wip stays raised, so the loop never restarts
+            if (cancelled.get()) {
+                clear();
+                return;
+            }
+            long r = requested.get();
+            long e = emitted;
+            while (e != r) {
+                if (cancelled.get()) {
+                    clear();
+                    return;
+                }
+                boolean d = done;
+                T item = ring.poll();
+                if (item == null && spilled.get() != 0) {
+                    item = readSpilled();
+                    spilled.decrementAndGet();
+                }
+                if (item == null) {
+                    if (d) {
+                        complete();
+                        return;
+                    }
+                    break;
+                }
+                downstream.onNext(item);
+                e++;
+            }
+            emitted = e;
+            if (done && ring.isEmpty() && spilled.get() == 0) {
+                complete();
+                return;
+            }
+            missed = wip.addAndGet(-missed);
+            if (missed == 0) {
+                return;
+            }
+        }
+    }
+
+    private void complete() {
+        // upstream is done writing, so every segment can be unmapped
+        SpillSegment segment;
+        while ((segment = segments.poll()) != null) {
+            segment.release();
+        }
+        downstream.onComplete();
+    }
+}
+
+// One mapped segment file. The writer and the reader are separate views of
+// the same mapping, each with its own position.
+final class SpillSegment {
+    // Unsafe.invokeCleaner, if this runtime has it; otherwise a mapping is
+    // only released once its buffers are garbage collected, and a deleted
+    // file keeps its disk space until then
+    private static final MethodHandle UNMAP = unmapHandle();
+
+    final Path path;
+    final ByteBuffer writer;
+    final ByteBuffer reader;
+
+    private SpillSegment(Path path, MappedByteBuffer buffer) {
+        this.path = path;
+        this.writer = buffer;
+        this.reader = buffer.duplicate();
+    }
+
+    static SpillSegment create(Path dir, int size) {
+        try {
+            Path path = Files.createTempFile(dir, "spill-", ".seg");
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                // the mapping stays valid after the channel is closed
+                return new SpillSegment(path, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // the mapping itself is released when the buffers are collected
+    void delete() {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Deletes the file and unmaps it right away. Neither view may be touched
+    // afterwards, so only call this once the writer has moved on.
+    void release() {
+        delete();
+        if (UNMAP != null) {
+            try {
+                UNMAP.invokeExact(writer);
+            } catch (Throwable e) {
+                // left to the garbage collector
+            }
+        }
+    }
+
+    private static MethodHandle unmapHandle() {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            return MethodHandles.lookup()
+                    .findVirtual(unsafeClass, "invokeCleaner", MethodType.methodType(void.class, ByteBuffer.class))
+                    .bindTo(theUnsafe.get(null));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,340 @@
+package com.example;
+
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Fans one upstream subscription out to every subscriber. Upstream items go
+// through one prefetch queue and leave it only when all current subscribers
+// have demand, so the slowest subscriber sets the pace.
+class FluxPublish<T> extends ConnectablePublisher<T> {
+    static final int DEFAULT_PREFETCH = 256;
+
+    private final Publisher<T> upstream;
+    private final int prefetch;
+    // the connection new subscribers join; replaced once it has terminated
+    private final AtomicReference<PublishConnection<T>> connection = new AtomicReference<>();
+
+    FluxPublish(Publisher<T> upstream) {
+        this(upstream, DEFAULT_PREFETCH);
+    }
+
+    FluxPublish(Publisher<T> upstream, int prefetch) {
+        if (prefetch <= 0) {
+            throw new IllegalArgumentException("prefetch must be positive, got " + prefetch);
+        }
+        this.upstream = upstream;
+        this.prefetch = prefetch;
+        Hooks.onAssembly(this);
+    }
+
+    // publish().refCount(1): connects on the first subscriber and cancels
+    // upstream after the last one leaves.
+    static <T> Publisher<T> share(Publisher<T> upstream) {
+        return new FluxPublish<>(upstream).refCount(1);
+    }
+
+    @Override
+    public void subscribe(Subscriber<T> downstreamSubscriber) {
+        Hooks.onSubscribe(this, downstreamSubscriber);
+        PublishInner<T> inner = new PublishInner<>(downstreamSubscriber);
+        downstreamSubscriber.onSubscribe(inner);
+        for (;;) {
+            PublishConnection<T> c = current();
+            if (c.add(inner)) {
+                inner.parent = c;
+                if (inner.cancelled.get()) {
+                    c.remove(inner);
+                }
+                c.drain();
+                return;
+            }
+            // that connection already completed: start over on a fresh one
+            connection.compareAndSet(c, null);
+        }
+    }
+
+    @Override
+    Disposable connect() {
+        PublishConnection<T> c = current();
+        if (c.connected.compareAndSet(false, true)) {
+            upstream.subscribe(c);
+        }
+        return c;
+    }
+
+    private PublishConnection<T> current() {
+        for (;;) {
+            PublishConnection<T> c = connection.get();
+            if (c != null) {
+                return c;
+            }
+            PublishConnection<T> fresh = new PublishConnection<>(this, prefetch);
+            if (connection.compareAndSet(null, fresh)) {
+                return fresh;
+            }
+        }
+    }
+
+    void terminated(PublishConnection<T> c) {
+        connection.compareAndSet(c, null);
+    }
+}
+
+class PublishConnection<T> implements Subscriber<T>, Disposable {
+    @SuppressWarnings("rawtypes")
+    private static final PublishInner[] EMPTY = new PublishInner[0];
+    @SuppressWarnings("rawtypes")
+    private static final PublishInner[] TERMINATED = new PublishInner[0];
+
+    private final FluxPublish<T> parent;
+    private final int prefetch;
+    private final int limit;
+
+    final AtomicBoolean connected = new AtomicBoolean();
+    private final AtomicInteger wip = new AtomicInteger();
+    // copy-on-write array of subscribers; TERMINATED once completion went out
+    private final AtomicReference<PublishInner<T>[]> subscribers;
+
+    // subscribers may request before connect(), i.e. before onSubscribe
+    private volatile Subscription upstream;
+    private Queue<T> queue;
+    // set when upstream agreed to SYNC fusion: its own queue is drained directly
+    private QueueSubscription<T> qs;
+    private volatile boolean done;
+    private volatile boolean disposed;
+
+    // drain-thread state
+    private int consumed;
+
+    @SuppressWarnings("unchecked")
+    PublishConnection(FluxPublish<T> parent, int prefetch) {
+        this.parent = parent;
+        this.prefetch = prefetch;
+        this.limit = prefetch - (prefetch >> 2);
+        this.subscribers = new AtomicReference<>(EMPTY);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void onSubscribe(Subscription subscription) {
+        if (disposed) {
+            subscription.cancel();
+            return;
+        }
+        if (subscription instanceof QueueSubscription) {
+            QueueSubscription<T> fused = (QueueSubscription<T>) subscription;
+            if (fused.requestFusion(QueueSubscription.SYNC) == QueueSubscription.SYNC) {
+                this.qs = fused;
+                this.done = true;
+                this.upstream = subscription;
+                drain();
+                return;
+            }
+        }
+        this.queue = new SpscArrayQueue<>(prefetch);
+        this.upstream = subscription;
+        subscription.request(prefetch);
+    }
+
+    @Override
+    public void onNext(T item) {
+        Hooks.onNext(this, item);
+        if (!queue.offer(item)) {
+            throw new IllegalStateException("publish queue is full: upstream ignored backpressure");
+        }
+        drain();
+    }
+
+    @Override
+    public void onComplete() {
+        Hooks.onComplete(this);
+        done = true;
+        drain();
+    }
+
+    @Override
+    public Context currentContext() {
+        // shared by all subscribers, so it carries none of theirs
+        return Context.EMPTY;
+    }
+
+    @Override
+    public void dispose() {
+        if (disposed) {
+            return;
+        }
+        disposed = true;
+        Subscription s = upstream;
+        if (s != null) {
+            s.cancel();
+        }
+        parent.terminated(this);
+        drain();
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return disposed;
+    }
+
+    void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        for (;;) {
+            if (disposed) {
+                clear();
+                completeAll();
+                return;
+            }
+            // the volatile read of upstream publishes qs and queue
+            if (upstream != null) {
+                PublishInner<T>[] inners = subscribers.get();
+                boolean exhausted = false;
+                if (inners.length != 0) {
+                    long available = Long.MAX_VALUE;
+                    for (PublishInner<T> inner : inners) {
+                        available = Math.min(available, inner.requested.get() - inner.emitted);
+                    }
+                    long e = 0;
+                    // a subscriber joining or leaving changes the pace: stop and
+                    // recompute rather than poll an item nobody may get
+                    while (e != available && subscribers.get() == inners) {
+                        if (disposed) {
+                            break;
+                        }
+                        T item = qs != null ? qs.poll() : queue.poll();
+                        if (item == null) {
+                            // for SYNC sources an empty poll is the end
+                            exhausted = qs != null;
+                            break;
+                        }
+                        for (PublishInner<T> inner : inners) {
+                            if (!inner.cancelled.get()) {
+                                inner.emitted++;
+                                inner.downstream.onNext(item);
+                            }
+                        }
+                        e++;
+                        if (qs == null && ++consumed == limit) {
+                            consumed = 0;
+                            upstream.request(limit);
+                        }
+                    }
+                }
+                if (!disposed && done && (exhausted || (qs != null ? qs.isEmpty() : queue.isEmpty()))) {
+                    parent.terminated(this);
+                    completeAll();
+                    return;
+                }
+            }
+            missed = wip.addAndGet(-missed);
+            if (missed == 0) {
+                return;
+            }
+        }
+    }
+
+    private void clear() {
+        if (upstream == null) {
+            return;
+        }
+        if (qs != null) {
+            qs.clear();
+        } else {
+            queue.clear();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void completeAll() {
+        for (PublishInner<T> inner : subscribers.getAndSet(TERMINATED)) {
+            if (!inner.cancelled.get()) {
+                inner.downstream.onComplete();
+            }
+        }
+    }
+
+    boolean add(PublishInner<T> inner) {
+        for (;;) {
+            PublishInner<T>[] current = subscribers.get();
+            if (current == TERMINATED) {
+                return false;
+            }
+            @SuppressWarnings({"unchecked", "rawtypes"})
+            PublishInner<T>[] next = new PublishInner[current.length + 1];
+            System.arraycopy(current, 0, next, 0, current.length);
+            next[current.length] = inner;
+            if (subscribers.compareAndSet(current, next)) {
+                return true;
+            }
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    void remove(PublishInner<T> inner) {
+        for (;;) {
+            PublishInner<T>[] current = subscribers.get();
+            int index = -1;
+            for (int i = 0; i < current.length; i++) {
+                if (current[i] == inner) {
+                    index = i;
+                    break;
+                }
+            }
+            if (index < 0) {
+                return;
+            }
+            PublishInner<T>[] next = EMPTY;
+            if (current.length != 1) {
+                next = new PublishInner[current.length - 1];
+                System.arraycopy(current, 0, next, 0, index);
+                System.arraycopy(current, index + 1, next, index, current.length - index - 1);
+            }
+            if (subscribers.compareAndSet(current, next)) {
+                return;
+            }
+        }
+    }
+}
+
+class PublishInner<T> implements Subscription {
+    final Subscriber<T> downstream;
+    final AtomicLong requested = new AtomicLong();
+    final AtomicBoolean cancelled = new AtomicBoolean();
+    // set once the inner has joined a connection
+    volatile PublishConnection<T> parent;
+
+    // drain-thread state
+    long emitted;
+
+    PublishInner(Subscriber<T> downstream) {
+        this.downstream = downstream;
+    }
+
+    @Override
+    public void request(long n) {
+        Operators.validate(n);
+        Operators.addCap(requested, n);
+        PublishConnection<T> p = parent;
+        if (p != null) {
+            p.drain();
+        }
+    }
+
+    @Override
+    public void cancel() {
+        if (cancelled.compareAndSet(false, true)) {
+            PublishConnection<T> p = parent;
+            if (p != null) {
+                p.remove(this);
+                // the remaining subscribers may have been held back by this one
+                p.drain();
+            }
+        }
+    }
+}
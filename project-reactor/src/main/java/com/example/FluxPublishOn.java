@@ -0,0 +1,23 @@
+package com.example;
+
+class FluxPublishOn<T> implements Publisher<T> {
+    private final Publisher<T> upstream;
+    private final Scheduler scheduler;
+    private final int prefetch;
+
+    FluxPublishOn(Publisher<T> upstream, Scheduler scheduler, int prefetch) {
+        if (prefetch <= 0) {
+            throw new IllegalArgumentException("prefetch must be positive, got " + prefetch);
+        }
+        this.upstream = upstream;
+        this.scheduler = scheduler;
+        this.prefetch = prefetch;
+        Hooks.onAssembly(this);
+    }
+
+    @Override
+    public void subscribe(Subscriber<T> downstreamSubscriber) {
+        Hooks.onSubscribe(this, downstreamSubscriber);
+        upstream.subscribe(new PublishOnSubscriber<>(downstreamSubscriber, scheduler.createWorker(), prefetch));
+    }
+}
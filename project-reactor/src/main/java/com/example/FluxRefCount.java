@@ -0,0 +1,139 @@
+package com.example;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Connects the source once minSubscribers have subscribed and disposes the
+// connection when every one of them has cancelled. A group is the set of
+// subscribers sharing one connection; the next subscriber after a group ended
+// starts a new one.
+class FluxRefCount<T> implements Publisher<T> {
+    private final ConnectablePublisher<T> source;
+    private final int minSubscribers;
+
+    // guarded by this; subscribe and cancel are rare next to onNext
+    private RefCountGroup group;
+
+    FluxRefCount(ConnectablePublisher<T> source, int minSubscribers) {
+        if (minSubscribers <= 0) {
+            throw new IllegalArgumentException("minSubscribers must be positive, got " + minSubscribers);
+        }
+        this.source = source;
+        this.minSubscribers = minSubscribers;
+        Hooks.onAssembly(this);
+    }
+
+    @Override
+    public void subscribe(Subscriber<T> downstreamSubscriber) {
+        Hooks.onSubscribe(this, downstreamSubscriber);
+        RefCountGroup g;
+        boolean connect = false;
+        synchronized (this) {
+            g = group;
+            if (g == null) {
+                g = new RefCountGroup();
+                group = g;
+            }
+            g.subscribers++;
+            if (!g.connected && g.subscribers >= minSubscribers) {
+                g.connected = true;
+                connect = true;
+            }
+        }
+        source.subscribe(new RefCountSubscriber<>(downstreamSubscriber, this, g));
+        if (connect) {
+            Disposable connection = source.connect();
+            boolean disposeNow;
+            synchronized (this) {
+                // everyone may have left while connect() was running
+                disposeNow = g.released;
+                g.connection = connection;
+            }
+            if (disposeNow) {
+                connection.dispose();
+            }
+        }
+    }
+
+    void release(RefCountGroup g) {
+        Disposable connection = null;
+        synchronized (this) {
+            if (--g.subscribers != 0) {
+                return;
+            }
+            if (group == g) {
+                group = null;
+            }
+            g.released = true;
+            connection = g.connection;
+        }
+        if (connection != null) {
+            connection.dispose();
+        }
+    }
+
+    void terminated(RefCountGroup g) {
+        synchronized (this) {
+            if (group == g) {
+                group = null;
+            }
+        }
+    }
+
+    static final class RefCountGroup {
+        int subscribers;
+        boolean connected;
+        boolean released;
+        Disposable connection;
+    }
+}
+
+class RefCountSubscriber<T> extends CoreSubscriber<T> implements Subscription {
+    private final Subscriber<T> downstream;
+    private final FluxRefCount<T> parent;
+    private final FluxRefCount.RefCountGroup group;
+    // cancel and completion each end this subscriber's share of the group once
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    private Subscription upstream;
+
+    RefCountSubscriber(Subscriber<T> downstream, FluxRefCount<T> parent, FluxRefCount.RefCountGroup group) {
+        super(downstream);
+        this.downstream = downstream;
+        this.parent = parent;
+        this.group = group;
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        this.upstream = subscription;
+        downstream.onSubscribe(this);
+    }
+
+    @Override
+    public void onNext(T item) {
+        Hooks.onNext(this, item);
+        downstream.onNext(item);
+    }
+
+    @Override
+    public void onComplete() {
+        Hooks.onComplete(this);
+        if (released.compareAndSet(false, true)) {
+            parent.terminated(group);
+        }
+        downstream.onComplete();
+    }
+
+    @Override
+    public void request(long n) {
+        upstream.request(n);
+    }
+
+    @Override
+    public void cancel() {
+        upstream.cancel();
+        if (released.compareAndSet(false, true)) {
+            parent.release(group);
+        }
+    }
+}
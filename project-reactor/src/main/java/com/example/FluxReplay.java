@@ -0,0 +1,479 @@
+package com.example;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Subscribes upstream once, on the first subscriber, and keeps the recent
+// items: every subscriber gets that history and then the live items, without
+// the source running again. Upstream writes from one thread and each
+// subscriber reads at its own position, so readers never lock.
+//
+// With a count limit the history is a pre-allocated ring and upstream is
+// requested only as far as the slowest subscriber leaves room for. Without one
+// (the cache() and replay(Duration) forms) it is a chain of fixed segments and
+// upstream demand is unbounded. An age limit is applied when a subscriber
+// joins: items older than maxAge are skipped.
+class FluxReplay<T> implements Publisher<T> {
+    static final int UNBOUNDED = Integer.MAX_VALUE;
+
+    private final Publisher<T> upstream;
+    private final ReplaySubscriber<T> main;
+    private final AtomicBoolean connected = new AtomicBoolean();
+
+    // cache(): everything upstream emitted, forever
+    FluxReplay(Publisher<T> upstream) {
+        this(upstream, UNBOUNDED, Long.MAX_VALUE);
+    }
+
+    FluxReplay(Publisher<T> upstream, int maxItems) {
+        this(upstream, maxItems, Long.MAX_VALUE);
+    }
+
+    FluxReplay(Publisher<T> upstream, Duration maxAge) {
+        this(upstream, UNBOUNDED, maxAge);
+    }
+
+    FluxReplay(Publisher<T> upstream, int maxItems, Duration maxAge) {
+        this(upstream, maxItems, checkAge(maxAge).toNanos());
+    }
+
+    private FluxReplay(Publisher<T> upstream, int maxItems, long maxAgeNanos) {
+        if (maxItems <= 0) {
+            throw new IllegalArgumentException("maxItems must be positive, got " + maxItems);
+        }
+        this.upstream = upstream;
+        ReplayBuffer<T> buffer = maxItems == UNBOUNDED
+                ? new ReplayLinkedBuffer<>(maxAgeNanos)
+                : new ReplayRingBuffer<>(maxItems, maxAgeNanos);
+        this.main = new ReplaySubscriber<>(buffer);
+        Hooks.onAssembly(this);
+    }
+
+    private static Duration checkAge(Duration maxAge) {
+        if (maxAge.isNegative() || maxAge.isZero()) {
+            throw new IllegalArgumentException("maxAge must be positive, got " + maxAge);
+        }
+        return maxAge;
+    }
+
+    @Override
+    public void subscribe(Subscriber<T> downstreamSubscriber) {
+        Hooks.onSubscribe(this, downstreamSubscriber);
+        ReplayInner<T> inner = new ReplayInner<>(main, downstreamSubscriber);
+        downstreamSubscriber.onSubscribe(inner);
+        main.join(inner);
+        if (connected.compareAndSet(false, true)) {
+            upstream.subscribe(main);
+        }
+    }
+}
+
+class ReplaySubscriber<T> implements Subscriber<T> {
+    @SuppressWarnings("rawtypes")
+    private static final ReplayInner[] EMPTY = new ReplayInner[0];
+
+    final ReplayBuffer<T> buffer;
+    // copy-on-write array of the subscribers to wake on each item
+    private final AtomicReference<ReplayInner<T>[]> subscribers;
+    // total requested from upstream so far; only used by the ring
+    private final AtomicLong upstreamRequested = new AtomicLong();
+
+    private volatile Subscription upstream;
+    volatile boolean done;
+
+    @SuppressWarnings("unchecked")
+    ReplaySubscriber(ReplayBuffer<T> buffer) {
+        this.buffer = buffer;
+        this.subscribers = new AtomicReference<>(EMPTY);
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        this.upstream = subscription;
+        if (buffer.bounded()) {
+            replenish();
+        } else {
+            subscription.request(Long.MAX_VALUE);
+        }
+    }
+
+    @Override
+    public void onNext(T item) {
+        Hooks.onNext(this, item);
+        buffer.add(item, System.nanoTime());
+        for (ReplayInner<T> inner : subscribers.get()) {
+            inner.drain();
+        }
+        if (buffer.bounded() && upstreamRequested.get() == buffer.tail) {
+            replenish();
+        }
+    }
+
+    @Override
+    public void onComplete() {
+        Hooks.onComplete(this);
+        done = true;
+        for (ReplayInner<T> inner : subscribers.get()) {
+            inner.drain();
+        }
+    }
+
+    @Override
+    public Context currentContext() {
+        // shared by all subscribers, so it carries none of theirs
+        return Context.EMPTY;
+    }
+
+    void join(ReplayInner<T> inner) {
+        add(inner);
+        buffer.start(inner, System.nanoTime());
+        inner.joined = true;
+        if (inner.cancelled.get()) {
+            remove(inner);
+            return;
+        }
+        inner.drain();
+    }
+
+    // Asks upstream for as many items as the ring can take without
+    // overwriting the history or a slot some subscriber has yet to read.
+    void replenish() {
+        Subscription s = upstream;
+        if (s == null || done) {
+            return;
+        }
+        for (;;) {
+            long current = upstreamRequested.get();
+            long target = buffer.writeLimit(subscribers.get());
+            if (target <= current) {
+                return;
+            }
+            if (upstreamRequested.compareAndSet(current, target)) {
+                s.request(target - current);
+                return;
+            }
+        }
+    }
+
+    private void add(ReplayInner<T> inner) {
+        for (;;) {
+            ReplayInner<T>[] current = subscribers.get();
+            @SuppressWarnings({"unchecked", "rawtypes"})
+            ReplayInner<T>[] next = new ReplayInner[current.length + 1];
+            System.arraycopy(current, 0, next, 0, current.length);
+            next[current.length] = inner;
+            if (subscribers.compareAndSet(current, next)) {
+                return;
+            }
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    void remove(ReplayInner<T> inner) {
+        for (;;) {
+            ReplayInner<T>[] current = subscribers.get();
+            int index = -1;
+            for (int i = 0; i < current.length; i++) {
+                if (current[i] == inner) {
+                    index = i;
+                    break;
+                }
+            }
+            if (index < 0) {
+                return;
+            }
+            ReplayInner<T>[] next = EMPTY;
+            if (current.length != 1) {
+                next = new ReplayInner[current.length - 1];
+                System.arraycopy(current, 0, next, 0, index);
+                System.arraycopy(current, index + 1, next, index, current.length - index - 1);
+            }
+            if (subscribers.compareAndSet(current, next)) {
+                return;
+            }
+        }
+    }
+}
+
+class ReplayInner<T> implements Subscription {
+    private final ReplaySubscriber<T> parent;
+    final Subscriber<T> downstream;
+    private final AtomicInteger wip = new AtomicInteger();
+    private final AtomicLong requested = new AtomicLong();
+    final AtomicBoolean cancelled = new AtomicBoolean();
+    // set once the read position has been placed in the buffer
+    volatile boolean joined;
+
+    // read position: the next item's index, and for the linked buffer the
+    // segment holding it; volatile so the ring can see the slowest reader
+    volatile long index;
+    ReplayLinkedBuffer.Segment segment;
+
+    // drain-thread state
+    private long emitted;
+
+    ReplayInner(ReplaySubscriber<T> parent, Subscriber<T> downstream) {
+        this.parent = parent;
+        this.downstream = downstream;
+    }
+
+    @Override
+    public void request(long n) {
+        Operators.validate(n);
+        Operators.addCap(requested, n);
+        drain();
+    }
+
+    @Override
+    public void cancel() {
+        if (cancelled.compareAndSet(false, true)) {
+            parent.remove(this);
+            // the ring may have been waiting for this subscriber
+            parent.replenish();
+        }
+    }
+
+    void drain() {
+        if (!joined || wip.getAndIncrement() != 0) {
+            return;
+        }
+        ReplayBuffer<T> buffer = parent.buffer;
+        int missed = 1;
+        for (;;) {
+            // once cancelled wip stays raised, so the loop never restarts
+            if (cancelled.get()) {
+                return;
+            }
+            long r = requested.get();
+            long e = emitted;
+            long i = index;
+            boolean d = parent.done;
+            long tail = buffer.tail;
+            while (e != r && i != tail) {
+                if (cancelled.get()) {
+                    return;
+                }
+                T item = buffer.get(this, i);
+                index = ++i;
+                downstream.onNext(item);
+                e++;
+            }
+            if (e != emitted) {
+                emitted = e;
+                if (buffer.bounded()) {
+                    parent.replenish();
+                }
+            }
+            if (d && i == tail) {
+                if (!cancelled.get()) {
+                    parent.remove(this);
+                    downstream.onComplete();
+                }
+                return;
+            }
+            missed = wip.addAndGet(-missed);
+            if (missed == 0) {
+                return;
+            }
+        }
+    }
+}
+
+// Single writer, many readers. Items are published by the volatile write of
+// tail, so a reader only touches indices below the tail it read.
+abstract class ReplayBuffer<T> {
+    final long maxAgeNanos;
+    volatile long tail;
+
+    ReplayBuffer(long maxAgeNanos) {
+        this.maxAgeNanos = maxAgeNanos;
+    }
+
+    abstract boolean bounded();
+
+    abstract void add(T item, long now);
+
+    // places a new reader on the oldest item it should see
+    abstract void start(ReplayInner<T> reader, long now);
+
+    abstract T get(ReplayInner<T> reader, long index);
+
+    // how many items in total upstream may have been asked for
+    long writeLimit(ReplayInner<T>[] readers) {
+        return Long.MAX_VALUE;
+    }
+
+    boolean expired(long timestamp, long now) {
+        return maxAgeNanos != Long.MAX_VALUE && now - timestamp > maxAgeNanos;
+    }
+}
+
+// The ring holds maxItems of history plus at least as much again of headroom
+// for items in flight. Upstream is never asked for more than fits without
+// overwriting either the last maxItems or anything a reader has not read yet,
+// so a slot is never rewritten under a reader.
+final class ReplayRingBuffer<T> extends ReplayBuffer<T> {
+    private final int maxItems;
+    private final int capacity;
+    private final int mask;
+    private final Object[] items;
+    private final long[] times;
+
+    ReplayRingBuffer(int maxItems, long maxAgeNanos) {
+        super(maxAgeNanos);
+        long wanted = (long) maxItems + Math.max(maxItems, 32);
+        if (wanted > 1 << 30) {
+            throw new IllegalArgumentException("maxItems is too large for a ring, got " + maxItems);
+        }
+        int size = 1 << (32 - Integer.numberOfLeadingZeros((int) wanted - 1));
+        this.maxItems = maxItems;
+        this.capacity = size;
+        this.mask = size - 1;
+        this.items = new Object[size];
+        this.times = maxAgeNanos == Long.MAX_VALUE ? null : new long[size];
+    }
+
+    @Override
+    boolean bounded() {
+        return true;
+    }
+
+    @Override
+    void add(T item, long now) {
+        long t = tail;
+        int offset = (int) t & mask;
+        items[offset] = item;
+        if (times != null) {
+            times[offset] = now;
+        }
+        tail = t + 1;
+    }
+
+    @Override
+    void start(ReplayInner<T> reader, long now) {
+        long t = tail;
+        long i = Math.max(0, t - maxItems);
+        if (times != null) {
+            while (i != t && expired(times[(int) i & mask], now)) {
+                i++;
+            }
+        }
+        reader.index = i;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    T get(ReplayInner<T> reader, long index) {
+        return (T) items[(int) index & mask];
+    }
+
+    @Override
+    long writeLimit(ReplayInner<T>[] readers) {
+        // a reader placed after this call starts at or above tail - maxItems
+        long limit = tail + capacity - maxItems;
+        for (ReplayInner<T> reader : readers) {
+            if (reader.joined) {
+                limit = Math.min(limit, reader.index + capacity);
+            }
+        }
+        return limit;
+    }
+}
+
+// Unbounded history as a chain of fixed segments. Readers hold on to their
+// own segment, so dropping old segments from the head (by age) never pulls
+// items away from a reader; the GC frees a segment once nobody points at it.
+final class ReplayLinkedBuffer<T> extends ReplayBuffer<T> {
+    static final int SEGMENT_SIZE = 64;
+
+    static final class Segment {
+        final long base;
+        final Object[] items = new Object[SEGMENT_SIZE];
+        final long[] times = new long[SEGMENT_SIZE];
+        volatile Segment next;
+
+        Segment(long base) {
+            this.base = base;
+        }
+    }
+
+    // oldest segment a new reader may start from
+    private volatile Segment head;
+
+    // writer state
+    private Segment tailSegment;
+
+    ReplayLinkedBuffer(long maxAgeNanos) {
+        super(maxAgeNanos);
+        Segment first = new Segment(0);
+        this.head = first;
+        this.tailSegment = first;
+    }
+
+    @Override
+    boolean bounded() {
+        return false;
+    }
+
+    @Override
+    void add(T item, long now) {
+        long t = tail;
+        int offset = (int) (t - tailSegment.base);
+        if (offset == SEGMENT_SIZE) {
+            Segment next = new Segment(t);
+            tailSegment.next = next;
+            tailSegment = next;
+            offset = 0;
+            evict(now);
+        }
+        tailSegment.items[offset] = item;
+        tailSegment.times[offset] = now;
+        tail = t + 1;
+    }
+
+    // moves head past whole segments whose newest item has expired
+    private void evict(long now) {
+        if (maxAgeNanos == Long.MAX_VALUE) {
+            return;
+        }
+        Segment h = head;
+        while (h != tailSegment && expired(h.times[SEGMENT_SIZE - 1], now)) {
+            h = h.next;
+        }
+        head = h;
+    }
+
+    @Override
+    void start(ReplayInner<T> reader, long now) {
+        Segment s = head;
+        long t = tail;
+        long i = s.base;
+        while (i != t) {
+            if (i - s.base == SEGMENT_SIZE) {
+                s = s.next;
+            }
+            if (!expired(s.times[(int) (i - s.base)], now)) {
+                break;
+            }
+            i++;
+        }
+        reader.segment = s;
+        reader.index = i;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    T get(ReplayInner<T> reader, long index) {
+        Segment s = reader.segment;
+        int offset = (int) (index - s.base);
+        if (offset == SEGMENT_SIZE) {
+            s = s.next;
+            reader.segment = s;
+            offset = 0;
+        }
+        return (T) s.items[offset];
+    }
+}
@@ -0,0 +1,128 @@
+package com.example;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Once per period emits the latest item seen since the previous sample, if
+// there was one; on completion the last unsampled item goes out first.
+// Upstream demand is unbounded and items only replace each other in one slot,
+// so downstream work follows the sampling rate. Replaced items, and samples
+// that find no downstream demand, count as skipped in BackpressureStats.
+class FluxSample<T> implements Publisher<T> {
+    private final Publisher<T> upstream;
+    private final Duration period;
+    private final Scheduler scheduler;
+
+    FluxSample(Publisher<T> upstream, Duration period) {
+        this(upstream, period, Schedulers.parallel());
+    }
+
+    FluxSample(Publisher<T> upstream, Duration period, Scheduler scheduler) {
+        if (period.isNegative() || period.isZero()) {
+            throw new IllegalArgumentException("period must be positive, got " + period);
+        }
+        this.upstream = upstream;
+        this.period = period;
+        this.scheduler = scheduler;
+        Hooks.onAssembly(this);
+    }
+
+    @Override
+    public void subscribe(Subscriber<T> downstreamSubscriber) {
+        Hooks.onSubscribe(this, downstreamSubscriber);
+        upstream.subscribe(new SampleSubscriber<>(downstreamSubscriber, period.toNanos(), scheduler.createWorker()));
+    }
+}
+
+class SampleSubscriber<T> extends CoreSubscriber<T> implements Subscription, Runnable {
+    private final Subscriber<T> downstream;
+    private final long periodNanos;
+    private final Scheduler.Worker worker;
+    private final BackpressureStats stats;
+    private final AtomicReference<T> latest = new AtomicReference<>();
+    private final AtomicLong requested = new AtomicLong();
+
+    private Subscription upstream;
+    private Disposable timer;
+    private final AtomicBoolean cancelled = new AtomicBoolean();
+
+    // worker-thread state
+    private long emitted;
+
+    SampleSubscriber(Subscriber<T> downstream, long periodNanos, Scheduler.Worker worker) {
+        super(downstream);
+        this.downstream = downstream;
+        this.periodNanos = periodNanos;
+        this.worker = worker;
+        this.stats = BackpressureStats.from(downstream.currentContext());
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        this.upstream = subscription;
+        timer = Schedulers.timingWheel().schedulePeriodically(
+                () -> worker.schedule(this), periodNanos, periodNanos, TimeUnit.NANOSECONDS);
+        downstream.onSubscribe(this);
+        subscription.request(Long.MAX_VALUE);
+    }
+
+    @Override
+    public void onNext(T item) {
+        Hooks.onNext(this, item);
+        if (stats == null) {
+            latest.lazySet(item);
+        } else if (latest.getAndSet(item) != null) {
+            stats.skipped.increment();
+        }
+    }
+
+    @Override
+    public void onComplete() {
+        Hooks.onComplete(this);
+        timer.dispose();
+        worker.schedule(() -> {
+            run();
+            if (!cancelled.get()) {
+                downstream.onComplete();
+            }
+            worker.dispose();
+        });
+    }
+
+    @Override
+    public void request(long n) {
+        Operators.validate(n);
+        Operators.addCap(requested, n);
+    }
+
+    @Override
+    public void cancel() {
+        if (!cancelled.compareAndSet(false, true)) {
+            return;
+        }
+        upstream.cancel();
+        timer.dispose();
+        worker.dispose();
+    }
+
+    // worker only: take the latest item, if any, and emit it when there is demand
+    @Override
+    public void run() {
+        if (cancelled.get()) {
+            return;
+        }
+        T item = latest.getAndSet(null);
+        if (item == null) {
+            return;
+        }
+        if (requested.get() != emitted) {
+            downstream.onNext(item);
+            emitted++;
+        } else if (stats != null) {
+            stats.skipped.increment();
+        }
+    }
+}
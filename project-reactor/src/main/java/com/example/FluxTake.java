@@ -0,0 +1,120 @@
+package com.example;
+
+// Relays the first n items, then cancels upstream and completes, so a source
+// with more items stops producing as soon as the answer is known.
+class FluxTake<T> implements Publisher<T> {
+    private final Publisher<T> upstream;
+    private final long n;
+
+    FluxTake(Publisher<T> upstream, long n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("n must be >= 0, got " + n);
+        }
+        this.upstream = upstream;
+        this.n = n;
+        Hooks.onAssembly(this);
+    }
+
+    @Override
+    public void subscribe(Subscriber<T> downstreamSubscriber) {
+        Hooks.onSubscribe(this, downstreamSubscriber);
+        upstream.subscribe(new TakeSubscriber<>(downstreamSubscriber, n));
+    }
+}
+
+class TakeSubscriber<T> extends CoreSubscriber<T> implements QueueSubscription<T> {
+    private final Subscriber<T> downstream;
+    private Subscription upstream;
+    private QueueSubscription<T> qs;
+    private long remaining;
+    private boolean done;
+
+    TakeSubscriber(Subscriber<T> downstream, long n) {
+        super(downstream);
+        this.downstream = downstream;
+        this.remaining = n;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void onSubscribe(Subscription subscription) {
+        this.upstream = subscription;
+        if (remaining == 0) {
+            // take(0): nothing will ever be needed from upstream
+            subscription.cancel();
+            done = true;
+            downstream.onSubscribe(this);
+            downstream.onComplete();
+            return;
+        }
+        if (subscription instanceof QueueSubscription) {
+            this.qs = (QueueSubscription<T>) subscription;
+        }
+        downstream.onSubscribe(this);
+    }
+
+    @Override
+    public void onNext(T item) {
+        Hooks.onNext(this, item);
+        if (done) {
+            return;
+        }
+        long r = --remaining;
+        if (r == 0) {
+            done = true;
+            upstream.cancel();
+        }
+        downstream.onNext(item);
+        if (r == 0) {
+            downstream.onComplete();
+        }
+    }
+
+    @Override
+    public void onComplete() {
+        Hooks.onComplete(this);
+        if (done) {
+            return;
+        }
+        done = true;
+        downstream.onComplete();
+    }
+
+    @Override
+    public void request(long n) {
+        upstream.request(n);
+    }
+
+    @Override
+    public void cancel() {
+        upstream.cancel();
+    }
+
+    @Override
+    public int requestFusion(int requestedMode) {
+        return qs != null ? qs.requestFusion(requestedMode) : NONE;
+    }
+
+    @Override
+    public T poll() {
+        if (remaining == 0) {
+            return null;
+        }
+        T item = qs.poll();
+        if (item != null) {
+            Hooks.onNext(this, item);
+            remaining--;
+        }
+        return item;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return remaining == 0 || qs.isEmpty();
+    }
+
+    @Override
+    public void clear() {
+        qs.clear();
+    }
+}
@@ -0,0 +1,116 @@
+package com.example;
+
+import java.util.function.Predicate;
+
+// Relays items while the predicate holds; the first failing item is dropped,
+// upstream is cancelled and the sequence completes.
+class FluxTakeWhile<T> implements Publisher<T> {
+    private final Publisher<T> upstream;
+    private final Predicate<T> predicate;
+
+    FluxTakeWhile(Publisher<T> upstream, Predicate<T> predicate) {
+        this.upstream = upstream;
+        this.predicate = predicate;
+        Hooks.onAssembly(this);
+    }
+
+    @Override
+    public void subscribe(Subscriber<T> downstreamSubscriber) {
+        Hooks.onSubscribe(this, downstreamSubscriber);
+        upstream.subscribe(new TakeWhileSubscriber<>(downstreamSubscriber, predicate));
+    }
+}
+
+class TakeWhileSubscriber<T> extends CoreSubscriber<T> implements QueueSubscription<T> {
+    private final Subscriber<T> downstream;
+    private final Predicate<T> predicate;
+    private Subscription upstream;
+    private QueueSubscription<T> qs;
+    private boolean done;
+
+    TakeWhileSubscriber(Subscriber<T> downstream, Predicate<T> predicate) {
+        super(downstream);
+        this.downstream = downstream;
+        this.predicate = predicate;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void onSubscribe(Subscription subscription) {
+        this.upstream = subscription;
+        if (subscription instanceof QueueSubscription) {
+            this.qs = (QueueSubscription<T>) subscription;
+            downstream.onSubscribe(this);
+        } else {
+            // requests and cancels go straight to upstream
+            downstream.onSubscribe(subscription);
+        }
+    }
+
+    @Override
+    public void onNext(T item) {
+        Hooks.onNext(this, item);
+        if (done) {
+            return;
+        }
+        if (!predicate.test(item)) {
+            done = true;
+            upstream.cancel();
+            downstream.onComplete();
+            return;
+        }
+        downstream.onNext(item);
+    }
+
+    @Override
+    public void onComplete() {
+        Hooks.onComplete(this);
+        if (done) {
+            return;
+        }
+        done = true;
+        downstream.onComplete();
+    }
+
+    @Override
+    public void request(long n) {
+        qs.request(n);
+    }
+
+    @Override
+    public void cancel() {
+        qs.cancel();
+    }
+
+    @Override
+    public int requestFusion(int requestedMode) {
+        return qs.requestFusion(requestedMode);
+    }
+
+    @Override
+    public T poll() {
+        if (done) {
+            return null;
+        }
+        T item = qs.poll();
+        if (item == null) {
+            return null;
+        }
+        Hooks.onNext(this, item);
+        if (!predicate.test(item)) {
+            done = true;
+            return null;
+        }
+        return item;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return done || qs.isEmpty();
+    }
+
+    @Override
+    public void clear() {
+        qs.clear();
+    }
+}
@@ -0,0 +1,88 @@
+package com.example;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Emits an item, then skips everything that arrives in the next window; the
+// first item after the window emits and opens the next one. Windows are
+// measured against System.nanoTime on the upstream thread, so there is no
+// timer and no queue. Skipped items, and items that find no downstream
+// demand, count as skipped in BackpressureStats.
+class FluxThrottleFirst<T> implements Publisher<T> {
+    private final Publisher<T> upstream;
+    private final Duration window;
+
+    FluxThrottleFirst(Publisher<T> upstream, Duration window) {
+        if (window.isNegative() || window.isZero()) {
+            throw new IllegalArgumentException("window must be positive, got " + window);
+        }
+        this.upstream = upstream;
+        this.window = window;
+        Hooks.onAssembly(this);
+    }
+
+    @Override
+    public void subscribe(Subscriber<T> downstreamSubscriber) {
+        Hooks.onSubscribe(this, downstreamSubscriber);
+        upstream.subscribe(new ThrottleFirstSubscriber<>(downstreamSubscriber, window.toNanos()));
+    }
+}
+
+class ThrottleFirstSubscriber<T> extends CoreSubscriber<T> implements Subscription {
+    private final Subscriber<T> downstream;
+    private final long windowNanos;
+    private final BackpressureStats stats;
+    private final AtomicLong requested = new AtomicLong();
+
+    private Subscription upstream;
+
+    // upstream-thread state
+    private boolean windowOpen;
+    private long windowEnd;
+    private long emitted;
+
+    ThrottleFirstSubscriber(Subscriber<T> downstream, long windowNanos) {
+        super(downstream);
+        this.downstream = downstream;
+        this.windowNanos = windowNanos;
+        this.stats = BackpressureStats.from(downstream.currentContext());
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        this.upstream = subscription;
+        downstream.onSubscribe(this);
+        subscription.request(Long.MAX_VALUE);
+    }
+
+    @Override
+    public void onNext(T item) {
+        Hooks.onNext(this, item);
+        long now = System.nanoTime();
+        if ((!windowOpen || now - windowEnd >= 0) && requested.get() != emitted) {
+            windowOpen = true;
+            windowEnd = now + windowNanos;
+            emitted++;
+            downstream.onNext(item);
+        } else if (stats != null) {
+            stats.skipped.increment();
+        }
+    }
+
+    @Override
+    public void onComplete() {
+        Hooks.onComplete(this);
+        downstream.onComplete();
+    }
+
+    @Override
+    public void request(long n) {
+        Operators.validate(n);
+        Operators.addCap(requested, n);
+    }
+
+    @Override
+    public void cancel() {
+        upstream.cancel();
+    }
+}
@@ -0,0 +1,155 @@
+package com.example;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Emits an item right away and opens a window; items arriving inside it only
+// replace each other in one slot, and when the window ends the newest of them
+// is emitted and opens the next window. With nothing in the slot the window
+// just closes. On completion a pending item goes out first. Replaced items,
+// and items that find no downstream demand, count as skipped in
+// BackpressureStats. Windows are timed by the shared timing wheel; every
+// signal to downstream is sent from the worker.
+class FluxThrottleLatest<T> implements Publisher<T> {
+    private final Publisher<T> upstream;
+    private final Duration window;
+    private final Scheduler scheduler;
+
+    FluxThrottleLatest(Publisher<T> upstream, Duration window) {
+        this(upstream, window, Schedulers.parallel());
+    }
+
+    FluxThrottleLatest(Publisher<T> upstream, Duration window, Scheduler scheduler) {
+        if (window.isNegative() || window.isZero()) {
+            throw new IllegalArgumentException("window must be positive, got " + window);
+        }
+        this.upstream = upstream;
+        this.window = window;
+        this.scheduler = scheduler;
+        Hooks.onAssembly(this);
+    }
+
+    @Override
+    public void subscribe(Subscriber<T> downstreamSubscriber) {
+        Hooks.onSubscribe(this, downstreamSubscriber);
+        upstream.subscribe(new ThrottleLatestSubscriber<>(downstreamSubscriber, window.toNanos(), scheduler.createWorker()));
+    }
+}
+
+class ThrottleLatestSubscriber<T> extends CoreSubscriber<T> implements Subscription, Runnable {
+    private final Subscriber<T> downstream;
+    private final long windowNanos;
+    private final Scheduler.Worker worker;
+    private final BackpressureStats stats;
+    private final AtomicReference<T> latest = new AtomicReference<>();
+    // true from an emission until the window after it ends empty
+    private final AtomicBoolean windowOpen = new AtomicBoolean();
+    private final AtomicLong requested = new AtomicLong();
+
+    private Subscription upstream;
+    private volatile Disposable timer;
+    private final AtomicBoolean cancelled = new AtomicBoolean();
+
+    // worker-thread state
+    private long emitted;
+    private boolean completed;
+
+    ThrottleLatestSubscriber(Subscriber<T> downstream, long windowNanos, Scheduler.Worker worker) {
+        super(downstream);
+        this.downstream = downstream;
+        this.windowNanos = windowNanos;
+        this.worker = worker;
+        this.stats = BackpressureStats.from(downstream.currentContext());
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        this.upstream = subscription;
+        downstream.onSubscribe(this);
+        subscription.request(Long.MAX_VALUE);
+    }
+
+    @Override
+    public void onNext(T item) {
+        Hooks.onNext(this, item);
+        T previous = latest.getAndSet(item);
+        if (previous != null && stats != null) {
+            stats.skipped.increment();
+        }
+        if (windowOpen.compareAndSet(false, true)) {
+            worker.schedule(this);
+        }
+    }
+
+    @Override
+    public void onComplete() {
+        Hooks.onComplete(this);
+        worker.schedule(() -> {
+            emitLatest();
+            if (!cancelled.get()) {
+                completed = true;
+                downstream.onComplete();
+            }
+            Disposable t = timer;
+            if (t != null) {
+                t.dispose();
+            }
+            worker.dispose();
+        });
+    }
+
+    @Override
+    public void request(long n) {
+        Operators.validate(n);
+        Operators.addCap(requested, n);
+    }
+
+    @Override
+    public void cancel() {
+        if (!cancelled.compareAndSet(false, true)) {
+            return;
+        }
+        upstream.cancel();
+        Disposable t = timer;
+        if (t != null) {
+            t.dispose();
+        }
+        worker.dispose();
+    }
+
+    // worker only: a window starts (from onNext) or ends (from the timer)
+    @Override
+    public void run() {
+        if (cancelled.get() || completed) {
+            return;
+        }
+        if (emitLatest()) {
+            timer = Schedulers.timingWheel().schedule(
+                    () -> worker.schedule(this), windowNanos, TimeUnit.NANOSECONDS);
+            return;
+        }
+        windowOpen.set(false);
+        // an item may have landed after the slot was found empty; it would
+        // otherwise wait for the next item to open a window
+        if (latest.get() != null && windowOpen.compareAndSet(false, true)) {
+            run();
+        }
+    }
+
+    private boolean emitLatest() {
+        T item = latest.getAndSet(null);
+        if (item == null || cancelled.get()) {
+            return false;
+        }
+        if (requested.get() != emitted) {
+            downstream.onNext(item);
+            emitted++;
+        } else if (stats != null) {
+            stats.skipped.increment();
+        }
+        return true;
+    }
+}
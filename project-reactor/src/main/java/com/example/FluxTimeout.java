@@ -0,0 +1,142 @@
+package com.example;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Ends the sequence when upstream stays silent for longer than timeout, from
+// subscription or from the last item. Subscribers here have no error signal,
+// so a timeout cancels upstream and completes downstream.
+//
+// Items only record when they passed; one wheel timeout per subscription is
+// re-armed for the remaining time when it fires early, so a busy stream costs
+// no timer work per item.
+class FluxTimeout<T> implements Publisher<T> {
+    private final Publisher<T> upstream;
+    private final Duration timeout;
+    private final Scheduler scheduler;
+
+    FluxTimeout(Publisher<T> upstream, Duration timeout) {
+        this(upstream, timeout, Schedulers.parallel());
+    }
+
+    FluxTimeout(Publisher<T> upstream, Duration timeout, Scheduler scheduler) {
+        if (timeout.isNegative() || timeout.isZero()) {
+            throw new IllegalArgumentException("timeout must be positive, got " + timeout);
+        }
+        this.upstream = upstream;
+        this.timeout = timeout;
+        this.scheduler = scheduler;
+        Hooks.onAssembly(this);
+    }
+
+    @Override
+    public void subscribe(Subscriber<T> downstreamSubscriber) {
+        Hooks.onSubscribe(this, downstreamSubscriber);
+        upstream.subscribe(new TimeoutSubscriber<>(downstreamSubscriber, timeout.toNanos(), scheduler));
+    }
+}
+
+class TimeoutSubscriber<T> extends CoreSubscriber<T> implements Subscription, Runnable {
+    private static final int OPEN = 0;
+    private static final int EMITTING = 1;
+    private static final int TERMINATED = 2;
+
+    private final Subscriber<T> downstream;
+    private final long timeoutNanos;
+    private final Scheduler scheduler;
+    // OPEN -> EMITTING -> OPEN around each item; whoever moves it to
+    // TERMINATED first (completion, timeout or cancel) owns the ending
+    private final AtomicInteger state = new AtomicInteger();
+
+    private Subscription upstream;
+    private volatile long lastNanos;
+    private volatile Disposable timer;
+
+    TimeoutSubscriber(Subscriber<T> downstream, long timeoutNanos, Scheduler scheduler) {
+        super(downstream);
+        this.downstream = downstream;
+        this.timeoutNanos = timeoutNanos;
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        this.upstream = subscription;
+        lastNanos = System.nanoTime();
+        downstream.onSubscribe(this);
+        arm(timeoutNanos);
+    }
+
+    @Override
+    public void onNext(T item) {
+        Hooks.onNext(this, item);
+        if (!state.compareAndSet(OPEN, EMITTING)) {
+            return;
+        }
+        lastNanos = System.nanoTime();
+        downstream.onNext(item);
+        state.compareAndSet(EMITTING, OPEN);
+    }
+
+    @Override
+    public void onComplete() {
+        Hooks.onComplete(this);
+        if (state.getAndSet(TERMINATED) != TERMINATED) {
+            disposeTimer();
+            downstream.onComplete();
+        }
+    }
+
+    @Override
+    public void request(long n) {
+        upstream.request(n);
+    }
+
+    @Override
+    public void cancel() {
+        if (state.getAndSet(TERMINATED) != TERMINATED) {
+            upstream.cancel();
+            disposeTimer();
+        }
+    }
+
+    private void arm(long delayNanos) {
+        timer = Schedulers.timingWheel().schedule(this, delayNanos, TimeUnit.NANOSECONDS);
+        if (state.get() == TERMINATED) {
+            disposeTimer();
+        }
+    }
+
+    private void disposeTimer() {
+        Disposable t = timer;
+        if (t != null) {
+            t.dispose();
+        }
+    }
+
+    // wheel thread: fire, or re-arm for what is left of the timeout
+    @Override
+    public void run() {
+        int s = state.get();
+        if (s == TERMINATED) {
+            return;
+        }
+        long idle = System.nanoTime() - lastNanos;
+        if (s == EMITTING || idle < timeoutNanos) {
+            arm(s == EMITTING ? timeoutNanos : timeoutNanos - idle);
+            return;
+        }
+        if (!state.compareAndSet(OPEN, TERMINATED)) {
+            run();
+            return;
+        }
+        upstream.cancel();
+        // completion goes out on a worker, not on the wheel thread
+        Scheduler.Worker worker = scheduler.createWorker();
+        worker.schedule(() -> {
+            downstream.onComplete();
+            worker.dispose();
+        });
+    }
+}
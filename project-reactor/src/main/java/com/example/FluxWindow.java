@@ -0,0 +1,106 @@
+package com.example;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Splits the source into consecutive windows of maxSize items; for n windows
+// it asks upstream for n * maxSize items.
+class FluxWindow<T> implements Publisher<Publisher<T>> {
+    private final Publisher<T> upstream;
+    private final int maxSize;
+
+    FluxWindow(Publisher<T> upstream, int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive, got " + maxSize);
+        }
+        this.upstream = upstream;
+        this.maxSize = maxSize;
+        Hooks.onAssembly(this);
+    }
+
+    @Override
+    public void subscribe(Subscriber<Publisher<T>> downstreamSubscriber) {
+        Hooks.onSubscribe(this, downstreamSubscriber);
+        upstream.subscribe(new WindowSubscriber<>(downstreamSubscriber, maxSize));
+    }
+}
+
+class WindowSubscriber<T> extends CoreSubscriber<T> implements Subscription {
+    private final Subscriber<Publisher<T>> downstream;
+    private final int maxSize;
+
+    // one for the outer subscription plus one per open window: cancelling the
+    // outer only cancels upstream once the window being filled has closed
+    private final AtomicInteger active = new AtomicInteger(1);
+    private final AtomicBoolean cancelled = new AtomicBoolean();
+
+    private Subscription upstream;
+    private UnicastWindow<T> window;
+    private int count;
+
+    WindowSubscriber(Subscriber<Publisher<T>> downstream, int maxSize) {
+        super(downstream);
+        this.downstream = downstream;
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        this.upstream = subscription;
+        downstream.onSubscribe(this);
+    }
+
+    @Override
+    public void onNext(T item) {
+        Hooks.onNext(this, item);
+        UnicastWindow<T> w = window;
+        if (w == null) {
+            if (cancelled.get()) {
+                return;
+            }
+            active.getAndIncrement();
+            w = new UnicastWindow<>(new SpscArrayQueue<>(maxSize));
+            window = w;
+            downstream.onNext(w);
+        }
+        w.next(item);
+        if (++count == maxSize) {
+            count = 0;
+            window = null;
+            w.complete();
+            release();
+        }
+    }
+
+    @Override
+    public void onComplete() {
+        Hooks.onComplete(this);
+        UnicastWindow<T> w = window;
+        window = null;
+        if (w != null) {
+            w.complete();
+        }
+        if (!cancelled.get()) {
+            downstream.onComplete();
+        }
+    }
+
+    @Override
+    public void request(long n) {
+        Operators.validate(n);
+        upstream.request(Operators.multiplyCap(n, maxSize));
+    }
+
+    @Override
+    public void cancel() {
+        if (cancelled.compareAndSet(false, true)) {
+            release();
+        }
+    }
+
+    private void release() {
+        if (active.decrementAndGet() == 0) {
+            upstream.cancel();
+        }
+    }
+}
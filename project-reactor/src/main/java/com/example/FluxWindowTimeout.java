@@ -0,0 +1,233 @@
+package com.example;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Opens a window on the first item after the previous one closed, and closes
+// it after maxSize items or timespan, whichever comes first. Upstream demand
+// follows what closed windows actually took, as in FluxBufferTimeout. Without
+// a size limit (the window(Duration) form) upstream demand is unbounded.
+class FluxWindowTimeout<T> implements Publisher<Publisher<T>> {
+    private final Publisher<T> upstream;
+    private final int maxSize;
+    private final Duration timespan;
+    private final Scheduler scheduler;
+
+    FluxWindowTimeout(Publisher<T> upstream, Duration timespan) {
+        this(upstream, Integer.MAX_VALUE, timespan, Schedulers.parallel());
+    }
+
+    FluxWindowTimeout(Publisher<T> upstream, int maxSize, Duration timespan) {
+        this(upstream, maxSize, timespan, Schedulers.parallel());
+    }
+
+    FluxWindowTimeout(Publisher<T> upstream, int maxSize, Duration timespan, Scheduler scheduler) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive, got " + maxSize);
+        }
+        if (timespan.isNegative() || timespan.isZero()) {
+            throw new IllegalArgumentException("timespan must be positive, got " + timespan);
+        }
+        this.upstream = upstream;
+        this.maxSize = maxSize;
+        this.timespan = timespan;
+        this.scheduler = scheduler;
+        Hooks.onAssembly(this);
+    }
+
+    @Override
+    public void subscribe(Subscriber<Publisher<T>> downstreamSubscriber) {
+        Hooks.onSubscribe(this, downstreamSubscriber);
+        upstream.subscribe(new WindowTimeoutSubscriber<>(
+                downstreamSubscriber, maxSize, timespan.toNanos(), scheduler.createWorker()));
+    }
+}
+
+class WindowTimeoutSubscriber<T> extends CoreSubscriber<T> implements Subscription {
+    private final Subscriber<Publisher<T>> downstream;
+    private final int maxSize;
+    private final boolean unbounded;
+    private final long timespanNanos;
+    private final Scheduler.Worker worker;
+
+    // items from upstream, pushed into windows by the drain loop; the timer
+    // only records which window timed out
+    private final Queue<T> inbound = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger wip = new AtomicInteger();
+    private final AtomicLong requested = new AtomicLong();
+    // the highest window id whose timer has fired
+    private final AtomicLong timedOut = new AtomicLong();
+    private volatile boolean done;
+    private final AtomicBoolean cancelled = new AtomicBoolean();
+    // one for the outer subscription plus one per open window: cancelling the
+    // outer only cancels upstream once the window being filled has closed
+    private final AtomicInteger active = new AtomicInteger(1);
+
+    private Subscription upstream;
+
+    // drain-thread state
+    // opened windows in order, waiting for downstream demand; they keep
+    // buffering items meanwhile
+    private final Queue<UnicastWindow<T>> ready = new ArrayDeque<>();
+    private UnicastWindow<T> current;
+    private int count;
+    private long windowId;
+    private Disposable timer;
+    private long emitted;
+    // windows closed so far, and items asked of upstream that have not yet
+    // gone out in a closed window
+    private long closed;
+    private long outstanding;
+
+    WindowTimeoutSubscriber(Subscriber<Publisher<T>> downstream, int maxSize, long timespanNanos,
+            Scheduler.Worker worker) {
+        super(downstream);
+        this.downstream = downstream;
+        this.maxSize = maxSize;
+        this.unbounded = maxSize == Integer.MAX_VALUE;
+        this.timespanNanos = timespanNanos;
+        this.worker = worker;
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        this.upstream = subscription;
+        downstream.onSubscribe(this);
+        if (unbounded) {
+            subscription.request(Long.MAX_VALUE);
+        }
+    }
+
+    @Override
+    public void onNext(T item) {
+        Hooks.onNext(this, item);
+        inbound.offer(item);
+        drain();
+    }
+
+    private void timeout(long id) {
+        timedOut.accumulateAndGet(id, Math::max);
+        drain();
+    }
+
+    @Override
+    public void onComplete() {
+        Hooks.onComplete(this);
+        done = true;
+        drain();
+    }
+
+    @Override
+    public void request(long n) {
+        Operators.validate(n);
+        Operators.addCap(requested, n);
+        drain();
+    }
+
+    @Override
+    public void cancel() {
+        if (!cancelled.compareAndSet(false, true)) {
+            return;
+        }
+        release();
+        drain();
+    }
+
+    private void release() {
+        if (active.decrementAndGet() == 0) {
+            upstream.cancel();
+            worker.dispose();
+        }
+    }
+
+    private void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        long e = emitted;
+        for (;;) {
+            boolean c = cancelled.get();
+            boolean d = done;
+            T item;
+            while ((item = inbound.poll()) != null) {
+                if (current == null) {
+                    if (c) {
+                        // only the window being filled still takes items
+                        continue;
+                    }
+                    active.getAndIncrement();
+                    current = new UnicastWindow<>(unbounded ? new ConcurrentLinkedQueue<>() : new SpscArrayQueue<>(maxSize));
+                    count = 0;
+                    long id = ++windowId;
+                    timer = worker.schedule(() -> timeout(id), timespanNanos, TimeUnit.NANOSECONDS);
+                    ready.offer(current);
+                }
+                current.next(item);
+                if (++count == maxSize) {
+                    close();
+                }
+            }
+            if (current != null && (d || timedOut.get() == windowId)) {
+                close();
+            }
+            if (c) {
+                ready.clear();
+            } else {
+                long r = requested.get();
+                while (e != r) {
+                    UnicastWindow<T> window = ready.poll();
+                    if (window == null) {
+                        break;
+                    }
+                    downstream.onNext(window);
+                    e++;
+                }
+                if (d && ready.isEmpty()) {
+                    worker.dispose();
+                    downstream.onComplete();
+                    return;
+                }
+                emitted = e;
+                if (!unbounded && !d) {
+                    replenish(r);
+                }
+            }
+            missed = wip.addAndGet(-missed);
+            if (missed == 0) {
+                return;
+            }
+        }
+    }
+
+    private void close() {
+        timer.dispose();
+        current.complete();
+        current = null;
+        if (outstanding != Long.MAX_VALUE) {
+            outstanding -= count;
+        }
+        closed++;
+        release();
+    }
+
+    // Keeps maxSize items asked of upstream for every requested window not yet
+    // closed; a closed window gives back only the items it took.
+    private void replenish(long r) {
+        if (outstanding == Long.MAX_VALUE || r <= closed) {
+            return;
+        }
+        long target = r == Long.MAX_VALUE ? Long.MAX_VALUE : Operators.multiplyCap(r - closed, maxSize);
+        if (target > outstanding) {
+            long n = target == Long.MAX_VALUE ? Long.MAX_VALUE : target - outstanding;
+            outstanding = target;
+            upstream.request(n);
+        }
+    }
+}
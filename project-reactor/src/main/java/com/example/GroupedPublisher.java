@@ -0,0 +1,6 @@
+package com.example;
+
+// One group of a groupBy: the items that share key().
+interface GroupedPublisher<K, T> extends Publisher<T> {
+    K key();
+}
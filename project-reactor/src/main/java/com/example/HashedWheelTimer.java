@@ -0,0 +1,282 @@
+package com.example;
+
+import java.util.Queue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+// Hashed timing wheel: a ring of buckets, one per tick, and a single thread
+// that advances one bucket per tick and runs what has expired there. A timeout
+// due more than one turn ahead sits in its bucket with a count of turns left.
+// Scheduling and cancelling are O(1) from any thread: both only enqueue, and
+// the wheel thread links new timeouts into buckets and unlinks cancelled ones
+// at its next tick. Deadlines are rounded up to whole ticks.
+//
+// Tasks run on the wheel thread and must be short; the time operators only
+// hand the work to a Scheduler.Worker from there.
+final class HashedWheelTimer implements Disposable, Runnable {
+    // timeouts moved into buckets per tick, so a flood cannot stall expiry
+    private static final int MAX_TRANSFERS_PER_TICK = 100_000;
+
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final long startNanos;
+    private final Queue<WheelTimeout> scheduled = new MpscLinkedQueue<>();
+    private final Queue<WheelTimeout> cancelled = new MpscLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final Thread thread;
+    private volatile boolean disposed;
+
+    // wheel-thread state
+    private long tick;
+
+    HashedWheelTimer(long tickDuration, TimeUnit unit, int wheelSize, ThreadFactory threadFactory) {
+        if (tickDuration <= 0) {
+            throw new IllegalArgumentException("tickDuration must be positive, got " + tickDuration);
+        }
+        if (wheelSize <= 0) {
+            throw new IllegalArgumentException("wheelSize must be positive, got " + wheelSize);
+        }
+        int size = wheelSize == 1 ? 1 : 1 << (32 - Integer.numberOfLeadingZeros(wheelSize - 1));
+        this.tickNanos = unit.toNanos(tickDuration);
+        this.wheel = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = size - 1;
+        this.startNanos = System.nanoTime();
+        this.thread = threadFactory.newThread(this);
+        thread.start();
+    }
+
+    Disposable schedule(Runnable task, long delay, TimeUnit unit) {
+        if (disposed) {
+            throw new RejectedExecutionException("Timer is disposed");
+        }
+        long deadline = System.nanoTime() - startNanos + Math.max(0, unit.toNanos(delay));
+        WheelTimeout timeout = new WheelTimeout(this, task, deadline);
+        pending.incrementAndGet();
+        scheduled.offer(timeout);
+        return timeout;
+    }
+
+    // Fixed rate: the n-th run is due at initialDelay + n * period, so a late
+    // tick does not push the following ones back.
+    Disposable schedulePeriodically(Runnable task, long initialDelay, long period, TimeUnit unit) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("period must be positive, got " + period);
+        }
+        PeriodicTask periodic = new PeriodicTask(task, System.nanoTime() + unit.toNanos(initialDelay), unit.toNanos(period));
+        periodic.arm();
+        return periodic;
+    }
+
+    // timeouts scheduled and neither run nor cancelled yet
+    int pendingTimeouts() {
+        return pending.get();
+    }
+
+    @Override
+    public void dispose() {
+        disposed = true;
+        LockSupport.unpark(thread);
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return disposed;
+    }
+
+    @Override
+    public void run() {
+        while (!disposed) {
+            long deadline = tickNanos * (tick + 1);
+            for (;;) {
+                long sleep = deadline - (System.nanoTime() - startNanos);
+                if (sleep <= 0 || disposed) {
+                    break;
+                }
+                LockSupport.parkNanos(this, sleep);
+            }
+            unlinkCancelled();
+            transferScheduled();
+            wheel[(int) tick & mask].expire(deadline);
+            tick++;
+        }
+    }
+
+    private void unlinkCancelled() {
+        WheelTimeout timeout;
+        while ((timeout = cancelled.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    private void transferScheduled() {
+        for (int i = 0; i < MAX_TRANSFERS_PER_TICK; i++) {
+            WheelTimeout timeout = scheduled.poll();
+            if (timeout == null) {
+                return;
+            }
+            if (timeout.state.get() == WheelTimeout.CANCELLED) {
+                continue;
+            }
+            // the tick whose end is at or after the deadline
+            long due = (timeout.deadline + tickNanos - 1) / tickNanos - 1;
+            timeout.remainingRounds = (due - tick) / wheel.length;
+            long at = Math.max(due, tick);
+            wheel[(int) at & mask].add(timeout);
+        }
+    }
+
+    static final class WheelTimeout implements Disposable {
+        static final int WAITING = 0;
+        static final int CANCELLED = 1;
+        static final int EXPIRED = 2;
+
+        private final HashedWheelTimer timer;
+        private final Runnable task;
+        final long deadline;
+        final AtomicInteger state = new AtomicInteger();
+
+        // wheel-thread state
+        long remainingRounds;
+        Bucket bucket;
+        WheelTimeout next;
+        WheelTimeout previous;
+
+        WheelTimeout(HashedWheelTimer timer, Runnable task, long deadline) {
+            this.timer = timer;
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public void dispose() {
+            if (state.compareAndSet(WAITING, CANCELLED)) {
+                timer.pending.decrementAndGet();
+                timer.cancelled.offer(this);
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return state.get() != WAITING;
+        }
+
+        void expire() {
+            if (state.compareAndSet(WAITING, EXPIRED)) {
+                timer.pending.decrementAndGet();
+                ExecutorScheduler.runSafely(task);
+            }
+        }
+    }
+
+    // Doubly linked so a cancelled timeout is unlinked without a search.
+    static final class Bucket {
+        private WheelTimeout head;
+        private WheelTimeout tail;
+
+        void add(WheelTimeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.previous = tail;
+            }
+            tail = timeout;
+        }
+
+        void expire(long deadline) {
+            WheelTimeout timeout = head;
+            while (timeout != null) {
+                WheelTimeout next = timeout.next;
+                if (timeout.remainingRounds <= 0 && timeout.deadline <= deadline) {
+                    remove(timeout);
+                    timeout.expire();
+                } else if (timeout.isDisposed()) {
+                    remove(timeout);
+                } else {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+        }
+
+        void remove(WheelTimeout timeout) {
+            if (timeout.bucket != this) {
+                return;
+            }
+            WheelTimeout next = timeout.next;
+            if (timeout.previous != null) {
+                timeout.previous.next = next;
+            }
+            if (next != null) {
+                next.previous = timeout.previous;
+            }
+            if (timeout == head) {
+                head = next;
+            }
+            if (timeout == tail) {
+                tail = timeout.previous;
+            }
+            timeout.previous = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+    }
+
+    private final class PeriodicTask implements Disposable, Runnable {
+        private final Runnable task;
+        private final long periodNanos;
+        private long nextRun;
+        private volatile Disposable current;
+        private volatile boolean periodicDisposed;
+
+        PeriodicTask(Runnable task, long firstRun, long periodNanos) {
+            this.task = task;
+            this.nextRun = firstRun;
+            this.periodNanos = periodNanos;
+        }
+
+        void arm() {
+            current = schedule(this, nextRun - System.nanoTime(), TimeUnit.NANOSECONDS);
+            // dispose() may have read the previous timeout
+            if (periodicDisposed) {
+                current.dispose();
+            }
+        }
+
+        @Override
+        public void run() {
+            if (periodicDisposed) {
+                return;
+            }
+            nextRun += periodNanos;
+            ExecutorScheduler.runSafely(task);
+            if (!periodicDisposed && !disposed) {
+                arm();
+            }
+        }
+
+        @Override
+        public void dispose() {
+            periodicDisposed = true;
+            Disposable d = current;
+            if (d != null) {
+                d.dispose();
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return periodicDisposed;
+        }
+    }
+}
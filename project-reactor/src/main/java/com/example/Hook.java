@@ -0,0 +1,21 @@
+package com.example;
+
+// Callbacks invoked by the operators when hooks are enabled, see Hooks.
+// Assembly and subscription also report the primitive stages, so publisher and
+// subscriber there may be an Int/Long/DoublePublisher and its subscriber.
+interface Hook {
+    default void onAssembly(Object publisher) {
+    }
+
+    default void onSubscribe(Object publisher, Object subscriber) {
+    }
+
+    default void onNext(Subscriber<?> subscriber, Object item) {
+    }
+
+    default void onComplete(Subscriber<?> subscriber) {
+    }
+
+    default void onContextRead(Publisher<?> publisher, Context context) {
+    }
+}
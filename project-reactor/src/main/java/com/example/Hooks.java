@@ -0,0 +1,56 @@
+package com.example;
+
+// Installs a Hook from -Dcom.example.hooks=<class name>, e.g. com.example.TracingHook.
+// The hook is read once into a static final, so when the property is absent
+// ENABLED is a constant false and the JIT removes every call site.
+final class Hooks {
+    static final String PROPERTY = "com.example.hooks";
+
+    private static final Hook HOOK = load(System.getProperty(PROPERTY));
+    static final boolean ENABLED = HOOK != null;
+
+    private Hooks() {
+    }
+
+    private static Hook load(String className) {
+        if (className == null || className.isEmpty()) {
+            return null;
+        }
+        try {
+            return Class.forName(className).asSubclass(Hook.class).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot instantiate hook " + className, e);
+        }
+    }
+
+    static void onAssembly(Object publisher) {
+        if (ENABLED) {
+            HOOK.onAssembly(publisher);
+        }
+    }
+
+    static void onSubscribe(Object publisher, Object subscriber) {
+        if (ENABLED) {
+            HOOK.onSubscribe(publisher, subscriber);
+        }
+    }
+
+    static void onNext(Subscriber<?> subscriber, Object item) {
+        if (ENABLED) {
+            HOOK.onNext(subscriber, item);
+        }
+    }
+
+    static void onComplete(Subscriber<?> subscriber) {
+        if (ENABLED) {
+            HOOK.onComplete(subscriber);
+        }
+    }
+
+    // takes the subscriber rather than its context so nothing is read while disabled
+    static void onContextRead(Publisher<?> publisher, Subscriber<?> subscriber) {
+        if (ENABLED) {
+            HOOK.onContextRead(publisher, subscriber.currentContext());
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.example;
+
+// An item on an ordered rail. Each wrapper is owned by exactly one item moving
+// through one rail, so map stages swap the value in place instead of allocating.
+final class Indexed<T> {
+    final long index;
+    private Object value;
+
+    Indexed(long index, T value) {
+        this.index = index;
+        this.value = value;
+    }
+
+    @SuppressWarnings("unchecked")
+    T value() {
+        return (T) value;
+    }
+
+    // this wrapper, now carrying the next stage's value
+    @SuppressWarnings("unchecked")
+    <R> Indexed<R> replace(R next) {
+        value = next;
+        return (Indexed<R>) this;
+    }
+}
@@ -0,0 +1,45 @@
+package com.example;
+
+// Bridges an int pipeline back to a Publisher<Integer>; boxing happens here only.
+class IntFluxBoxed implements Publisher<Integer> {
+    private final IntPublisher upstream;
+
+    IntFluxBoxed(IntPublisher upstream) {
+        this.upstream = upstream;
+        Hooks.onAssembly(this);
+    }
+
+    @Override
+    public void subscribe(Subscriber<Integer> downstreamSubscriber) {
+        Hooks.onSubscribe(this, downstreamSubscriber);
+        upstream.subscribe(new IntBoxedSubscriber(downstreamSubscriber));
+    }
+}
+
+class IntBoxedSubscriber implements IntSubscriber {
+    private final Subscriber<Integer> downstream;
+
+    IntBoxedSubscriber(Subscriber<Integer> downstream) {
+        this.downstream = downstream;
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        downstream.onSubscribe(subscription);
+    }
+
+    @Override
+    public void onNext(int item) {
+        downstream.onNext(item);
+    }
+
+    @Override
+    public void onComplete() {
+        downstream.onComplete();
+    }
+
+    @Override
+    public Context currentContext() {
+        return downstream.currentContext();
+    }
+}
@@ -0,0 +1,62 @@
+package com.example;
+
+import java.util.function.IntPredicate;
+
+class IntFluxFilter implements IntPublisher {
+    final IntPublisher upstream;
+    final IntPredicate predicate;
+
+    IntFluxFilter(IntPublisher upstream, IntPredicate predicate) {
+        if (upstream instanceof IntFluxFilter) {
+            IntFluxFilter previous = (IntFluxFilter) upstream;
+            this.upstream = previous.upstream;
+            this.predicate = previous.predicate.and(predicate);
+        } else {
+            this.upstream = upstream;
+            this.predicate = predicate;
+        }
+        Hooks.onAssembly(this);
+    }
+
+    @Override
+    public void subscribe(IntSubscriber downstreamSubscriber) {
+        Hooks.onSubscribe(this, downstreamSubscriber);
+        upstream.subscribe(new IntFilterSubscriber(downstreamSubscriber, predicate));
+    }
+}
+
+class IntFilterSubscriber implements IntSubscriber {
+    private final IntSubscriber downstream;
+    private final IntPredicate predicate;
+    private Subscription upstream;
+
+    IntFilterSubscriber(IntSubscriber downstream, IntPredicate predicate) {
+        this.downstream = downstream;
+        this.predicate = predicate;
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        this.upstream = subscription;
+        downstream.onSubscribe(subscription);
+    }
+
+    @Override
+    public void onNext(int item) {
+        if (predicate.test(item)) {
+            downstream.onNext(item);
+        } else {
+            upstream.request(1);
+        }
+    }
+
+    @Override
+    public void onComplete() {
+        downstream.onComplete();
+    }
+
+    @Override
+    public Context currentContext() {
+        return downstream.currentContext();
+    }
+}
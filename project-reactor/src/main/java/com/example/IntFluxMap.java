@@ -0,0 +1,56 @@
+package com.example;
+
+import java.util.function.IntUnaryOperator;
+
+class IntFluxMap implements IntPublisher {
+    final IntPublisher upstream;
+    final IntUnaryOperator mapper;
+
+    IntFluxMap(IntPublisher upstream, IntUnaryOperator mapper) {
+        if (upstream instanceof IntFluxMap) {
+            IntFluxMap previous = (IntFluxMap) upstream;
+            this.upstream = previous.upstream;
+            this.mapper = previous.mapper.andThen(mapper);
+        } else {
+            this.upstream = upstream;
+            this.mapper = mapper;
+        }
+        Hooks.onAssembly(this);
+    }
+
+    @Override
+    public void subscribe(IntSubscriber downstreamSubscriber) {
+        Hooks.onSubscribe(this, downstreamSubscriber);
+        upstream.subscribe(new IntMapSubscriber(downstreamSubscriber, mapper));
+    }
+}
+
+class IntMapSubscriber implements IntSubscriber {
+    private final IntSubscriber downstream;
+    private final IntUnaryOperator mapper;
+
+    IntMapSubscriber(IntSubscriber downstream, IntUnaryOperator mapper) {
+        this.downstream = downstream;
+        this.mapper = mapper;
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        downstream.onSubscribe(subscription);
+    }
+
+    @Override
+    public void onNext(int item) {
+        downstream.onNext(mapper.applyAsInt(item));
+    }
+
+    @Override
+    public void onComplete() {
+        downstream.onComplete();
+    }
+
+    @Override
+    public Context currentContext() {
+        return downstream.currentContext();
+    }
+}
@@ -0,0 +1,143 @@
+package com.example;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntBinaryOperator;
+
+// Folds the whole source into one int, emitted when the source completes.
+// Without an identity an empty source completes without a value.
+class IntFluxReduce implements IntPublisher {
+    private final IntPublisher upstream;
+    private final boolean hasIdentity;
+    private final int identity;
+    private final IntBinaryOperator reducer;
+
+    IntFluxReduce(IntPublisher upstream, IntBinaryOperator reducer) {
+        this(upstream, false, 0, reducer);
+    }
+
+    IntFluxReduce(IntPublisher upstream, int identity, IntBinaryOperator reducer) {
+        this(upstream, true, identity, reducer);
+    }
+
+    private IntFluxReduce(IntPublisher upstream, boolean hasIdentity, int identity, IntBinaryOperator reducer) {
+        this.upstream = upstream;
+        this.hasIdentity = hasIdentity;
+        this.identity = identity;
+        this.reducer = reducer;
+        Hooks.onAssembly(this);
+    }
+
+    static IntFluxReduce sum(IntPublisher upstream) {
+        return new IntFluxReduce(upstream, 0, Integer::sum);
+    }
+
+    static IntFluxReduce min(IntPublisher upstream) {
+        return new IntFluxReduce(upstream, Math::min);
+    }
+
+    static IntFluxReduce max(IntPublisher upstream) {
+        return new IntFluxReduce(upstream, Math::max);
+    }
+
+    @Override
+    public void subscribe(IntSubscriber downstreamSubscriber) {
+        Hooks.onSubscribe(this, downstreamSubscriber);
+        upstream.subscribe(new IntReduceSubscriber(downstreamSubscriber, hasIdentity, identity, reducer));
+    }
+}
+
+class IntReduceSubscriber implements IntSubscriber, Subscription {
+    // the result goes out once both the downstream request and the upstream completion arrived
+    private static final int NO_REQUEST_NO_RESULT = 0;
+    private static final int HAS_REQUEST = 1;
+    private static final int HAS_RESULT = 2;
+    private static final int EMITTED = 3;
+
+    private final IntSubscriber downstream;
+    private final IntBinaryOperator reducer;
+    private final AtomicInteger state = new AtomicInteger();
+
+    private Subscription upstream;
+    private boolean hasValue;
+    private int value;
+
+    IntReduceSubscriber(IntSubscriber downstream, boolean hasIdentity, int identity, IntBinaryOperator reducer) {
+        this.downstream = downstream;
+        this.reducer = reducer;
+        this.hasValue = hasIdentity;
+        this.value = identity;
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        this.upstream = subscription;
+        downstream.onSubscribe(this);
+        subscription.request(Long.MAX_VALUE);
+    }
+
+    @Override
+    public void onNext(int item) {
+        if (hasValue) {
+            value = reducer.applyAsInt(value, item);
+        } else {
+            value = item;
+            hasValue = true;
+        }
+    }
+
+    @Override
+    public void onComplete() {
+        if (!hasValue) {
+            if (state.getAndSet(EMITTED) != EMITTED) {
+                downstream.onComplete();
+            }
+            return;
+        }
+        for (;;) {
+            int s = state.get();
+            if (s == HAS_REQUEST) {
+                if (state.compareAndSet(HAS_REQUEST, EMITTED)) {
+                    emit();
+                }
+                return;
+            }
+            if (state.compareAndSet(NO_REQUEST_NO_RESULT, HAS_RESULT)) {
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void request(long n) {
+        Operators.validate(n);
+        for (;;) {
+            int s = state.get();
+            if (s == HAS_RESULT) {
+                if (state.compareAndSet(HAS_RESULT, EMITTED)) {
+                    emit();
+                }
+                return;
+            }
+            if (s != NO_REQUEST_NO_RESULT || state.compareAndSet(NO_REQUEST_NO_RESULT, HAS_REQUEST)) {
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void cancel() {
+        if (state.getAndSet(EMITTED) != EMITTED) {
+            upstream.cancel();
+        }
+    }
+
+    private void emit() {
+        downstream.onNext(value);
+        downstream.onComplete();
+    }
+
+    @Override
+    public Context currentContext() {
+        return downstream.currentContext();
+    }
+}
@@ -0,0 +1,5 @@
+package com.example;
+
+interface IntPublisher {
+    void subscribe(IntSubscriber subscriber);
+}
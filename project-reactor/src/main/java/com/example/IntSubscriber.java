@@ -0,0 +1,10 @@
+package com.example;
+
+// Subscriber for unboxed int items.
+interface IntSubscriber {
+    void onSubscribe(Subscription subscription);
+    void onNext(int item);
+    void onComplete();
+
+    Context currentContext();
+}
@@ -0,0 +1,45 @@
+package com.example;
+
+// Bridges a long pipeline back to a Publisher<Long>; boxing happens here only.
+class LongFluxBoxed implements Publisher<Long> {
+    private final LongPublisher upstream;
+
+    LongFluxBoxed(LongPublisher upstream) {
+        this.upstream = upstream;
+        Hooks.onAssembly(this);
+    }
+
+    @Override
+    public void subscribe(Subscriber<Long> downstreamSubscriber) {
+        Hooks.onSubscribe(this, downstreamSubscriber);
+        upstream.subscribe(new LongBoxedSubscriber(downstreamSubscriber));
+    }
+}
+
+class LongBoxedSubscriber implements LongSubscriber {
+    private final Subscriber<Long> downstream;
+
+    LongBoxedSubscriber(Subscriber<Long> downstream) {
+        this.downstream = downstream;
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        downstream.onSubscribe(subscription);
+    }
+
+    @Override
+    public void onNext(long item) {
+        downstream.onNext(item);
+    }
+
+    @Override
+    public void onComplete() {
+        downstream.onComplete();
+    }
+
+    @Override
+    public Context currentContext() {
+        return downstream.currentContext();
+    }
+}
@@ -0,0 +1,62 @@
+package com.example;
+
+import java.util.function.LongPredicate;
+
+class LongFluxFilter implements LongPublisher {
+    final LongPublisher upstream;
+    final LongPredicate predicate;
+
+    LongFluxFilter(LongPublisher upstream, LongPredicate predicate) {
+        if (upstream instanceof LongFluxFilter) {
+            LongFluxFilter previous = (LongFluxFilter) upstream;
+            this.upstream = previous.upstream;
+            this.predicate = previous.predicate.and(predicate);
+        } else {
+            this.upstream = upstream;
+            this.predicate = predicate;
+        }
+        Hooks.onAssembly(this);
+    }
+
+    @Override
+    public void subscribe(LongSubscriber downstreamSubscriber) {
+        Hooks.onSubscribe(this, downstreamSubscriber);
+        upstream.subscribe(new LongFilterSubscriber(downstreamSubscriber, predicate));
+    }
+}
+
+class LongFilterSubscriber implements LongSubscriber {
+    private final LongSubscriber downstream;
+    private final LongPredicate predicate;
+    private Subscription upstream;
+
+    LongFilterSubscriber(LongSubscriber downstream, LongPredicate predicate) {
+        this.downstream = downstream;
+        this.predicate = predicate;
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        this.upstream = subscription;
+        downstream.onSubscribe(subscription);
+    }
+
+    @Override
+    public void onNext(long item) {
+        if (predicate.test(item)) {
+            downstream.onNext(item);
+        } else {
+            upstream.request(1);
+        }
+    }
+
+    @Override
+    public void onComplete() {
+        downstream.onComplete();
+    }
+
+    @Override
+    public Context currentContext() {
+        return downstream.currentContext();
+    }
+}
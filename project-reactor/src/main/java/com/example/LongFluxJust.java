@@ -0,0 +1,98 @@
+package com.example;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+class LongFluxJust implements LongPublisher {
+    private final long[] items;
+
+    LongFluxJust(long... items) {
+        this.items = items;
+        Hooks.onAssembly(this);
+    }
+
+    @Override
+    public void subscribe(LongSubscriber subscriber) {
+        Hooks.onSubscribe(this, subscriber);
+        subscriber.onSubscribe(new LongArraySubscription(subscriber, items));
+    }
+}
+
+// Same demand accounting as ArraySubscription, without boxing the items.
+class LongArraySubscription implements Subscription {
+    private final LongSubscriber subscriber;
+    private final long[] items;
+    private final AtomicLong requested = new AtomicLong();
+    private int index;
+    private volatile boolean cancelled;
+
+    LongArraySubscription(LongSubscriber subscriber, long[] items) {
+        this.subscriber = subscriber;
+        this.items = items;
+    }
+
+    @Override
+    public void request(long n) {
+        Operators.validate(n);
+        if (Operators.addCap(requested, n) == 0) {
+            if (n == Long.MAX_VALUE) {
+                fastPath();
+            } else {
+                slowPath(n);
+            }
+        }
+    }
+
+    @Override
+    public void cancel() {
+        cancelled = true;
+    }
+
+    private void fastPath() {
+        long[] a = items;
+        for (int i = index; i < a.length; i++) {
+            if (cancelled) {
+                return;
+            }
+            subscriber.onNext(a[i]);
+        }
+        if (!cancelled) {
+            subscriber.onComplete();
+        }
+    }
+
+    private void slowPath(long n) {
+        long[] a = items;
+        int i = index;
+        long emitted = 0;
+
+        for (;;) {
+            while (emitted != n && i != a.length) {
+                if (cancelled) {
+                    return;
+                }
+                subscriber.onNext(a[i]);
+                i++;
+                emitted++;
+            }
+
+            if (cancelled) {
+                return;
+            }
+
+            if (i == a.length) {
+                subscriber.onComplete();
+                return;
+            }
+
+            n = requested.get();
+            if (n == emitted) {
+                index = i;
+                n = requested.addAndGet(-emitted);
+                if (n == 0) {
+                    return;
+                }
+                emitted = 0;
+            }
+        }
+    }
+}
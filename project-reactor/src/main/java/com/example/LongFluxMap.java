@@ -0,0 +1,56 @@
+package com.example;
+
+import java.util.function.LongUnaryOperator;
+
+class LongFluxMap implements LongPublisher {
+    final LongPublisher upstream;
+    final LongUnaryOperator mapper;
+
+    LongFluxMap(LongPublisher upstream, LongUnaryOperator mapper) {
+        if (upstream instanceof LongFluxMap) {
+            LongFluxMap previous = (LongFluxMap) upstream;
+            this.upstream = previous.upstream;
+            this.mapper = previous.mapper.andThen(mapper);
+        } else {
+            this.upstream = upstream;
+            this.mapper = mapper;
+        }
+        Hooks.onAssembly(this);
+    }
+
+    @Override
+    public void subscribe(LongSubscriber downstreamSubscriber) {
+        Hooks.onSubscribe(this, downstreamSubscriber);
+        upstream.subscribe(new LongMapSubscriber(downstreamSubscriber, mapper));
+    }
+}
+
+class LongMapSubscriber implements LongSubscriber {
+    private final LongSubscriber downstream;
+    private final LongUnaryOperator mapper;
+
+    LongMapSubscriber(LongSubscriber downstream, LongUnaryOperator mapper) {
+        this.downstream = downstream;
+        this.mapper = mapper;
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        downstream.onSubscribe(subscription);
+    }
+
+    @Override
+    public void onNext(long item) {
+        downstream.onNext(mapper.applyAsLong(item));
+    }
+
+    @Override
+    public void onComplete() {
+        downstream.onComplete();
+    }
+
+    @Override
+    public Context currentContext() {
+        return downstream.currentContext();
+    }
+}
@@ -0,0 +1,143 @@
+package com.example;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongBinaryOperator;
+
+// Folds the whole source into one long, emitted when the source completes.
+// Without an identity an empty source completes without a value.
+class LongFluxReduce implements LongPublisher {
+    private final LongPublisher upstream;
+    private final boolean hasIdentity;
+    private final long identity;
+    private final LongBinaryOperator reducer;
+
+    LongFluxReduce(LongPublisher upstream, LongBinaryOperator reducer) {
+        this(upstream, false, 0, reducer);
+    }
+
+    LongFluxReduce(LongPublisher upstream, long identity, LongBinaryOperator reducer) {
+        this(upstream, true, identity, reducer);
+    }
+
+    private LongFluxReduce(LongPublisher upstream, boolean hasIdentity, long identity, LongBinaryOperator reducer) {
+        this.upstream = upstream;
+        this.hasIdentity = hasIdentity;
+        this.identity = identity;
+        this.reducer = reducer;
+        Hooks.onAssembly(this);
+    }
+
+    static LongFluxReduce sum(LongPublisher upstream) {
+        return new LongFluxReduce(upstream, 0, Long::sum);
+    }
+
+    static LongFluxReduce min(LongPublisher upstream) {
+        return new LongFluxReduce(upstream, Math::min);
+    }
+
+    static LongFluxReduce max(LongPublisher upstream) {
+        return new LongFluxReduce(upstream, Math::max);
+    }
+
+    @Override
+    public void subscribe(LongSubscriber downstreamSubscriber) {
+        Hooks.onSubscribe(this, downstreamSubscriber);
+        upstream.subscribe(new LongReduceSubscriber(downstreamSubscriber, hasIdentity, identity, reducer));
+    }
+}
+
+class LongReduceSubscriber implements LongSubscriber, Subscription {
+    // the result goes out once both the downstream request and the upstream completion arrived
+    private static final int NO_REQUEST_NO_RESULT = 0;
+    private static final int HAS_REQUEST = 1;
+    private static final int HAS_RESULT = 2;
+    private static final int EMITTED = 3;
+
+    private final LongSubscriber downstream;
+    private final LongBinaryOperator reducer;
+    private final AtomicInteger state = new AtomicInteger();
+
+    private Subscription upstream;
+    private boolean hasValue;
+    private long value;
+
+    LongReduceSubscriber(LongSubscriber downstream, boolean hasIdentity, long identity, LongBinaryOperator reducer) {
+        this.downstream = downstream;
+        this.reducer = reducer;
+        this.hasValue = hasIdentity;
+        this.value = identity;
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        this.upstream = subscription;
+        downstream.onSubscribe(this);
+        subscription.request(Long.MAX_VALUE);
+    }
+
+    @Override
+    public void onNext(long item) {
+        if (hasValue) {
+            value = reducer.applyAsLong(value, item);
+        } else {
+            value = item;
+            hasValue = true;
+        }
+    }
+
+    @Override
+    public void onComplete() {
+        if (!hasValue) {
+            if (state.getAndSet(EMITTED) != EMITTED) {
+                downstream.onComplete();
+            }
+            return;
+        }
+        for (;;) {
+            int s = state.get();
+            if (s == HAS_REQUEST) {
+                if (state.compareAndSet(HAS_REQUEST, EMITTED)) {
+                    emit();
+                }
+                return;
+            }
+            if (state.compareAndSet(NO_REQUEST_NO_RESULT, HAS_RESULT)) {
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void request(long n) {
+        Operators.validate(n);
+        for (;;) {
+            int s = state.get();
+            if (s == HAS_RESULT) {
+                if (state.compareAndSet(HAS_RESULT, EMITTED)) {
+                    emit();
+                }
+                return;
+            }
+            if (s != NO_REQUEST_NO_RESULT || state.compareAndSet(NO_REQUEST_NO_RESULT, HAS_REQUEST)) {
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void cancel() {
+        if (state.getAndSet(EMITTED) != EMITTED) {
+            upstream.cancel();
+        }
+    }
+
+    private void emit() {
+        downstream.onNext(value);
+        downstream.onComplete();
+    }
+
+    @Override
+    public Context currentContext() {
+        return downstream.currentContext();
+    }
+}
@@ -0,0 +1,5 @@
+package com.example;
+
+interface LongPublisher {
+    void subscribe(LongSubscriber subscriber);
+}
@@ -0,0 +1,10 @@
+package com.example;
+
+// Subscriber for unboxed long items.
+interface LongSubscriber {
+    void onSubscribe(Subscription subscription);
+    void onNext(long item);
+    void onComplete();
+
+    Context currentContext();
+}
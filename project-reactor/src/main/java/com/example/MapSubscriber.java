@@ -0,0 +1,75 @@
+package com.example;
+
+import java.util.function.Function;
+
+class MapSubscriber<T, R> extends CoreSubscriber<T> implements QueueSubscription<R> {
+    private final Subscriber<R> downstream;
+    private final Function<T, R> mapper;
+    private QueueSubscription<T> qs;
+
+    MapSubscriber(Subscriber<R> downstream, Function<T, R> mapper) {
+        super(downstream);
+        this.downstream = downstream;
+        this.mapper = mapper;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void onSubscribe(Subscription subscription) {
+        if (subscription instanceof QueueSubscription) {
+            // stay in the chain so a downstream poll() sees mapped values
+            this.qs = (QueueSubscription<T>) subscription;
+            downstream.onSubscribe(this);
+        } else {
+            downstream.onSubscribe(subscription);
+        }
+    }
+
+    @Override
+    public void onNext(T item) {
+        Hooks.onNext(this, item);
+        R mapped = mapper.apply(item);
+        downstream.onNext(mapped);
+    }
+
+    @Override
+    public void onComplete() {
+        Hooks.onComplete(this);
+        downstream.onComplete();
+    }
+
+    @Override
+    public void request(long n) {
+        qs.request(n);
+    }
+
+    @Override
+    public void cancel() {
+        qs.cancel();
+    }
+
+    @Override
+    public int requestFusion(int requestedMode) {
+        return qs.requestFusion(requestedMode);
+    }
+
+    @Override
+    public R poll() {
+        T item = qs.poll();
+        if (item == null) {
+            return null;
+        }
+        Hooks.onNext(this, item);
+        return mapper.apply(item);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return qs.isEmpty();
+    }
+
+    @Override
+    public void clear() {
+        qs.clear();
+    }
+}
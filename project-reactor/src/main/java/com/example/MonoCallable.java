@@ -0,0 +1,27 @@
+package com.example;
+
+import java.util.Objects;
+import java.util.concurrent.Callable;
+
+// Defers the value to the callable, which runs on the first request; a null
+// result completes empty.
+class MonoCallable<T> implements Publisher<T>, Callable<T> {
+    private final Callable<T> callable;
+
+    MonoCallable(Callable<T> callable) {
+        this.callable = Objects.requireNonNull(callable, "callable");
+        Hooks.onAssembly(this);
+    }
+
+    @Override
+    public T call() throws Exception {
+        return callable.call();
+    }
+
+    @Override
+    public void subscribe(Subscriber<T> subscriber) {
+        Hooks.onSubscribe(this, subscriber);
+        Hooks.onContextRead(this, subscriber);
+        subscriber.onSubscribe(new ScalarSubscription<>(subscriber, callable));
+    }
+}
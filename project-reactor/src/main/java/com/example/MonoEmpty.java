@@ -0,0 +1,26 @@
+package com.example;
+
+class MonoEmpty<T> implements Publisher<T>, ScalarCallable<T> {
+    private static final MonoEmpty<Object> INSTANCE = new MonoEmpty<>();
+
+    private MonoEmpty() {
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> MonoEmpty<T> instance() {
+        // one shared instance, so every use is reported as an assembly
+        Hooks.onAssembly(INSTANCE);
+        return (MonoEmpty<T>) INSTANCE;
+    }
+
+    @Override
+    public T call() {
+        return null;
+    }
+
+    @Override
+    public void subscribe(Subscriber<T> subscriber) {
+        Hooks.onSubscribe(this, subscriber);
+        subscriber.onSubscribe(new ScalarSubscription<>(subscriber, this));
+    }
+}
@@ -0,0 +1,24 @@
+package com.example;
+
+import java.util.Objects;
+
+class MonoJust<T> implements Publisher<T>, ScalarCallable<T> {
+    private final T value;
+
+    MonoJust(T value) {
+        this.value = Objects.requireNonNull(value, "value");
+        Hooks.onAssembly(this);
+    }
+
+    @Override
+    public T call() {
+        return value;
+    }
+
+    @Override
+    public void subscribe(Subscriber<T> subscriber) {
+        Hooks.onSubscribe(this, subscriber);
+        Hooks.onContextRead(this, subscriber);
+        subscriber.onSubscribe(new ScalarSubscription<>(subscriber, this));
+    }
+}
@@ -0,0 +1,195 @@
+package com.example;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.AbstractQueue;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+// Bounded multi-producer/single-consumer queue. Producers claim an index with a
+// CAS and then publish the slot, so the consumer may briefly see a claimed but
+// still empty slot; poll() waits for it. Producers compare against a cached
+// limit and only read the consumer index when the cache says the queue is full.
+final class MpscArrayQueue<E> extends MpscArrayQueueConsumerIndex<E> {
+    private static final VarHandle SLOT = MethodHandles.arrayElementVarHandle(Object[].class);
+
+    private final Object[] buffer;
+    private final int mask;
+
+    MpscArrayQueue(int capacity) {
+        int size = capacity <= 2 ? 2 : 1 << (32 - Integer.numberOfLeadingZeros(capacity - 1));
+        this.buffer = new Object[size];
+        this.mask = size - 1;
+        this.producerLimit = size;
+    }
+
+    @Override
+    public boolean offer(E item) {
+        if (item == null) {
+            throw new NullPointerException();
+        }
+        long limit = producerLimit;
+        long index;
+        do {
+            index = (long) PRODUCER_INDEX.getVolatile(this);
+            if (index >= limit) {
+                limit = (long) CONSUMER_INDEX.getVolatile(this) + buffer.length;
+                if (index >= limit) {
+                    return false;
+                }
+                producerLimit = limit;
+            }
+        } while (!PRODUCER_INDEX.compareAndSet(this, index, index + 1));
+        SLOT.setRelease(buffer, (int) index & mask, item);
+        return true;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E poll() {
+        long index = consumerIndex;
+        int offset = (int) index & mask;
+        Object item = SLOT.getAcquire(buffer, offset);
+        if (item == null) {
+            if (index == (long) PRODUCER_INDEX.getVolatile(this)) {
+                return null;
+            }
+            // claimed by a producer that has not stored the item yet
+            do {
+                Thread.onSpinWait();
+                item = SLOT.getAcquire(buffer, offset);
+            } while (item == null);
+        }
+        SLOT.setRelease(buffer, offset, null);
+        CONSUMER_INDEX.setRelease(this, index + 1);
+        return (E) item;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E peek() {
+        long index = consumerIndex;
+        int offset = (int) index & mask;
+        Object item = SLOT.getAcquire(buffer, offset);
+        if (item == null && index != (long) PRODUCER_INDEX.getVolatile(this)) {
+            do {
+                Thread.onSpinWait();
+                item = SLOT.getAcquire(buffer, offset);
+            } while (item == null);
+        }
+        return (E) item;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return (long) PRODUCER_INDEX.getVolatile(this) == (long) CONSUMER_INDEX.getVolatile(this);
+    }
+
+    @Override
+    public int size() {
+        for (;;) {
+            long before = (long) CONSUMER_INDEX.getVolatile(this);
+            long producer = (long) PRODUCER_INDEX.getVolatile(this);
+            long after = (long) CONSUMER_INDEX.getVolatile(this);
+            if (before == after) {
+                return (int) (producer - after);
+            }
+        }
+    }
+
+    @Override
+    public void clear() {
+        while (poll() != null) {
+            // drain
+        }
+    }
+
+    // Weakly consistent and read-only, for toString() and contains(): it walks
+    // the items present when it was created and skips those consumed meanwhile.
+    @Override
+    public Iterator<E> iterator() {
+        return new Itr();
+    }
+
+    private final class Itr implements Iterator<E> {
+        private final long end = (long) PRODUCER_INDEX.getVolatile(MpscArrayQueue.this);
+        private long index = (long) CONSUMER_INDEX.getVolatile(MpscArrayQueue.this);
+        private E next = advance();
+
+        @SuppressWarnings("unchecked")
+        private E advance() {
+            while (index < end) {
+                long i = index++;
+                Object item = SLOT.getAcquire(buffer, (int) i & mask);
+                long consumer = (long) CONSUMER_INDEX.getVolatile(MpscArrayQueue.this);
+                if (consumer > i) {
+                    // consumed, and the slot maybe reused, while we looked
+                    index = Math.max(index, consumer);
+                } else if (item != null) {
+                    return (E) item;
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public E next() {
+            E item = next;
+            if (item == null) {
+                throw new NoSuchElementException();
+            }
+            next = advance();
+            return item;
+        }
+    }
+}
+
+abstract class MpscArrayQueuePad0<E> extends AbstractQueue<E> {
+    long p00, p01, p02, p03, p04, p05, p06, p07;
+    long p08, p09, p0a, p0b, p0c, p0d, p0e, p0f;
+}
+
+abstract class MpscArrayQueueProducerIndex<E> extends MpscArrayQueuePad0<E> {
+    static final VarHandle PRODUCER_INDEX;
+
+    static {
+        try {
+            PRODUCER_INDEX = MethodHandles.lookup()
+                    .findVarHandle(MpscArrayQueueProducerIndex.class, "producerIndex", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    long producerIndex;
+    // consumer index + capacity as last seen by a producer; only ever grows
+    volatile long producerLimit;
+}
+
+abstract class MpscArrayQueuePad1<E> extends MpscArrayQueueProducerIndex<E> {
+    long p10, p11, p12, p13, p14, p15, p16, p17;
+    long p18, p19, p1a, p1b, p1c, p1d, p1e, p1f;
+}
+
+abstract class MpscArrayQueueConsumerIndex<E> extends MpscArrayQueuePad1<E> {
+    static final VarHandle CONSUMER_INDEX;
+
+    static {
+        try {
+            CONSUMER_INDEX = MethodHandles.lookup()
+                    .findVarHandle(MpscArrayQueueConsumerIndex.class, "consumerIndex", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    long consumerIndex;
+
+    long p20, p21, p22, p23, p24, p25, p26, p27;
+    long p28, p29, p2a, p2b, p2c, p2d, p2e, p2f;
+}
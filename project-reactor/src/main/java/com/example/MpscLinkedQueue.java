@@ -0,0 +1,160 @@
+package com.example;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.AbstractQueue;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+// Unbounded multi-producer/single-consumer queue (Vyukov's intrusive list):
+// a producer swaps itself in as the tail with one getAndSet and then links the
+// previous tail to it. Between those two steps the consumer can see a tail it
+// cannot reach yet; poll() waits for the link.
+final class MpscLinkedQueue<E> extends AbstractQueue<E> {
+    private static final VarHandle PRODUCER_NODE;
+    private static final VarHandle NEXT;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            PRODUCER_NODE = lookup.findVarHandle(MpscLinkedQueue.class, "producerNode", Node.class);
+            NEXT = lookup.findVarHandle(Node.class, "next", Node.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    // consumerNode is a consumed stub; the first item is in consumerNode.next
+    private Node<E> consumerNode;
+    private volatile Node<E> producerNode;
+
+    MpscLinkedQueue() {
+        Node<E> stub = new Node<>(null);
+        this.consumerNode = stub;
+        this.producerNode = stub;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean offer(E item) {
+        if (item == null) {
+            throw new NullPointerException();
+        }
+        Node<E> node = new Node<>(item);
+        Node<E> previous = (Node<E>) PRODUCER_NODE.getAndSet(this, node);
+        NEXT.setRelease(previous, node);
+        return true;
+    }
+
+    @Override
+    public E poll() {
+        Node<E> next = nextNode();
+        if (next == null) {
+            return null;
+        }
+        E item = next.value;
+        next.value = null;
+        consumerNode = next;
+        return item;
+    }
+
+    @Override
+    public E peek() {
+        Node<E> next = nextNode();
+        return next == null ? null : next.value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Node<E> nextNode() {
+        Node<E> current = consumerNode;
+        Node<E> next = (Node<E>) NEXT.getAcquire(current);
+        if (next == null && current != producerNode) {
+            do {
+                Thread.onSpinWait();
+                next = (Node<E>) NEXT.getAcquire(current);
+            } while (next == null);
+        }
+        return next;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return consumerNode == producerNode;
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        Node<E> node = consumerNode;
+        Node<E> last = producerNode;
+        while (node != last && size < Integer.MAX_VALUE) {
+            @SuppressWarnings("unchecked")
+            Node<E> next = (Node<E>) NEXT.getAcquire(node);
+            if (next == null) {
+                break;
+            }
+            node = next;
+            size++;
+        }
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        while (poll() != null) {
+            // drain
+        }
+    }
+
+    // Weakly consistent and read-only, for toString() and contains(): it
+    // follows the links from the consumer's position and skips items that were
+    // consumed meanwhile.
+    @Override
+    public Iterator<E> iterator() {
+        return new Itr();
+    }
+
+    private final class Itr implements Iterator<E> {
+        private Node<E> node = consumerNode;
+        private E next = advance();
+
+        @SuppressWarnings("unchecked")
+        private E advance() {
+            for (;;) {
+                Node<E> n = (Node<E>) NEXT.getAcquire(node);
+                if (n == null) {
+                    return null;
+                }
+                node = n;
+                E item = n.value;
+                if (item != null) {
+                    return item;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public E next() {
+            E item = next;
+            if (item == null) {
+                throw new NoSuchElementException();
+            }
+            next = advance();
+            return item;
+        }
+    }
+
+    static final class Node<E> {
+        E value;
+        Node<E> next;
+
+        Node(E value) {
+            this.value = value;
+        }
+    }
+}
@@ -12,7 +12,20 @@ class MySubscriber<T> implements Subscriber<T> {
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public void onSubscribe(Subscription subscription) {
+        if (subscription instanceof QueueSubscription) {
+            QueueSubscription<T> qs = (QueueSubscription<T>) subscription;
+            if (qs.requestFusion(QueueSubscription.SYNC) == QueueSubscription.SYNC) {
+                // pull everything in one loop instead of having each item pushed through onNext
+                T item;
+                while ((item = qs.poll()) != null) {
+                    onNext(item);
+                }
+                onComplete();
+                return;
+            }
+        }
         subscription.request(Long.MAX_VALUE);
     }
 
@@ -0,0 +1,51 @@
+package com.example;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+
+final class Operators {
+    private Operators() {
+    }
+
+    static long addCap(long a, long b) {
+        long sum = a + b;
+        return sum < 0 ? Long.MAX_VALUE : sum;
+    }
+
+    static long multiplyCap(long a, long b) {
+        long product = a * b;
+        return Math.multiplyHigh(a, b) == 0 && product >= 0 ? product : Long.MAX_VALUE;
+    }
+
+    // Adds n to the outstanding demand, saturating at Long.MAX_VALUE (unbounded).
+    // Returns the demand before the addition, so a result of 0 means the caller owns the drain.
+    static long addCap(AtomicLong requested, long n) {
+        for (;;) {
+            long current = requested.get();
+            if (current == Long.MAX_VALUE) {
+                return Long.MAX_VALUE;
+            }
+            if (requested.compareAndSet(current, addCap(current, n))) {
+                return current;
+            }
+        }
+    }
+
+    // Evaluates a scalar source in place of subscribing to it. There is no error
+    // signal yet, so checked exceptions are rethrown unchecked.
+    static <T> T call(Callable<T> callable) {
+        try {
+            return callable.call();
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    static void validate(long n) {
+        if (n <= 0) {
+            throw new IllegalArgumentException("request must be positive, got " + n);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.example;
+
+import java.util.function.Predicate;
+
+class ParallelFilter<T> extends ParallelPublisher<T> {
+    private final ParallelPublisher<T> source;
+    private final Predicate<T> predicate;
+
+    ParallelFilter(ParallelPublisher<T> source, Predicate<T> predicate) {
+        this.source = source;
+        this.predicate = predicate;
+    }
+
+    @Override
+    int parallelism() {
+        return source.parallelism();
+    }
+
+    @Override
+    boolean ordered() {
+        return source.ordered();
+    }
+
+    @Override
+    void subscribe(Subscriber<T>[] subscribers) {
+        validate(subscribers);
+        Subscriber<T>[] rails = newRails(subscribers.length);
+        for (int i = 0; i < rails.length; i++) {
+            rails[i] = new FilterSubscriber<>(subscribers[i], predicate);
+        }
+        source.subscribe(rails);
+    }
+
+    @Override
+    void subscribeOrdered(Subscriber<Indexed<T>>[] subscribers) {
+        validate(subscribers);
+        Predicate<Indexed<T>> indexed = item -> predicate.test(item.value());
+        Subscriber<Indexed<T>>[] rails = newRails(subscribers.length);
+        for (int i = 0; i < rails.length; i++) {
+            rails[i] = new FilterSubscriber<>(subscribers[i], indexed);
+        }
+        source.subscribeOrdered(rails);
+    }
+}
@@ -0,0 +1,44 @@
+package com.example;
+
+import java.util.function.Function;
+
+class ParallelMap<T, R> extends ParallelPublisher<R> {
+    private final ParallelPublisher<T> source;
+    private final Function<T, R> mapper;
+
+    ParallelMap(ParallelPublisher<T> source, Function<T, R> mapper) {
+        this.source = source;
+        this.mapper = mapper;
+    }
+
+    @Override
+    int parallelism() {
+        return source.parallelism();
+    }
+
+    @Override
+    boolean ordered() {
+        return source.ordered();
+    }
+
+    @Override
+    void subscribe(Subscriber<R>[] subscribers) {
+        validate(subscribers);
+        Subscriber<T>[] rails = newRails(subscribers.length);
+        for (int i = 0; i < rails.length; i++) {
+            rails[i] = new MapSubscriber<>(subscribers[i], mapper);
+        }
+        source.subscribe(rails);
+    }
+
+    @Override
+    void subscribeOrdered(Subscriber<Indexed<R>>[] subscribers) {
+        validate(subscribers);
+        Function<Indexed<T>, Indexed<R>> indexed = item -> item.replace(mapper.apply(item.value()));
+        Subscriber<Indexed<T>>[] rails = newRails(subscribers.length);
+        for (int i = 0; i < rails.length; i++) {
+            rails[i] = new MapSubscriber<>(subscribers[i], indexed);
+        }
+        source.subscribeOrdered(rails);
+    }
+}
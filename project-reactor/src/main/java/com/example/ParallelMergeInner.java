@@ -0,0 +1,70 @@
+package com.example;
+
+class ParallelMergeInner<E> implements Subscriber<E> {
+    private final ParallelMergeMain<?, E> parent;
+    private final int prefetch;
+    private final int limit;
+
+    final SpscArrayQueue<E> queue;
+    volatile boolean done;
+
+    // the rail may be cancelled before it has subscribed this inner
+    private volatile Subscription upstream;
+    private volatile boolean cancelled;
+    // drain-thread state
+    private int produced;
+
+    ParallelMergeInner(ParallelMergeMain<?, E> parent, int prefetch) {
+        this.parent = parent;
+        this.prefetch = prefetch;
+        this.limit = prefetch - (prefetch >> 2);
+        this.queue = new SpscArrayQueue<>(prefetch);
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        this.upstream = subscription;
+        if (cancelled) {
+            subscription.cancel();
+            return;
+        }
+        subscription.request(prefetch);
+    }
+
+    @Override
+    public void onNext(E item) {
+        if (!queue.offer(item)) {
+            throw new IllegalStateException("parallel merge queue is full: rail ignored backpressure");
+        }
+        parent.drain();
+    }
+
+    @Override
+    public void onComplete() {
+        done = true;
+        parent.drain();
+    }
+
+    @Override
+    public Context currentContext() {
+        return parent.downstream.currentContext();
+    }
+
+    void cancel() {
+        cancelled = true;
+        Subscription s = upstream;
+        if (s != null) {
+            s.cancel();
+        }
+    }
+
+    void consumed(int n) {
+        int p = produced + n;
+        if (p >= limit) {
+            produced = 0;
+            upstream.request(p);
+        } else {
+            produced = p;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.example;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Shared state for joining rails back into one Publisher: every rail buffers
+// into its own queue and a single wip-guarded drain emits downstream. E is
+// what the rails carry: T, or Indexed<T> for ordered rails.
+abstract class ParallelMergeMain<T, E> implements Subscription {
+    final Subscriber<T> downstream;
+    final ParallelMergeInner<E>[] inners;
+
+    final AtomicInteger wip = new AtomicInteger();
+    final AtomicLong requested = new AtomicLong();
+    final AtomicBoolean cancelled = new AtomicBoolean();
+
+    // drain-thread state
+    long emitted;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    ParallelMergeMain(Subscriber<T> downstream, int parallelism, int prefetch) {
+        this.downstream = downstream;
+        this.inners = new ParallelMergeInner[parallelism];
+        for (int i = 0; i < parallelism; i++) {
+            inners[i] = new ParallelMergeInner<>(this, prefetch);
+        }
+    }
+
+    @Override
+    public void request(long n) {
+        Operators.validate(n);
+        Operators.addCap(requested, n);
+        drain();
+    }
+
+    @Override
+    public void cancel() {
+        if (!cancelled.compareAndSet(false, true)) {
+            return;
+        }
+        for (ParallelMergeInner<E> inner : inners) {
+            inner.cancel();
+        }
+        if (wip.getAndIncrement() == 0) {
+            clear();
+        }
+    }
+
+    // Called by drain loops; once cancelled, wip is never lowered again so
+    // later signals cannot restart the loop.
+    boolean checkCancelled() {
+        if (cancelled.get()) {
+            clear();
+            return true;
+        }
+        return false;
+    }
+
+    private void clear() {
+        for (ParallelMergeInner<E> inner : inners) {
+            inner.queue.clear();
+        }
+    }
+
+    void drain() {
+        if (wip.getAndIncrement() == 0) {
+            drainLoop();
+        }
+    }
+
+    abstract void drainLoop();
+
+    boolean allDone() {
+        for (ParallelMergeInner<E> inner : inners) {
+            if (!inner.done || !inner.queue.isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
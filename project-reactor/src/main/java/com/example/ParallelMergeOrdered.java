@@ -0,0 +1,87 @@
+package com.example;
+
+// Restores source order from the sequence numbers put on by an ordered
+// ParallelSource: the smallest head among the rails is emitted next, and the
+// merge waits while any unfinished rail has nothing buffered.
+class ParallelMergeOrdered<T> implements Publisher<T> {
+    private final ParallelPublisher<T> source;
+    private final int prefetch;
+
+    ParallelMergeOrdered(ParallelPublisher<T> source, int prefetch) {
+        if (!source.ordered()) {
+            throw new IllegalArgumentException("source rails carry no sequence numbers; use an ordered ParallelSource");
+        }
+        if (prefetch <= 0) {
+            throw new IllegalArgumentException("prefetch must be positive, got " + prefetch);
+        }
+        this.source = source;
+        this.prefetch = prefetch;
+        Hooks.onAssembly(this);
+    }
+
+    @Override
+    public void subscribe(Subscriber<T> downstreamSubscriber) {
+        Hooks.onSubscribe(this, downstreamSubscriber);
+        MergeOrderedMain<T> main = new MergeOrderedMain<>(downstreamSubscriber, source.parallelism(), prefetch);
+        downstreamSubscriber.onSubscribe(main);
+        source.subscribeOrdered(main.inners);
+    }
+}
+
+class MergeOrderedMain<T> extends ParallelMergeMain<T, Indexed<T>> {
+
+    MergeOrderedMain(Subscriber<T> downstream, int parallelism, int prefetch) {
+        super(downstream, parallelism, prefetch);
+    }
+
+    @Override
+    void drainLoop() {
+        int missed = 1;
+        for (;;) {
+            long r = requested.get();
+            long e = emitted;
+            while (e != r) {
+                if (checkCancelled()) {
+                    return;
+                }
+                ParallelMergeInner<Indexed<T>> next = null;
+                long nextIndex = Long.MAX_VALUE;
+                boolean waiting = false;
+                for (ParallelMergeInner<Indexed<T>> inner : inners) {
+                    boolean d = inner.done;
+                    Indexed<T> head = inner.queue.peek();
+                    if (head == null) {
+                        if (!d) {
+                            waiting = true;
+                            break;
+                        }
+                    } else if (head.index < nextIndex) {
+                        nextIndex = head.index;
+                        next = inner;
+                    }
+                }
+                if (waiting || next == null) {
+                    break;
+                }
+                Indexed<T> item = next.queue.poll();
+                downstream.onNext(item.value());
+                next.consumed(1);
+                e++;
+            }
+            emitted = e;
+
+            if (checkCancelled()) {
+                return;
+            }
+            if (allDone()) {
+                downstream.onComplete();
+                return;
+            }
+
+            missed = wip.addAndGet(-missed);
+            if (missed == 0) {
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.example;
+
+// Merges the rails in whatever order items arrive; the fast option.
+class ParallelMergeSequential<T> implements Publisher<T> {
+    private final ParallelPublisher<T> source;
+    private final int prefetch;
+
+    ParallelMergeSequential(ParallelPublisher<T> source, int prefetch) {
+        if (prefetch <= 0) {
+            throw new IllegalArgumentException("prefetch must be positive, got " + prefetch);
+        }
+        this.source = source;
+        this.prefetch = prefetch;
+        Hooks.onAssembly(this);
+    }
+
+    @Override
+    public void subscribe(Subscriber<T> downstreamSubscriber) {
+        Hooks.onSubscribe(this, downstreamSubscriber);
+        MergeSequentialMain<T> main = new MergeSequentialMain<>(downstreamSubscriber, source.parallelism(), prefetch);
+        downstreamSubscriber.onSubscribe(main);
+        source.subscribe(main.inners);
+    }
+}
+
+class MergeSequentialMain<T> extends ParallelMergeMain<T, T> {
+    private int lastIndex;
+
+    MergeSequentialMain(Subscriber<T> downstream, int parallelism, int prefetch) {
+        super(downstream, parallelism, prefetch);
+    }
+
+    @Override
+    void drainLoop() {
+        int missed = 1;
+        int n = inners.length;
+        for (;;) {
+            long r = requested.get();
+            long e = emitted;
+            int j = lastIndex;
+            for (int i = 0; i < n; i++) {
+                ParallelMergeInner<T> inner = inners[j];
+                int consumed = 0;
+                while (e != r) {
+                    if (checkCancelled()) {
+                        return;
+                    }
+                    T item = inner.queue.poll();
+                    if (item == null) {
+                        break;
+                    }
+                    downstream.onNext(item);
+                    e++;
+                    consumed++;
+                }
+                if (consumed != 0) {
+                    inner.consumed(consumed);
+                }
+                if (++j == n) {
+                    j = 0;
+                }
+            }
+            lastIndex = j;
+            emitted = e;
+
+            if (checkCancelled()) {
+                return;
+            }
+            if (allDone()) {
+                downstream.onComplete();
+                return;
+            }
+
+            missed = wip.addAndGet(-missed);
+            if (missed == 0) {
+                return;
+            }
+        }
+    }
+}
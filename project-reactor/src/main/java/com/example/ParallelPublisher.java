@@ -0,0 +1,31 @@
+package com.example;
+
+// A publisher split into parallelism() independent rails, each with its own
+// subscriber. When ordered() is true the rails can also be subscribed through
+// subscribeOrdered(), where they carry Indexed wrappers holding the source
+// sequence number that ParallelMergeOrdered uses to restore order.
+abstract class ParallelPublisher<T> {
+
+    abstract int parallelism();
+
+    abstract void subscribe(Subscriber<T>[] subscribers);
+
+    // only valid when ordered() is true
+    abstract void subscribeOrdered(Subscriber<Indexed<T>>[] subscribers);
+
+    boolean ordered() {
+        return false;
+    }
+
+    void validate(Subscriber<?>[] subscribers) {
+        if (subscribers.length != parallelism()) {
+            throw new IllegalArgumentException(
+                    "expected " + parallelism() + " rail subscribers, got " + subscribers.length);
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static <E> Subscriber<E>[] newRails(int parallelism) {
+        return new Subscriber[parallelism];
+    }
+}
@@ -0,0 +1,47 @@
+package com.example;
+
+// Gives every rail its own publishOn boundary, each on a separate worker.
+class ParallelRunOn<T> extends ParallelPublisher<T> {
+    private final ParallelPublisher<T> source;
+    private final Scheduler scheduler;
+    private final int prefetch;
+
+    ParallelRunOn(ParallelPublisher<T> source, Scheduler scheduler, int prefetch) {
+        if (prefetch <= 0) {
+            throw new IllegalArgumentException("prefetch must be positive, got " + prefetch);
+        }
+        this.source = source;
+        this.scheduler = scheduler;
+        this.prefetch = prefetch;
+    }
+
+    @Override
+    int parallelism() {
+        return source.parallelism();
+    }
+
+    @Override
+    boolean ordered() {
+        return source.ordered();
+    }
+
+    @Override
+    void subscribe(Subscriber<T>[] subscribers) {
+        validate(subscribers);
+        Subscriber<T>[] rails = newRails(subscribers.length);
+        for (int i = 0; i < rails.length; i++) {
+            rails[i] = new PublishOnSubscriber<>(subscribers[i], scheduler.createWorker(), prefetch);
+        }
+        source.subscribe(rails);
+    }
+
+    @Override
+    void subscribeOrdered(Subscriber<Indexed<T>>[] subscribers) {
+        validate(subscribers);
+        Subscriber<Indexed<T>>[] rails = newRails(subscribers.length);
+        for (int i = 0; i < rails.length; i++) {
+            rails[i] = new PublishOnSubscriber<>(subscribers[i], scheduler.createWorker(), prefetch);
+        }
+        source.subscribeOrdered(rails);
+    }
+}
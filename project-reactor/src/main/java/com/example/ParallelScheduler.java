@@ -0,0 +1,106 @@
+package com.example;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// One single-threaded event loop per CPU; each worker is pinned to one loop,
+// picked round-robin, so it is serial without any extra queueing.
+class ParallelScheduler implements Scheduler {
+    private final ScheduledThreadPoolExecutor[] loops;
+    private final AtomicInteger next = new AtomicInteger();
+    private final AtomicInteger workers = new AtomicInteger();
+    private volatile boolean disposed;
+
+    ParallelScheduler(int parallelism, String name) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism must be positive, got " + parallelism);
+        }
+        ThreadFactory threadFactory = Schedulers.daemonThreadFactory(name);
+        this.loops = new ScheduledThreadPoolExecutor[parallelism];
+        for (int i = 0; i < parallelism; i++) {
+            ScheduledThreadPoolExecutor loop = new ScheduledThreadPoolExecutor(1, threadFactory);
+            loop.setRemoveOnCancelPolicy(true);
+            loops[i] = loop;
+        }
+    }
+
+    @Override
+    public Worker createWorker() {
+        if (disposed) {
+            throw new RejectedExecutionException("Scheduler is disposed");
+        }
+        workers.incrementAndGet();
+        int index = Math.floorMod(next.getAndIncrement(), loops.length);
+        return new EventLoopWorker(loops[index]);
+    }
+
+    @Override
+    public int queueSize() {
+        int size = 0;
+        for (ScheduledThreadPoolExecutor loop : loops) {
+            size += loop.getQueue().size();
+        }
+        return size;
+    }
+
+    @Override
+    public int activeWorkers() {
+        return workers.get();
+    }
+
+    @Override
+    public void dispose() {
+        disposed = true;
+        for (ScheduledThreadPoolExecutor loop : loops) {
+            loop.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return disposed;
+    }
+
+    class EventLoopWorker implements Worker {
+        private final ScheduledThreadPoolExecutor loop;
+        private final AtomicBoolean workerDisposed = new AtomicBoolean();
+
+        EventLoopWorker(ScheduledThreadPoolExecutor loop) {
+            this.loop = loop;
+        }
+
+        @Override
+        public void schedule(Runnable task) {
+            if (!workerDisposed.get()) {
+                loop.execute(() -> runIfActive(task));
+            }
+        }
+
+        @Override
+        public Disposable schedule(Runnable task, long delay, TimeUnit unit) {
+            return new ExecutorScheduler.FutureDisposable(loop.schedule(() -> runIfActive(task), delay, unit));
+        }
+
+        private void runIfActive(Runnable task) {
+            if (!workerDisposed.get()) {
+                ExecutorScheduler.runSafely(task);
+            }
+        }
+
+        @Override
+        public void dispose() {
+            if (workerDisposed.compareAndSet(false, true)) {
+                workers.decrementAndGet();
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return workerDisposed.get();
+        }
+    }
+}
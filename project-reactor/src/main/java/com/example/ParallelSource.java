@@ -0,0 +1,215 @@
+package com.example;
+
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+
+class ParallelSource<T> extends ParallelPublisher<T> {
+    private final Publisher<T> upstream;
+    private final int parallelism;
+    private final int prefetch;
+    private final boolean ordered;
+
+    ParallelSource(Publisher<T> upstream, int parallelism, int prefetch, boolean ordered) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism must be positive, got " + parallelism);
+        }
+        if (prefetch <= 0) {
+            throw new IllegalArgumentException("prefetch must be positive, got " + prefetch);
+        }
+        this.upstream = upstream;
+        this.parallelism = parallelism;
+        this.prefetch = prefetch;
+        this.ordered = ordered;
+    }
+
+    @Override
+    int parallelism() {
+        return parallelism;
+    }
+
+    @Override
+    boolean ordered() {
+        return ordered;
+    }
+
+    @Override
+    void subscribe(Subscriber<T>[] subscribers) {
+        validate(subscribers);
+        upstream.subscribe(new ParallelSourceMain<>(subscribers, prefetch, Function.identity()));
+    }
+
+    @Override
+    void subscribeOrdered(Subscriber<Indexed<T>>[] subscribers) {
+        if (!ordered) {
+            throw new IllegalStateException("source was not created ordered");
+        }
+        validate(subscribers);
+        upstream.subscribe(new ParallelSourceMain<>(subscribers, prefetch, new Sequencer<>()));
+    }
+
+    // Numbers items in source order; called only from the drain loop.
+    static final class Sequencer<T> implements Function<T, Indexed<T>> {
+        private long sequence;
+
+        @Override
+        public Indexed<T> apply(T item) {
+            return new Indexed<>(sequence++, item);
+        }
+    }
+}
+
+// Buffers up to prefetch upstream items and hands them out round-robin,
+// skipping rails that currently have no demand. Upstream is cancelled once
+// every rail has cancelled. toRail turns an item into what the rails carry.
+class ParallelSourceMain<T, E> implements Subscriber<T> {
+    private final Subscriber<E>[] rails;
+    private final Function<T, E> toRail;
+    private final AtomicLongArray requests;
+    // 1 for each rail that has cancelled
+    private final AtomicIntegerArray railCancelled;
+    private final int prefetch;
+    private final int limit;
+
+    private final AtomicInteger wip = new AtomicInteger();
+    private final AtomicInteger activeRails;
+    private Subscription upstream;
+    private Queue<T> queue;
+    private volatile boolean done;
+    private volatile boolean cancelled;
+
+    // drain-thread state
+    private final long[] emissions;
+    private int index;
+    private int consumed;
+
+    ParallelSourceMain(Subscriber<E>[] rails, int prefetch, Function<T, E> toRail) {
+        this.rails = rails;
+        this.toRail = toRail;
+        this.requests = new AtomicLongArray(rails.length);
+        this.railCancelled = new AtomicIntegerArray(rails.length);
+        this.activeRails = new AtomicInteger(rails.length);
+        this.emissions = new long[rails.length];
+        this.prefetch = prefetch;
+        this.limit = prefetch - (prefetch >> 2);
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        this.upstream = subscription;
+        this.queue = new SpscArrayQueue<>(prefetch);
+        for (int i = 0; i < rails.length; i++) {
+            rails[i].onSubscribe(new RailSubscription(i));
+        }
+        subscription.request(prefetch);
+    }
+
+    @Override
+    public void onNext(T item) {
+        if (!queue.offer(item)) {
+            throw new IllegalStateException("parallel source queue is full: upstream ignored backpressure");
+        }
+        drain();
+    }
+
+    @Override
+    public void onComplete() {
+        done = true;
+        drain();
+    }
+
+    @Override
+    public Context currentContext() {
+        return rails[0].currentContext();
+    }
+
+    private void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        int n = rails.length;
+        int i = index;
+        int c = consumed;
+        for (;;) {
+            int notReady = 0;
+            for (;;) {
+                if (cancelled) {
+                    queue.clear();
+                    return;
+                }
+                boolean d = done;
+                boolean empty = queue.isEmpty();
+                if (d && empty) {
+                    for (int k = 0; k < n; k++) {
+                        if (railCancelled.get(k) == 0) {
+                            rails[k].onComplete();
+                        }
+                    }
+                    return;
+                }
+                if (empty) {
+                    break;
+                }
+                long e = emissions[i];
+                if (requests.get(i) != e && railCancelled.get(i) == 0) {
+                    T item = queue.poll();
+                    rails[i].onNext(toRail.apply(item));
+                    emissions[i] = e + 1;
+                    if (++c == limit) {
+                        c = 0;
+                        upstream.request(limit);
+                    }
+                    notReady = 0;
+                } else {
+                    notReady++;
+                }
+                if (++i == n) {
+                    i = 0;
+                }
+                if (notReady == n) {
+                    break;
+                }
+            }
+            index = i;
+            consumed = c;
+            missed = wip.addAndGet(-missed);
+            if (missed == 0) {
+                return;
+            }
+        }
+    }
+
+    class RailSubscription implements Subscription {
+        private final int rail;
+
+        RailSubscription(int rail) {
+            this.rail = rail;
+        }
+
+        @Override
+        public void request(long n) {
+            Operators.validate(n);
+            for (;;) {
+                long current = requests.get(rail);
+                if (current == Long.MAX_VALUE || requests.compareAndSet(rail, current, Operators.addCap(current, n))) {
+                    break;
+                }
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            if (railCancelled.compareAndSet(rail, 0, 1) && activeRails.decrementAndGet() == 0) {
+                cancelled = true;
+                upstream.cancel();
+                if (wip.getAndIncrement() == 0) {
+                    queue.clear();
+                }
+            }
+        }
+    }
+}
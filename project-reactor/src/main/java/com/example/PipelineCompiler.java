@@ -0,0 +1,100 @@
+package com.example;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+// Opt-in compile() step for hot, re-subscribed pipelines: walks an assembled
+// just -> map/filter/contextWrite chain once and returns a Publisher that runs
+// all stages as one loop in a class of its own. Chains with any other operator
+// come back unchanged, as does everything while hooks are installed, since the
+// compiled loop has no per-stage subscribers to report.
+final class PipelineCompiler {
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final MethodHandle IDENTITY = MethodHandles.identity(Object.class);
+    private static final MethodHandle APPLY;
+    private static final MethodHandle TEST;
+    private static final MethodHandle IS_SKIP;
+    private static final MethodHandle TO_SKIP;
+    private static final byte[] TEMPLATE;
+
+    static {
+        try {
+            APPLY = LOOKUP.findVirtual(Function.class, "apply", MethodType.methodType(Object.class, Object.class));
+            TEST = LOOKUP.findVirtual(Predicate.class, "test", MethodType.methodType(boolean.class, Object.class));
+            IS_SKIP = LOOKUP.findStatic(PipelineCompiler.class, "isSkip", MethodType.methodType(boolean.class, Object.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+        TO_SKIP = MethodHandles.dropArguments(MethodHandles.constant(Object.class, StageChain.SKIP), 0, Object.class);
+        try (InputStream in = PipelineCompiler.class.getResourceAsStream("CompiledLoopTemplate.class")) {
+            if (in == null) {
+                throw new IllegalStateException("CompiledLoopTemplate.class not found");
+            }
+            TEMPLATE = in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private PipelineCompiler() {
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> Publisher<T> compile(Publisher<T> pipeline) {
+        if (Hooks.ENABLED) {
+            return pipeline;
+        }
+
+        // map(f).map(g) and map(f).filter(p) were already fused at assembly,
+        // so chains are short; contextWrite stages are dropped, since nothing
+        // inside the compiled loop reads the context
+        StageChain stages = StageChain.of(pipeline);
+        Publisher<?> p = stages.source;
+        Object[] items;
+        if (p instanceof FluxJust) {
+            items = ((FluxJust<?>) p).items;
+        } else if (p instanceof ScalarCallable) {
+            Object value = ((ScalarCallable<?>) p).call();
+            items = value == null ? new Object[0] : new Object[] {value};
+        } else {
+            return pipeline;
+        }
+
+        MethodHandle chain = IDENTITY;
+        boolean mayDrop = false;
+        for (int i = 0; i < stages.stages.length; i++) {
+            MethodHandle stage = stages.filters[i]
+                    ? MethodHandles.guardWithTest(TEST.bindTo(stages.stages[i]), IDENTITY, TO_SKIP)
+                    : APPLY.bindTo(stages.stages[i]);
+            if (mayDrop) {
+                // an item an earlier filter dropped passes through untouched
+                stage = MethodHandles.guardWithTest(IS_SKIP, IDENTITY, stage);
+            }
+            chain = chain == IDENTITY ? stage : MethodHandles.filterReturnValue(chain, stage);
+            mayDrop |= stages.filters[i];
+        }
+        return (Publisher<T>) new CompiledFlux<>(items, define(chain));
+    }
+
+    private static CompiledLoop define(MethodHandle chain) {
+        try {
+            MethodHandles.Lookup hidden = LOOKUP.defineHiddenClassWithClassData(TEMPLATE, chain, true);
+            MethodHandle constructor = hidden.findConstructor(hidden.lookupClass(), MethodType.methodType(void.class));
+            return (CompiledLoop) constructor.invoke();
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("could not define compiled pipeline", e);
+        }
+    }
+
+    private static boolean isSkip(Object item) {
+        return item == StageChain.SKIP;
+    }
+}
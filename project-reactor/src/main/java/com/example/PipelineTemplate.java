@@ -0,0 +1,264 @@
+package com.example;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+// Captures an assembled map/filter/contextWrite chain once, for pipelines that
+// are subscribed over and over. A subscription then costs one fused subscriber
+// instead of one per stage, and that subscriber is taken from a small pool and
+// returned to it after completion. Anything below the chain is subscribed as is.
+final class PipelineTemplate<T> implements Publisher<T> {
+    private final Publisher<Object> source;
+    // upstream first; each entry is a Function, or a Predicate when filters[i]
+    private final Object[] stages;
+    private final boolean[] filters;
+    // downstream first, the order in which their modifiers apply
+    private final FluxContextWrite<?>[] contextWrites;
+
+    private final AtomicReferenceArray<TemplateSubscriber<T>> pool;
+    private final int mask;
+
+    private PipelineTemplate(Publisher<Object> source, Object[] stages, boolean[] filters,
+            FluxContextWrite<?>[] contextWrites, int poolSize) {
+        this.source = source;
+        this.stages = stages;
+        this.filters = filters;
+        this.contextWrites = contextWrites;
+        int size = Integer.highestOneBit(poolSize - 1) << 1;
+        this.pool = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+        Hooks.onAssembly(this);
+    }
+
+    static <T> PipelineTemplate<T> of(Publisher<T> pipeline) {
+        return of(pipeline, 16);
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> PipelineTemplate<T> of(Publisher<T> pipeline, int poolSize) {
+        if (poolSize <= 1) {
+            throw new IllegalArgumentException("poolSize must be greater than 1, got " + poolSize);
+        }
+        StageChain chain = StageChain.of(pipeline);
+        return new PipelineTemplate<>((Publisher<Object>) chain.source, chain.stages, chain.filters,
+                chain.contextWrites, poolSize);
+    }
+
+    @Override
+    public void subscribe(Subscriber<T> downstreamSubscriber) {
+        Hooks.onSubscribe(this, downstreamSubscriber);
+        // constant modifiers remember their last input, so a shared downstream
+        // context is only modified once
+        Context context = downstreamSubscriber.currentContext();
+        for (FluxContextWrite<?> write : contextWrites) {
+            context = write.modify(context);
+        }
+        TemplateSubscriber<T> subscriber = acquire();
+        if (subscriber == null) {
+            subscriber = new TemplateSubscriber<>(this);
+        }
+        subscriber.init(downstreamSubscriber, context);
+        source.subscribe(subscriber);
+    }
+
+    @SuppressWarnings("unchecked")
+    Object apply(Object item) {
+        Object[] s = stages;
+        for (int i = 0; i < s.length; i++) {
+            if (filters[i]) {
+                if (!((Predicate<Object>) s[i]).test(item)) {
+                    return StageChain.SKIP;
+                }
+            } else {
+                item = ((Function<Object, Object>) s[i]).apply(item);
+            }
+        }
+        return item;
+    }
+
+    // Pool slots are scanned from a per-thread start index so concurrent
+    // subscribers on different threads rarely contend for the same slot.
+    private TemplateSubscriber<T> acquire() {
+        int start = (int) Thread.currentThread().getId();
+        for (int i = 0; i <= mask; i++) {
+            int j = (start + i) & mask;
+            TemplateSubscriber<T> s = pool.get(j);
+            if (s != null && pool.compareAndSet(j, s, null)) {
+                return s;
+            }
+        }
+        return null;
+    }
+
+    void release(TemplateSubscriber<T> subscriber) {
+        int start = (int) Thread.currentThread().getId();
+        for (int i = 0; i <= mask; i++) {
+            int j = (start + i) & mask;
+            if (pool.get(j) == null && pool.compareAndSet(j, null, subscriber)) {
+                return;
+            }
+        }
+    }
+}
+
+// Runs every stage of a template in one object, and goes back to the pool once
+// upstream is done with it. Downstream never holds it: it gets either the plain
+// upstream subscription or a TemplateSubscription of its own, so a late request
+// or cancel from a finished subscriber cannot reach the next user of the pool.
+class TemplateSubscriber<T> implements Subscriber<Object> {
+    private final PipelineTemplate<T> template;
+
+    private Subscriber<T> downstream;
+    private Context context;
+    private Subscription upstream;
+
+    TemplateSubscriber(PipelineTemplate<T> template) {
+        this.template = template;
+    }
+
+    void init(Subscriber<T> downstream, Context context) {
+        this.downstream = downstream;
+        this.context = context;
+        this.upstream = null;
+    }
+
+    @Override
+    public Context currentContext() {
+        // left in place on release, until init() for the next subscription
+        return context;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void onSubscribe(Subscription subscription) {
+        this.upstream = subscription;
+        if (!(subscription instanceof QueueSubscription)) {
+            downstream.onSubscribe(subscription);
+            return;
+        }
+        TemplateSubscription<T> fused = new TemplateSubscription<>(template, context,
+                (QueueSubscription<Object>) subscription);
+        downstream.onSubscribe(fused);
+        if (fused.sync) {
+            // downstream polls through its TemplateSubscription, and a SYNC
+            // source never signals its subscriber
+            release();
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void onNext(Object item) {
+        Hooks.onNext(this, item);
+        Object result = template.apply(item);
+        if (result == StageChain.SKIP) {
+            upstream.request(1);
+        } else {
+            downstream.onNext((T) result);
+        }
+    }
+
+    @Override
+    public void onComplete() {
+        Hooks.onComplete(this);
+        Subscriber<T> d = downstream;
+        // release before onComplete so a downstream that re-subscribes from
+        // there gets this same object
+        release();
+        d.onComplete();
+    }
+
+    private void release() {
+        downstream = null;
+        upstream = null;
+        template.release(this);
+    }
+}
+
+// What downstream holds when upstream is fusable. It talks to the upstream
+// subscription directly, since the pooled TemplateSubscriber may already serve
+// another subscription while downstream still polls, and reports polled items
+// under a snapshot of this subscription's context.
+class TemplateSubscription<T> implements QueueSubscription<T> {
+    private final PipelineTemplate<T> template;
+    // null while hooks are disabled
+    private final Subscriber<Object> reporter;
+    private final QueueSubscription<Object> qs;
+    // set when downstream took SYNC fusion; read back by onSubscribe
+    boolean sync;
+
+    TemplateSubscription(PipelineTemplate<T> template, Context context, QueueSubscription<Object> qs) {
+        this.template = template;
+        this.reporter = Hooks.ENABLED ? new TemplateReporter(context) : null;
+        this.qs = qs;
+    }
+
+    @Override
+    public void request(long n) {
+        qs.request(n);
+    }
+
+    @Override
+    public void cancel() {
+        qs.cancel();
+    }
+
+    @Override
+    public int requestFusion(int requestedMode) {
+        int mode = qs.requestFusion(requestedMode);
+        sync = mode == SYNC;
+        return mode;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T poll() {
+        Object item;
+        while ((item = qs.poll()) != null) {
+            Hooks.onNext(reporter, item);
+            Object result = template.apply(item);
+            if (result != StageChain.SKIP) {
+                return (T) result;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return qs.isEmpty();
+    }
+
+    @Override
+    public void clear() {
+        qs.clear();
+    }
+}
+
+// The subscriber polled items are reported to the hooks under: only the
+// context of the subscription it belongs to.
+final class TemplateReporter implements Subscriber<Object> {
+    private final Context context;
+
+    TemplateReporter(Context context) {
+        this.context = context;
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+    }
+
+    @Override
+    public void onNext(Object item) {
+    }
+
+    @Override
+    public void onComplete() {
+    }
+
+    @Override
+    public Context currentContext() {
+        return context;
+    }
+}
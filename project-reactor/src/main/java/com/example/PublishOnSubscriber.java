@@ -0,0 +1,220 @@
+package com.example;
+
+import java.util.Queue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Upstream signals land in the queue on the producer thread; the worker drains
+// it and re-requests in batches of `limit` (75% of prefetch) as items leave.
+class PublishOnSubscriber<T> extends CoreSubscriber<T> implements Subscription, Runnable {
+    private final Subscriber<T> downstream;
+    private final Scheduler.Worker worker;
+    private final int prefetch;
+    private final int limit;
+
+    private final AtomicInteger wip = new AtomicInteger();
+    private final AtomicLong requested = new AtomicLong();
+
+    private Subscription upstream;
+    private Queue<T> queue;
+    // set when upstream agreed to SYNC fusion: its own queue is drained directly
+    private QueueSubscription<T> qs;
+    private volatile boolean done;
+    private final AtomicBoolean cancelled = new AtomicBoolean();
+
+    // drain-thread state
+    private long emitted;
+    private int consumed;
+
+    PublishOnSubscriber(Subscriber<T> downstream, Scheduler.Worker worker, int prefetch) {
+        super(downstream);
+        this.downstream = downstream;
+        this.worker = worker;
+        this.prefetch = prefetch;
+        this.limit = prefetch - (prefetch >> 2);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void onSubscribe(Subscription subscription) {
+        this.upstream = subscription;
+        if (subscription instanceof QueueSubscription) {
+            QueueSubscription<T> fused = (QueueSubscription<T>) subscription;
+            if (fused.requestFusion(QueueSubscription.SYNC) == QueueSubscription.SYNC) {
+                this.qs = fused;
+                this.done = true;
+                downstream.onSubscribe(this);
+                return;
+            }
+        }
+        this.queue = new SpscArrayQueue<>(prefetch);
+        downstream.onSubscribe(this);
+        subscription.request(prefetch);
+    }
+
+    @Override
+    public void onNext(T item) {
+        Hooks.onNext(this, item);
+        if (!queue.offer(item)) {
+            throw new IllegalStateException("publishOn queue is full: upstream ignored backpressure");
+        }
+        trySchedule();
+    }
+
+    @Override
+    public void onComplete() {
+        Hooks.onComplete(this);
+        done = true;
+        trySchedule();
+    }
+
+    @Override
+    public void request(long n) {
+        Operators.validate(n);
+        Operators.addCap(requested, n);
+        trySchedule();
+    }
+
+    @Override
+    public void cancel() {
+        if (!cancelled.compareAndSet(false, true)) {
+            return;
+        }
+        upstream.cancel();
+        worker.dispose();
+        if (wip.getAndIncrement() == 0) {
+            clear();
+        }
+    }
+
+    // Called by the drain loops; once cancelled, wip is never lowered again so
+    // later signals cannot schedule another run.
+    private boolean checkCancelled() {
+        if (cancelled.get()) {
+            clear();
+            return true;
+        }
+        return false;
+    }
+
+    private void clear() {
+        if (qs != null) {
+            qs.clear();
+        } else {
+            queue.clear();
+        }
+    }
+
+    private void trySchedule() {
+        if (wip.getAndIncrement() == 0) {
+            try {
+                worker.schedule(this);
+            } catch (RejectedExecutionException e) {
+                rejected();
+            }
+        }
+    }
+
+    // The worker refused the drain, so nothing will lower wip again: stop
+    // upstream and end the sequence here. Subscribers have no error signal, so
+    // downstream completes.
+    private void rejected() {
+        clear();
+        if (cancelled.compareAndSet(false, true)) {
+            upstream.cancel();
+            worker.dispose();
+            downstream.onComplete();
+        }
+    }
+
+    @Override
+    public void run() {
+        if (qs != null) {
+            drainSync();
+        } else {
+            drainAsync();
+        }
+    }
+
+    private void drainSync() {
+        int missed = 1;
+        long e = emitted;
+        for (;;) {
+            long r = requested.get();
+            while (e != r) {
+                if (checkCancelled()) {
+                    return;
+                }
+                T item = qs.poll();
+                if (item == null) {
+                    complete();
+                    return;
+                }
+                downstream.onNext(item);
+                e++;
+            }
+            if (checkCancelled()) {
+                return;
+            }
+            if (qs.isEmpty()) {
+                complete();
+                return;
+            }
+            emitted = e;
+            missed = wip.addAndGet(-missed);
+            if (missed == 0) {
+                return;
+            }
+        }
+    }
+
+    private void drainAsync() {
+        int missed = 1;
+        long e = emitted;
+        int c = consumed;
+        for (;;) {
+            long r = requested.get();
+            while (e != r) {
+                if (checkCancelled()) {
+                    return;
+                }
+                boolean d = done;
+                T item = queue.poll();
+                boolean empty = item == null;
+                if (d && empty) {
+                    complete();
+                    return;
+                }
+                if (empty) {
+                    break;
+                }
+                downstream.onNext(item);
+                e++;
+                if (++c == limit) {
+                    c = 0;
+                    upstream.request(limit);
+                }
+            }
+            if (checkCancelled()) {
+                return;
+            }
+            if (e == r && done && queue.isEmpty()) {
+                complete();
+                return;
+            }
+            emitted = e;
+            consumed = c;
+            missed = wip.addAndGet(-missed);
+            if (missed == 0) {
+                return;
+            }
+        }
+    }
+
+    private void complete() {
+        downstream.onComplete();
+        worker.dispose();
+    }
+}
@@ -0,0 +1,17 @@
+package com.example;
+
+// A Subscription whose items can also be pulled directly. A consumer that gets
+// SYNC back from requestFusion stops calling request and instead drains with
+// poll() until it returns null, which means the source is exhausted.
+interface QueueSubscription<T> extends Subscription {
+    int NONE = 0;
+    int SYNC = 1;
+
+    int requestFusion(int requestedMode);
+
+    T poll();
+
+    boolean isEmpty();
+
+    void clear();
+}
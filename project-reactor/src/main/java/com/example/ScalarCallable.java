@@ -0,0 +1,11 @@
+package com.example;
+
+import java.util.concurrent.Callable;
+
+// Marks a source whose single value (or null for empty) is known at assembly
+// time. Operators that see a plain Callable source instead may evaluate it
+// themselves, but only when they would have subscribed to it.
+interface ScalarCallable<T> extends Callable<T> {
+    @Override
+    T call();
+}
@@ -0,0 +1,64 @@
+package com.example;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Emits the value of a callable on the first request, or completes empty when
+// it returns null. The callable runs at most once and only once it is needed.
+class ScalarSubscription<T> implements QueueSubscription<T> {
+    private static final int READY = 0;
+    private static final int DONE = 1;
+    private static final int CANCELLED = 2;
+
+    private final Subscriber<T> subscriber;
+    private final Callable<T> callable;
+    private final AtomicInteger state = new AtomicInteger();
+
+    ScalarSubscription(Subscriber<T> subscriber, Callable<T> callable) {
+        this.subscriber = subscriber;
+        this.callable = callable;
+    }
+
+    @Override
+    public void request(long n) {
+        Operators.validate(n);
+        if (state.compareAndSet(READY, DONE)) {
+            T value = Operators.call(callable);
+            if (value != null) {
+                subscriber.onNext(value);
+            }
+            if (state.get() != CANCELLED) {
+                subscriber.onComplete();
+            }
+        }
+    }
+
+    @Override
+    public void cancel() {
+        state.set(CANCELLED);
+    }
+
+    @Override
+    public int requestFusion(int requestedMode) {
+        return (requestedMode & SYNC) != 0 ? SYNC : NONE;
+    }
+
+    @Override
+    public T poll() {
+        if (state.get() != READY) {
+            return null;
+        }
+        state.lazySet(DONE);
+        return Operators.call(callable);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return state.get() != READY;
+    }
+
+    @Override
+    public void clear() {
+        state.lazySet(DONE);
+    }
+}
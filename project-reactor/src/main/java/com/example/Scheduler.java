@@ -0,0 +1,20 @@
+package com.example;
+
+import java.util.concurrent.TimeUnit;
+
+interface Scheduler extends Disposable {
+    Worker createWorker();
+
+    // tasks submitted to workers that have not started running yet
+    int queueSize();
+
+    // workers created and not yet disposed
+    int activeWorkers();
+
+    // Runs the tasks given to it one at a time, in submission order.
+    interface Worker extends Disposable {
+        void schedule(Runnable task);
+
+        Disposable schedule(Runnable task, long delay, TimeUnit unit);
+    }
+}
@@ -0,0 +1,77 @@
+package com.example;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+final class Schedulers {
+    static final int DEFAULT_PARALLELISM = Runtime.getRuntime().availableProcessors();
+    static final int DEFAULT_BOUNDED_ELASTIC_SIZE = 10 * DEFAULT_PARALLELISM;
+    static final int DEFAULT_BOUNDED_ELASTIC_QUEUE = 100_000;
+
+    private Schedulers() {
+    }
+
+    static Scheduler parallel() {
+        return SharedParallel.INSTANCE;
+    }
+
+    static Scheduler boundedElastic() {
+        return SharedBoundedElastic.INSTANCE;
+    }
+
+    static Scheduler virtualThreads() {
+        return SharedVirtualThreads.INSTANCE;
+    }
+
+    static ThreadFactory daemonThreadFactory(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return task -> {
+            Thread thread = new Thread(task, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    // one timer thread shared by the executor-backed schedulers for delayed tasks
+    static ScheduledExecutorService timer() {
+        return SharedTimer.INSTANCE;
+    }
+
+    // one hashed timing wheel (1 ms ticks) shared by the time operators
+    static HashedWheelTimer timingWheel() {
+        return SharedTimingWheel.INSTANCE;
+    }
+
+    // holder classes so each shared scheduler only starts threads when first used
+    private static final class SharedParallel {
+        static final Scheduler INSTANCE = new ParallelScheduler(DEFAULT_PARALLELISM, "parallel");
+    }
+
+    private static final class SharedBoundedElastic {
+        static final Scheduler INSTANCE = new BoundedElasticScheduler(
+                DEFAULT_BOUNDED_ELASTIC_SIZE, DEFAULT_BOUNDED_ELASTIC_QUEUE, "boundedElastic");
+    }
+
+    private static final class SharedVirtualThreads {
+        static final Scheduler INSTANCE = new VirtualThreadScheduler();
+    }
+
+    private static final class SharedTimer {
+        static final ScheduledExecutorService INSTANCE = createTimer();
+
+        private static ScheduledExecutorService createTimer() {
+            ScheduledThreadPoolExecutor timer =
+                    new ScheduledThreadPoolExecutor(1, daemonThreadFactory("scheduler-timer"));
+            timer.setRemoveOnCancelPolicy(true);
+            return timer;
+        }
+    }
+
+    private static final class SharedTimingWheel {
+        static final HashedWheelTimer INSTANCE =
+                new HashedWheelTimer(1, TimeUnit.MILLISECONDS, 512, daemonThreadFactory("timing-wheel"));
+    }
+}
@@ -0,0 +1,209 @@
+package com.example;
+
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Items leave the shared queue only when every current subscriber has demand
+// for them, so the slowest subscriber sets the pace and nobody gets a gap.
+// A subscriber sees the items emitted after it joined, plus whatever was still
+// buffered at that point.
+class SinkManyMulticast<T> implements Sinks.Many<T>, Publisher<T> {
+    @SuppressWarnings("rawtypes")
+    private static final MulticastInner[] EMPTY = new MulticastInner[0];
+    @SuppressWarnings("rawtypes")
+    private static final MulticastInner[] TERMINATED = new MulticastInner[0];
+
+    private final Queue<T> queue;
+    private final Sinks.OverflowStrategy overflow;
+
+    private final AtomicBoolean done = new AtomicBoolean();
+    private final AtomicInteger wip = new AtomicInteger();
+    // emitters past their done check: completion waits for them, so an item
+    // reported OK is never offered after the subscribers completed
+    private final AtomicInteger emitting = new AtomicInteger();
+    // copy-on-write array of subscribers; TERMINATED once completion went out
+    private final AtomicReference<MulticastInner<T>[]> subscribers;
+
+    @SuppressWarnings("unchecked")
+    SinkManyMulticast(Queue<T> queue, Sinks.OverflowStrategy overflow) {
+        this.queue = queue;
+        this.overflow = overflow;
+        this.subscribers = new AtomicReference<>(EMPTY);
+        Hooks.onAssembly(this);
+    }
+
+    @Override
+    public Sinks.EmitResult tryEmitNext(T item) {
+        Objects.requireNonNull(item, "item");
+        emitting.getAndIncrement();
+        Sinks.EmitResult result = offer(item);
+        emitting.getAndDecrement();
+        drain();
+        return result;
+    }
+
+    private Sinks.EmitResult offer(T item) {
+        if (done.get()) {
+            return Sinks.EmitResult.FAIL_TERMINATED;
+        }
+        if (!queue.offer(item)) {
+            return overflow == Sinks.OverflowStrategy.DROP_LATEST
+                    ? Sinks.EmitResult.DROPPED
+                    : Sinks.EmitResult.FAIL_OVERFLOW;
+        }
+        return Sinks.EmitResult.OK;
+    }
+
+    @Override
+    public Sinks.EmitResult tryEmitComplete() {
+        if (!done.compareAndSet(false, true)) {
+            return Sinks.EmitResult.FAIL_TERMINATED;
+        }
+        drain();
+        return Sinks.EmitResult.OK;
+    }
+
+    @Override
+    public int currentSubscriberCount() {
+        return subscribers.get().length;
+    }
+
+    @Override
+    public Publisher<T> asFlux() {
+        return this;
+    }
+
+    @Override
+    public void subscribe(Subscriber<T> subscriber) {
+        Hooks.onSubscribe(this, subscriber);
+        MulticastInner<T> inner = new MulticastInner<>(this, subscriber);
+        subscriber.onSubscribe(inner);
+        if (add(inner)) {
+            drain();
+        } else {
+            subscriber.onComplete();
+        }
+    }
+
+    void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        for (;;) {
+            MulticastInner<T>[] inners = subscribers.get();
+            int n = inners.length;
+            if (n != 0) {
+                long available = Long.MAX_VALUE;
+                for (MulticastInner<T> inner : inners) {
+                    available = Math.min(available, inner.requested.get() - inner.emitted);
+                }
+                long e = 0;
+                // a subscriber joining or leaving changes the array and the pace:
+                // stop and recompute rather than poll an item nobody may get
+                while (e != available && subscribers.get() == inners) {
+                    T item = queue.poll();
+                    if (item == null) {
+                        break;
+                    }
+                    for (MulticastInner<T> inner : inners) {
+                        if (!inner.cancelled.get()) {
+                            inner.emitted++;
+                            inner.downstream.onNext(item);
+                        }
+                    }
+                    e++;
+                }
+            }
+            if (done.get() && emitting.get() == 0 && queue.isEmpty()) {
+                @SuppressWarnings("unchecked")
+                MulticastInner<T>[] last = subscribers.getAndSet(TERMINATED);
+                for (MulticastInner<T> inner : last) {
+                    inner.downstream.onComplete();
+                }
+                return;
+            }
+            missed = wip.addAndGet(-missed);
+            if (missed == 0) {
+                return;
+            }
+        }
+    }
+
+    private boolean add(MulticastInner<T> inner) {
+        for (;;) {
+            MulticastInner<T>[] current = subscribers.get();
+            if (current == TERMINATED) {
+                return false;
+            }
+            @SuppressWarnings({"unchecked", "rawtypes"})
+            MulticastInner<T>[] next = new MulticastInner[current.length + 1];
+            System.arraycopy(current, 0, next, 0, current.length);
+            next[current.length] = inner;
+            if (subscribers.compareAndSet(current, next)) {
+                return true;
+            }
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    void remove(MulticastInner<T> inner) {
+        for (;;) {
+            MulticastInner<T>[] current = subscribers.get();
+            int index = -1;
+            for (int i = 0; i < current.length; i++) {
+                if (current[i] == inner) {
+                    index = i;
+                    break;
+                }
+            }
+            if (index < 0) {
+                return;
+            }
+            MulticastInner<T>[] next = EMPTY;
+            if (current.length != 1) {
+                next = new MulticastInner[current.length - 1];
+                System.arraycopy(current, 0, next, 0, index);
+                System.arraycopy(current, index + 1, next, index, current.length - index - 1);
+            }
+            if (subscribers.compareAndSet(current, next)) {
+                return;
+            }
+        }
+    }
+}
+
+class MulticastInner<T> implements Subscription {
+    private final SinkManyMulticast<T> parent;
+    final Subscriber<T> downstream;
+    final AtomicLong requested = new AtomicLong();
+    final AtomicBoolean cancelled = new AtomicBoolean();
+
+    // drain-thread state
+    long emitted;
+
+    MulticastInner(SinkManyMulticast<T> parent, Subscriber<T> downstream) {
+        this.parent = parent;
+        this.downstream = downstream;
+    }
+
+    @Override
+    public void request(long n) {
+        Operators.validate(n);
+        Operators.addCap(requested, n);
+        parent.drain();
+    }
+
+    @Override
+    public void cancel() {
+        if (cancelled.compareAndSet(false, true)) {
+            parent.remove(this);
+            // the remaining subscribers may have been held back by this one
+            parent.drain();
+        }
+    }
+}
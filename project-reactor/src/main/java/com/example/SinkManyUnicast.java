@@ -0,0 +1,138 @@
+package com.example;
+
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+class SinkManyUnicast<T> implements Sinks.Many<T>, Publisher<T>, Subscription {
+    private final Queue<T> queue;
+    private final Sinks.OverflowStrategy overflow;
+
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+    private final AtomicBoolean terminated = new AtomicBoolean();
+    private final AtomicInteger wip = new AtomicInteger();
+    // emitters past their terminated check: completion waits for them, so an
+    // item reported OK is never offered after downstream completed
+    private final AtomicInteger emitting = new AtomicInteger();
+    private final AtomicLong requested = new AtomicLong();
+    private volatile Subscriber<T> actual;
+    private volatile boolean cancelled;
+
+    // drain-thread state
+    private long emitted;
+
+    SinkManyUnicast(Queue<T> queue, Sinks.OverflowStrategy overflow) {
+        this.queue = queue;
+        this.overflow = overflow;
+        Hooks.onAssembly(this);
+    }
+
+    @Override
+    public Sinks.EmitResult tryEmitNext(T item) {
+        Objects.requireNonNull(item, "item");
+        emitting.getAndIncrement();
+        Sinks.EmitResult result = offer(item);
+        emitting.getAndDecrement();
+        drain();
+        return result;
+    }
+
+    private Sinks.EmitResult offer(T item) {
+        if (terminated.get()) {
+            return Sinks.EmitResult.FAIL_TERMINATED;
+        }
+        if (cancelled) {
+            return Sinks.EmitResult.FAIL_CANCELLED;
+        }
+        if (!queue.offer(item)) {
+            return overflow == Sinks.OverflowStrategy.DROP_LATEST
+                    ? Sinks.EmitResult.DROPPED
+                    : Sinks.EmitResult.FAIL_OVERFLOW;
+        }
+        return Sinks.EmitResult.OK;
+    }
+
+    @Override
+    public Sinks.EmitResult tryEmitComplete() {
+        if (!terminated.compareAndSet(false, true)) {
+            return Sinks.EmitResult.FAIL_TERMINATED;
+        }
+        drain();
+        return Sinks.EmitResult.OK;
+    }
+
+    @Override
+    public int currentSubscriberCount() {
+        return actual != null && !cancelled ? 1 : 0;
+    }
+
+    @Override
+    public Publisher<T> asFlux() {
+        return this;
+    }
+
+    @Override
+    public void subscribe(Subscriber<T> subscriber) {
+        Hooks.onSubscribe(this, subscriber);
+        if (!subscribed.compareAndSet(false, true)) {
+            throw new IllegalStateException("Sinks.many().unicast() allows only one subscriber");
+        }
+        subscriber.onSubscribe(this);
+        actual = subscriber;
+        drain();
+    }
+
+    @Override
+    public void request(long n) {
+        Operators.validate(n);
+        Operators.addCap(requested, n);
+        drain();
+    }
+
+    @Override
+    public void cancel() {
+        cancelled = true;
+        drain();
+    }
+
+    private void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        for (;;) {
+            if (cancelled) {
+                queue.clear();
+                return;
+            }
+            Subscriber<T> a = actual;
+            if (a != null) {
+                long r = requested.get();
+                long e = emitted;
+                while (e != r) {
+                    T item = queue.poll();
+                    if (item == null) {
+                        break;
+                    }
+                    a.onNext(item);
+                    e++;
+                    if (cancelled) {
+                        queue.clear();
+                        return;
+                    }
+                }
+                emitted = e;
+                if (terminated.get() && emitting.get() == 0 && queue.isEmpty()) {
+                    a.onComplete();
+                    return;
+                }
+            }
+            missed = wip.addAndGet(-missed);
+            if (missed == 0) {
+                return;
+            }
+        }
+    }
+}
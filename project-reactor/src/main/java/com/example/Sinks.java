@@ -0,0 +1,78 @@
+package com.example;
+
+// Entry point for pushing items into a pipeline from outside it, from any
+// number of threads. Emitters never block and never take a lock: items go
+// into an MPSC queue and a single wip-guarded drain delivers them downstream.
+final class Sinks {
+    private Sinks() {
+    }
+
+    static ManySpec many() {
+        return ManySpec.INSTANCE;
+    }
+
+    enum EmitResult {
+        OK,
+        FAIL_TERMINATED,
+        FAIL_OVERFLOW,
+        FAIL_CANCELLED,
+        // the sink was full and DROP_LATEST discarded the item
+        DROPPED;
+
+        boolean isSuccess() {
+            return this == OK;
+        }
+    }
+
+    // What a bounded sink does with an item that does not fit.
+    enum OverflowStrategy {
+        // reject it with FAIL_OVERFLOW; the caller keeps it and may retry
+        FAIL_FAST,
+        // drop it and report DROPPED, for signals where only recent ones matter
+        DROP_LATEST
+    }
+
+    interface Many<T> {
+        EmitResult tryEmitNext(T item);
+
+        EmitResult tryEmitComplete();
+
+        int currentSubscriberCount();
+
+        Publisher<T> asFlux();
+    }
+
+    static final class ManySpec {
+        static final ManySpec INSTANCE = new ManySpec();
+
+        private ManySpec() {
+        }
+
+        // One subscriber; buffers without bound until it requests.
+        <T> Many<T> unicast() {
+            return new SinkManyUnicast<>(new MpscLinkedQueue<>(), OverflowStrategy.FAIL_FAST);
+        }
+
+        <T> Many<T> unicast(int capacity, OverflowStrategy overflow) {
+            return new SinkManyUnicast<>(new MpscArrayQueue<>(validate(capacity)), overflow);
+        }
+
+        // Any number of subscribers, each item delivered to all of them at the
+        // pace of the slowest. Items emitted before the first subscriber wait
+        // in the buffer.
+        <T> Many<T> multicast() {
+            return multicast(256, OverflowStrategy.FAIL_FAST);
+        }
+
+        <T> Many<T> multicast(int capacity, OverflowStrategy overflow) {
+            return new SinkManyMulticast<>(new MpscArrayQueue<>(validate(capacity)), overflow);
+        }
+
+        private static int validate(int capacity) {
+            if (capacity <= 0) {
+                throw new IllegalArgumentException("capacity must be positive, got " + capacity);
+            }
+            return capacity;
+        }
+    }
+}
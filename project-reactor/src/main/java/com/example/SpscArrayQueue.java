@@ -0,0 +1,170 @@
+package com.example;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.AbstractQueue;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+// Bounded single-producer/single-consumer queue. A slot is free while it holds
+// null, so producer and consumer only meet on the slot they both touch. The two
+// indices sit on separate cache lines (superclass fields are laid out first),
+// so the producer and the consumer thread do not invalidate each other's line.
+final class SpscArrayQueue<E> extends SpscArrayQueueConsumerIndex<E> {
+    private static final VarHandle SLOT = MethodHandles.arrayElementVarHandle(Object[].class);
+
+    private final Object[] buffer;
+    private final int mask;
+
+    SpscArrayQueue(int capacity) {
+        int size = capacity <= 2 ? 2 : 1 << (32 - Integer.numberOfLeadingZeros(capacity - 1));
+        this.buffer = new Object[size];
+        this.mask = size - 1;
+    }
+
+    @Override
+    public boolean offer(E item) {
+        if (item == null) {
+            throw new NullPointerException();
+        }
+        long index = producerIndex;
+        int offset = (int) index & mask;
+        if (SLOT.getAcquire(buffer, offset) != null) {
+            return false;
+        }
+        SLOT.setRelease(buffer, offset, item);
+        PRODUCER_INDEX.setRelease(this, index + 1);
+        return true;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E poll() {
+        long index = consumerIndex;
+        int offset = (int) index & mask;
+        Object item = SLOT.getAcquire(buffer, offset);
+        if (item == null) {
+            return null;
+        }
+        SLOT.setRelease(buffer, offset, null);
+        CONSUMER_INDEX.setRelease(this, index + 1);
+        return (E) item;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E peek() {
+        return (E) SLOT.getAcquire(buffer, (int) consumerIndex & mask);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return (long) PRODUCER_INDEX.getVolatile(this) == (long) CONSUMER_INDEX.getVolatile(this);
+    }
+
+    @Override
+    public int size() {
+        for (;;) {
+            long before = (long) CONSUMER_INDEX.getVolatile(this);
+            long producer = (long) PRODUCER_INDEX.getVolatile(this);
+            long after = (long) CONSUMER_INDEX.getVolatile(this);
+            if (before == after) {
+                return (int) (producer - after);
+            }
+        }
+    }
+
+    @Override
+    public void clear() {
+        while (poll() != null) {
+            // drain
+        }
+    }
+
+    // Weakly consistent and read-only, for toString() and contains(): it walks
+    // the items present when it was created and skips those consumed meanwhile.
+    @Override
+    public Iterator<E> iterator() {
+        return new Itr();
+    }
+
+    private final class Itr implements Iterator<E> {
+        private final long end = (long) PRODUCER_INDEX.getVolatile(SpscArrayQueue.this);
+        private long index = (long) CONSUMER_INDEX.getVolatile(SpscArrayQueue.this);
+        private E next = advance();
+
+        @SuppressWarnings("unchecked")
+        private E advance() {
+            while (index < end) {
+                long i = index++;
+                Object item = SLOT.getAcquire(buffer, (int) i & mask);
+                long consumer = (long) CONSUMER_INDEX.getVolatile(SpscArrayQueue.this);
+                if (consumer > i) {
+                    // consumed, and the slot maybe reused, while we looked
+                    index = Math.max(index, consumer);
+                } else if (item != null) {
+                    return (E) item;
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public E next() {
+            E item = next;
+            if (item == null) {
+                throw new NoSuchElementException();
+            }
+            next = advance();
+            return item;
+        }
+    }
+}
+
+abstract class SpscArrayQueuePad0<E> extends AbstractQueue<E> {
+    long p00, p01, p02, p03, p04, p05, p06, p07;
+    long p08, p09, p0a, p0b, p0c, p0d, p0e, p0f;
+}
+
+abstract class SpscArrayQueueProducerIndex<E> extends SpscArrayQueuePad0<E> {
+    static final VarHandle PRODUCER_INDEX;
+
+    static {
+        try {
+            PRODUCER_INDEX = MethodHandles.lookup()
+                    .findVarHandle(SpscArrayQueueProducerIndex.class, "producerIndex", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    long producerIndex;
+}
+
+abstract class SpscArrayQueuePad1<E> extends SpscArrayQueueProducerIndex<E> {
+    long p10, p11, p12, p13, p14, p15, p16, p17;
+    long p18, p19, p1a, p1b, p1c, p1d, p1e, p1f;
+}
+
+abstract class SpscArrayQueueConsumerIndex<E> extends SpscArrayQueuePad1<E> {
+    static final VarHandle CONSUMER_INDEX;
+
+    static {
+        try {
+            CONSUMER_INDEX = MethodHandles.lookup()
+                    .findVarHandle(SpscArrayQueueConsumerIndex.class, "consumerIndex", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    long consumerIndex;
+
+    long p20, p21, p22, p23, p24, p25, p26, p27;
+    long p28, p29, p2a, p2b, p2c, p2d, p2e, p2f;
+}
@@ -0,0 +1,68 @@
+package com.example;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// The map/filter/contextWrite stages at the bottom of an assembled chain,
+// flattened once. PipelineCompiler and PipelineTemplate both start from this,
+// so the two agree on what they fuse and in which order.
+final class StageChain {
+    // stands in for an item a filter stage dropped
+    static final Object SKIP = new Object();
+
+    // the first publisher that is not one of the stages
+    final Publisher<?> source;
+    // upstream first; each entry is a Function, or a Predicate when filters[i]
+    final Object[] stages;
+    final boolean[] filters;
+    // downstream first, the order in which their modifiers apply
+    final FluxContextWrite<?>[] contextWrites;
+
+    private StageChain(Publisher<?> source, Object[] stages, boolean[] filters,
+            FluxContextWrite<?>[] contextWrites) {
+        this.source = source;
+        this.stages = stages;
+        this.filters = filters;
+        this.contextWrites = contextWrites;
+    }
+
+    static StageChain of(Publisher<?> pipeline) {
+        // walked from downstream to upstream, then reversed
+        List<Object> stages = new ArrayList<>();
+        List<Boolean> filters = new ArrayList<>();
+        List<FluxContextWrite<?>> contextWrites = new ArrayList<>();
+        Publisher<?> p = pipeline;
+        for (;;) {
+            if (p instanceof FluxMap) {
+                FluxMap<?, ?> map = (FluxMap<?, ?>) p;
+                stages.add(map.mapper);
+                filters.add(false);
+                p = map.upstream;
+            } else if (p instanceof FluxFilter) {
+                FluxFilter<?> filter = (FluxFilter<?>) p;
+                stages.add(filter.predicate);
+                filters.add(true);
+                if (filter.mapper != null) {
+                    stages.add(filter.mapper);
+                    filters.add(false);
+                }
+                p = filter.upstream;
+            } else if (p instanceof FluxContextWrite) {
+                FluxContextWrite<?> write = (FluxContextWrite<?>) p;
+                contextWrites.add(write);
+                p = write.upstream;
+            } else {
+                break;
+            }
+        }
+
+        int n = stages.size();
+        Object[] stageArray = new Object[n];
+        boolean[] filterArray = new boolean[n];
+        for (int i = 0; i < n; i++) {
+            stageArray[i] = stages.get(n - 1 - i);
+            filterArray[i] = filters.get(n - 1 - i);
+        }
+        return new StageChain(p, stageArray, filterArray, contextWrites.toArray(new FluxContextWrite<?>[0]));
+    }
+}
@@ -0,0 +1,106 @@
+package com.example;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Counters shared by every metrics(name) stage with the same name. Updates are
+// striped (LongAdder and LatencyHistogram) so busy stages do not contend on a
+// single cache line; snapshot() sums them.
+final class StageMetrics {
+    private static final ConcurrentHashMap<String, StageMetrics> REGISTRY = new ConcurrentHashMap<>();
+
+    final String name;
+    final LongAdder subscribed = new LongAdder();
+    final LongAdder completed = new LongAdder();
+    final LongAdder cancelled = new LongAdder();
+    final LongAdder delivered = new LongAdder();
+    // requested but not yet delivered, over subscribers with bounded demand
+    final LongAdder demand = new LongAdder();
+    final LongAdder unbounded = new LongAdder();
+    final LatencyHistogram requestToOnNext = new LatencyHistogram();
+    final LatencyHistogram lifetime = new LatencyHistogram();
+
+    // guarded by this: the previous snapshot, for items/sec
+    private long lastSnapshotNanos;
+    private long lastDelivered;
+
+    private StageMetrics(String name) {
+        this.name = name;
+        this.lastSnapshotNanos = System.nanoTime();
+    }
+
+    static StageMetrics of(String name) {
+        return REGISTRY.computeIfAbsent(name, StageMetrics::new);
+    }
+
+    static List<Snapshot> snapshotAll() {
+        List<Snapshot> snapshots = new ArrayList<>();
+        for (StageMetrics metrics : REGISTRY.values()) {
+            snapshots.add(metrics.snapshot());
+        }
+        return snapshots;
+    }
+
+    // items/sec covers the time since the previous snapshot of this stage
+    synchronized Snapshot snapshot() {
+        long now = System.nanoTime();
+        long total = delivered.sum();
+        double seconds = (now - lastSnapshotNanos) / 1e9;
+        double rate = seconds > 0 ? (total - lastDelivered) / seconds : 0;
+        lastSnapshotNanos = now;
+        lastDelivered = total;
+        long subs = subscribed.sum();
+        long done = completed.sum();
+        long cancels = cancelled.sum();
+        return new Snapshot(name, subs, done, cancels, total, rate, demand.sum(), unbounded.sum(),
+                requestToOnNext.snapshot(), lifetime.snapshot());
+    }
+
+    static final class Snapshot {
+        final String name;
+        final long subscribed;
+        final long completed;
+        final long cancelled;
+        final long delivered;
+        final double itemsPerSecond;
+        final long outstandingDemand;
+        final long unboundedSubscribers;
+        final LatencyHistogram.Snapshot requestToOnNext;
+        final LatencyHistogram.Snapshot lifetime;
+
+        Snapshot(String name, long subscribed, long completed, long cancelled, long delivered, double itemsPerSecond,
+                long outstandingDemand, long unboundedSubscribers, LatencyHistogram.Snapshot requestToOnNext,
+                LatencyHistogram.Snapshot lifetime) {
+            this.name = name;
+            this.subscribed = subscribed;
+            this.completed = completed;
+            this.cancelled = cancelled;
+            this.delivered = delivered;
+            this.itemsPerSecond = itemsPerSecond;
+            this.outstandingDemand = outstandingDemand;
+            this.unboundedSubscribers = unboundedSubscribers;
+            this.requestToOnNext = requestToOnNext;
+            this.lifetime = lifetime;
+        }
+
+        long active() {
+            return subscribed - completed - cancelled;
+        }
+
+        @Override
+        public String toString() {
+            return "StageMetrics{" + name
+                    + ", active=" + active()
+                    + ", completed=" + completed
+                    + ", cancelled=" + cancelled
+                    + ", delivered=" + delivered
+                    + ", itemsPerSecond=" + String.format("%.1f", itemsPerSecond)
+                    + ", outstandingDemand=" + outstandingDemand
+                    + ", unboundedSubscribers=" + unboundedSubscribers
+                    + ", requestToOnNext[" + requestToOnNext + "]"
+                    + ", lifetime[" + lifetime + "]}";
+        }
+    }
+}
@@ -2,4 +2,8 @@ package com.example;
 
 interface Subscription {
     void request(long n);
+
+    // Stops the flow of items; idempotent and safe to call from any thread.
+    // Items already in flight may still arrive after it returns.
+    void cancel();
 }
@@ -0,0 +1,18 @@
+package com.example;
+
+// Prints what the operators used to print unconditionally.
+class TracingHook implements Hook {
+
+    @Override
+    public void onNext(Subscriber<?> subscriber, Object item) {
+        System.out.println(subscriber.getClass().getSimpleName() + ": ctx = " + subscriber.currentContext()
+                + ", item = " + item);
+    }
+
+    @Override
+    public void onContextRead(Publisher<?> publisher, Context context) {
+        String name = publisher.getClass().getSimpleName();
+        System.out.println(name + ": traceId = " + context.getOrDefault("traceId", "no-trace"));
+        System.out.println(name + ": userId = " + context.getOrDefault("userId", "no-userId"));
+    }
+}
@@ -0,0 +1,99 @@
+package com.example;
+
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// A window emitted by the window operators: buffers what the operator pushes
+// into it until its single subscriber requests it.
+class UnicastWindow<T> implements Publisher<T>, Subscription {
+    private final Queue<T> queue;
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+    private final AtomicInteger wip = new AtomicInteger();
+    private final AtomicLong requested = new AtomicLong();
+    private volatile Subscriber<T> actual;
+    private volatile boolean done;
+    // the window keeps being filled by its operator; a cancelled one just drops items
+    private volatile boolean cancelled;
+
+    // drain-thread state
+    private long emitted;
+
+    UnicastWindow(Queue<T> queue) {
+        this.queue = queue;
+    }
+
+    @Override
+    public void subscribe(Subscriber<T> subscriber) {
+        if (!subscribed.compareAndSet(false, true)) {
+            throw new IllegalStateException("A window allows only one subscriber");
+        }
+        subscriber.onSubscribe(this);
+        actual = subscriber;
+        drain();
+    }
+
+    void next(T item) {
+        if (cancelled) {
+            return;
+        }
+        if (!queue.offer(item)) {
+            throw new IllegalStateException("window queue is full");
+        }
+        drain();
+    }
+
+    void complete() {
+        done = true;
+        drain();
+    }
+
+    @Override
+    public void request(long n) {
+        Operators.validate(n);
+        Operators.addCap(requested, n);
+        drain();
+    }
+
+    @Override
+    public void cancel() {
+        cancelled = true;
+        drain();
+    }
+
+    private void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        for (;;) {
+            if (cancelled) {
+                queue.clear();
+                return;
+            }
+            Subscriber<T> a = actual;
+            if (a != null) {
+                long r = requested.get();
+                long e = emitted;
+                while (e != r) {
+                    T item = queue.poll();
+                    if (item == null) {
+                        break;
+                    }
+                    a.onNext(item);
+                    e++;
+                }
+                emitted = e;
+                if (done && queue.isEmpty()) {
+                    a.onComplete();
+                    return;
+                }
+            }
+            missed = wip.addAndGet(-missed);
+            if (missed == 0) {
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.example;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Every drain runs on a fresh virtual thread. The module targets Java 17, so
+// the JDK 21 factory is looked up reflectively; on older runtimes this falls
+// back to a cached pool of platform threads.
+class VirtualThreadScheduler extends ExecutorScheduler {
+
+    VirtualThreadScheduler() {
+        super(newExecutor());
+    }
+
+    private static ExecutorService newExecutor() {
+        try {
+            MethodHandle factory = MethodHandles.publicLookup().findStatic(Executors.class,
+                    "newVirtualThreadPerTaskExecutor", MethodType.methodType(ExecutorService.class));
+            return (ExecutorService) factory.invoke();
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return Executors.newCachedThreadPool(Schedulers.daemonThreadFactory("virtual-fallback"));
+        } catch (Throwable e) {
+            throw new IllegalStateException("Cannot create virtual thread executor", e);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class BoundedElasticSchedulerTest {
+
+    // With its only thread busy, tasks wait up to the cap, across workers,
+    // and the next one is rejected; once the thread frees up they all run.
+    @Test
+    void pendingTasksAreCappedAcrossWorkers() throws InterruptedException {
+        BoundedElasticScheduler scheduler = new BoundedElasticScheduler(1, 2, "test-elastic");
+        try {
+            CountDownLatch started = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            scheduler.createWorker().schedule(() -> {
+                started.countDown();
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+
+            CountDownLatch ran = new CountDownLatch(2);
+            scheduler.createWorker().schedule(ran::countDown);
+            scheduler.createWorker().schedule(ran::countDown);
+            assertEquals(2, scheduler.queueSize());
+            Scheduler.Worker rejected = scheduler.createWorker();
+            assertThrows(RejectedExecutionException.class, () -> rejected.schedule(ran::countDown));
+
+            release.countDown();
+            assertTrue(ran.await(10, TimeUnit.SECONDS));
+        } finally {
+            scheduler.dispose();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class DoubleFluxTest {
+
+    // A dropped item is re-requested, so the filter still fills the demand.
+    // The values used are exact in binary, so they compare equal.
+    @Test
+    void mapAndFilterHonourDemand() {
+        TestSubscriber<Double> subscriber = new TestSubscriber<>(2);
+        new DoubleFluxBoxed(new DoubleFluxFilter(
+                new DoubleFluxMap(new DoubleFluxJust(1, 2, 3, 4, 5, 6), d -> d / 4), d -> d != 0.75))
+                .subscribe(subscriber);
+        assertEquals(List.of(0.25, 0.5), subscriber.items);
+
+        subscriber.request(5);
+        assertEquals(List.of(0.25, 0.5, 1.0, 1.25, 1.5), subscriber.items);
+        assertTrue(subscriber.completed);
+    }
+
+    @Test
+    void consecutiveMapsAndFiltersFuse() {
+        DoubleFluxMap map = new DoubleFluxMap(new DoubleFluxMap(new DoubleFluxJust(1, 2), d -> d + 1), d -> d / 2);
+        assertTrue(map.upstream instanceof DoubleFluxJust);
+        DoubleFluxFilter filter = new DoubleFluxFilter(new DoubleFluxFilter(map, d -> d > 1), d -> d < 2);
+        assertSame(map, filter.upstream);
+
+        TestSubscriber<Double> subscriber = new TestSubscriber<>();
+        new DoubleFluxBoxed(filter).subscribe(subscriber);
+        assertEquals(List.of(1.5), subscriber.items);
+    }
+
+    // The result waits for a request; without an identity an empty source
+    // completes without a value.
+    @Test
+    void reduceWaitsForDemand() {
+        TestSubscriber<Double> sum = new TestSubscriber<>(0);
+        new DoubleFluxBoxed(DoubleFluxReduce.sum(new DoubleFluxJust(0.5, 0.25, 2))).subscribe(sum);
+        assertEquals(List.of(), sum.items);
+        sum.request(1);
+        assertEquals(List.of(2.75), sum.items);
+        assertTrue(sum.completed);
+
+        TestSubscriber<Double> emptySum = new TestSubscriber<>();
+        new DoubleFluxBoxed(DoubleFluxReduce.sum(new DoubleFluxJust())).subscribe(emptySum);
+        assertEquals(List.of(0.0), emptySum.items);
+
+        TestSubscriber<Double> emptyMin = new TestSubscriber<>();
+        new DoubleFluxBoxed(DoubleFluxReduce.min(new DoubleFluxJust())).subscribe(emptyMin);
+        assertEquals(List.of(), emptyMin.items);
+        assertTrue(emptyMin.completed);
+
+        TestSubscriber<Double> max = new TestSubscriber<>();
+        new DoubleFluxBoxed(DoubleFluxReduce.max(new DoubleFluxJust(-0.5, 4.5, 1))).subscribe(max);
+        assertEquals(List.of(4.5), max.items);
+    }
+
+    @Test
+    void mapToDoubleBridgesABoxedSource() {
+        TestSubscriber<Double> subscriber = new TestSubscriber<>(1);
+        new DoubleFluxBoxed(new FluxMapToDouble<>(new FluxJust<>(1, 2, 3), i -> i / 2.0)).subscribe(subscriber);
+        assertEquals(List.of(0.5), subscriber.items);
+        subscriber.request(2);
+        assertEquals(List.of(0.5, 1.0, 1.5), subscriber.items);
+        assertTrue(subscriber.completed);
+    }
+}
@@ -0,0 +1,114 @@
+package com.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.junit.jupiter.api.Test;
+
+class ExecutorSchedulerTest {
+
+    // The executor holds the drains it is given, so tasks stay queued until
+    // the test runs them.
+    @Test
+    void workersRejectTasksPastTheCap() {
+        List<Runnable> drains = new ArrayList<>();
+        List<String> ran = new ArrayList<>();
+        ExecutorScheduler scheduler = new ExecutorScheduler(drains::add, 2);
+        Scheduler.Worker worker = scheduler.createWorker();
+
+        worker.schedule(() -> ran.add("a"));
+        worker.schedule(() -> ran.add("b"));
+        assertThrows(RejectedExecutionException.class, () -> worker.schedule(() -> ran.add("c")));
+        assertEquals(2, scheduler.queueSize());
+        assertEquals(1, drains.size());
+
+        drains.remove(0).run();
+        assertEquals(List.of("a", "b"), ran);
+        assertEquals(0, scheduler.queueSize());
+
+        worker.schedule(() -> ran.add("c"));
+        drains.remove(0).run();
+        assertEquals(List.of("a", "b", "c"), ran);
+    }
+
+    // A drain the executor refused is undone, so the next schedule() hands
+    // the executor a fresh one instead of waiting on a drain that never runs.
+    @Test
+    void workerRecoversFromARejectedDrain() {
+        boolean[] reject = {true};
+        List<String> ran = new ArrayList<>();
+        ExecutorScheduler scheduler = new ExecutorScheduler(drain -> {
+            if (reject[0]) {
+                throw new RejectedExecutionException("busy");
+            }
+            drain.run();
+        });
+        Scheduler.Worker worker = scheduler.createWorker();
+
+        assertThrows(RejectedExecutionException.class, () -> worker.schedule(() -> ran.add("a")));
+        assertEquals(0, scheduler.queueSize());
+
+        reject[0] = false;
+        worker.schedule(() -> ran.add("b"));
+        assertEquals(List.of("b"), ran);
+        assertEquals(0, scheduler.queueSize());
+    }
+
+    @Test
+    void workersAreDisposedOnce() {
+        ExecutorScheduler scheduler = new ExecutorScheduler(Runnable::run);
+        Scheduler.Worker first = scheduler.createWorker();
+        scheduler.createWorker();
+        assertEquals(2, scheduler.activeWorkers());
+
+        first.dispose();
+        first.dispose();
+        assertTrue(first.isDisposed());
+        assertEquals(1, scheduler.activeWorkers());
+
+        List<String> ran = new ArrayList<>();
+        first.schedule(() -> ran.add("late"));
+        assertEquals(List.of(), ran);
+        assertEquals(0, scheduler.queueSize());
+    }
+
+    @Test
+    void racingDisposesCountOnce() throws InterruptedException {
+        ExecutorScheduler scheduler = new ExecutorScheduler(Runnable::run);
+        for (int round = 0; round < 1000; round++) {
+            Scheduler.Worker worker = scheduler.createWorker();
+            CyclicBarrier start = new CyclicBarrier(3);
+            Thread[] threads = new Thread[3];
+            for (int i = 0; i < threads.length; i++) {
+                threads[i] = new Thread(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException | BrokenBarrierException e) {
+                        throw new AssertionError(e);
+                    }
+                    worker.dispose();
+                });
+                threads[i].start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            assertEquals(0, scheduler.activeWorkers());
+        }
+    }
+
+    @Test
+    void disposedSchedulerRefusesWorkers() {
+        ExecutorScheduler scheduler = new ExecutorScheduler(Runnable::run);
+        scheduler.dispose();
+        assertTrue(scheduler.isDisposed());
+        assertThrows(RejectedExecutionException.class, scheduler::createWorker);
+    }
+}
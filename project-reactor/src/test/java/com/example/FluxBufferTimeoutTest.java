@@ -0,0 +1,76 @@
+package com.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class FluxBufferTimeoutTest {
+
+    @Test
+    void emitsFullListsAndTheRemainderOnComplete() {
+        TestPublisher<Integer> source = new TestPublisher<>();
+        TestSubscriber<List<Integer>> subscriber = new TestSubscriber<>();
+        new FluxBufferTimeout<>(source, 2, Duration.ofSeconds(1), new ManualScheduler()).subscribe(subscriber);
+
+        source.next(1, 2, 3, 4, 5);
+        source.complete();
+
+        assertEquals(List.of(List.of(1, 2), List.of(3, 4), List.of(5)), subscriber.items);
+        assertTrue(subscriber.completed);
+    }
+
+    @Test
+    void timerClosesAPartialList() {
+        TestPublisher<Integer> source = new TestPublisher<>();
+        TestSubscriber<List<Integer>> subscriber = new TestSubscriber<>(1);
+        ManualScheduler scheduler = new ManualScheduler();
+        new FluxBufferTimeout<>(source, 4, Duration.ofSeconds(1), scheduler).subscribe(subscriber);
+
+        source.next(1, 2);
+        scheduler.fireTimers();
+
+        assertEquals(List.of(List.of(1, 2)), subscriber.items);
+    }
+
+    // A list closed by the timer after one item used up a whole request.
+    // Upstream is topped up by the items closed lists took, not by maxSize per
+    // request, so the three items still owed for the first list are all the
+    // surplus it can build up.
+    @Test
+    void listsCutShortByTheTimerDoNotInflateUpstreamDemand() {
+        TestPublisher<Integer> source = new TestPublisher<>();
+        TestSubscriber<List<Integer>> subscriber = new TestSubscriber<>(2);
+        ManualScheduler scheduler = new ManualScheduler();
+        new FluxBufferTimeout<>(source, 4, Duration.ofSeconds(1), scheduler).subscribe(subscriber);
+
+        assertEquals(8, source.requested);
+        source.next(1);
+        scheduler.fireTimers();
+        source.next(2, 3, 4, 5);
+        assertEquals(List.of(List.of(1), List.of(2, 3, 4, 5)), subscriber.items);
+        assertEquals(8, source.requested);
+
+        subscriber.request(1);
+        assertEquals(9, source.requested);
+    }
+
+    @Test
+    void cancelStopsUpstreamOnce() {
+        TestPublisher<Integer> source = new TestPublisher<>();
+        TestSubscriber<List<Integer>> subscriber = new TestSubscriber<>(1);
+        new FluxBufferTimeout<>(source, 4, Duration.ofSeconds(1), new ManualScheduler()).subscribe(subscriber);
+
+        source.next(1);
+        subscriber.cancel();
+        subscriber.cancel();
+        source.next(2);
+        source.complete();
+
+        assertEquals(1, source.cancelled);
+        assertEquals(List.of(), subscriber.items);
+    }
+}
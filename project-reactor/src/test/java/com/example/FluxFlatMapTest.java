@@ -0,0 +1,81 @@
+package com.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class FluxFlatMapTest {
+
+    // Odd items map to scalar justs and even ones to inners driven by hand.
+    // Scalars keep their order among themselves, nothing goes out beyond
+    // downstream demand, and upstream gets one item back per finished scalar
+    // or inner.
+    @Test
+    void scalarsAndInnersShareDemandAndReplenishUpstream() {
+        TestPublisher<Integer> source = new TestPublisher<>();
+        Map<Integer, TestPublisher<Integer>> inners = new HashMap<>();
+        TestSubscriber<Integer> subscriber = new TestSubscriber<>(0);
+        new FluxFlatMap<Integer, Integer>(source, i -> {
+            if (i % 2 != 0) {
+                return new FluxJust<>(i * 10);
+            }
+            TestPublisher<Integer> inner = new TestPublisher<>();
+            inners.put(i, inner);
+            return inner;
+        }, 4, 2).subscribe(subscriber);
+        assertEquals(4, source.requested);
+
+        // no demand yet: both scalars wait, the inner prefetches
+        source.next(1, 2, 3);
+        inners.get(2).next(20);
+        assertEquals(List.of(), subscriber.items);
+        assertEquals(2, inners.get(2).requested);
+
+        subscriber.request(2);
+        assertEquals(List.of(10, 30), subscriber.items);
+        assertEquals(6, source.requested);
+
+        subscriber.request(1);
+        assertEquals(List.of(10, 30, 20), subscriber.items);
+
+        // a queued scalar goes ahead of items buffered in an inner
+        source.next(5);
+        inners.get(2).next(21);
+        assertEquals(List.of(10, 30, 20), subscriber.items);
+        subscriber.request(1);
+        assertEquals(List.of(10, 30, 20, 50), subscriber.items);
+        subscriber.request(1);
+        assertEquals(List.of(10, 30, 20, 50, 21), subscriber.items);
+        assertEquals(7, source.requested);
+
+        // with demand and nothing queued a scalar goes straight through
+        subscriber.request(1);
+        source.next(7);
+        assertEquals(List.of(10, 30, 20, 50, 21, 70), subscriber.items);
+        assertEquals(8, source.requested);
+
+        inners.get(2).complete();
+        assertEquals(9, source.requested);
+        source.complete();
+        assertTrue(subscriber.completed);
+    }
+
+    // Inners that fuse are polled directly and still obey downstream demand.
+    @Test
+    void fusedInnersAreEmittedWithinDemand() {
+        TestSubscriber<Integer> subscriber = new TestSubscriber<>(0);
+        new FluxFlatMap<Integer, Integer>(new FluxJust<>(1, 2), i -> new FluxJust<>(i, i * 10), 1, 4)
+                .subscribe(subscriber);
+
+        subscriber.request(3);
+        assertEquals(List.of(1, 10, 2), subscriber.items);
+        subscriber.request(1);
+        assertEquals(List.of(1, 10, 2, 20), subscriber.items);
+        assertTrue(subscriber.completed);
+    }
+}
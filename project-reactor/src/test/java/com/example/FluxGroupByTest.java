@@ -0,0 +1,279 @@
+package com.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+
+import org.junit.jupiter.api.Test;
+
+class FluxGroupByTest {
+
+    // With one group allowed, "b1" parks behind the busy group "a". Draining
+    // "a" makes the group's thread ingest "b1"; right after it finds nothing
+    // more parked, upstream parks its last item "c1" and completes, and both
+    // return early because the group's thread holds the ingest loop. That
+    // loop must still open group "c" before completing downstream.
+    @Test
+    void lastParkedItemSurvivesCompletionDuringGroupIngest() {
+        ManualSource source = new ManualSource();
+        GroupCollector collector = new GroupCollector();
+        SteppingQueue<String> parked = new SteppingQueue<>();
+        GroupByMain<String, Character> main = new GroupByMain<>(
+                collector, new ObjectGroupTable<>(s -> s.charAt(0)), 1, 4, parked);
+        source.subscribe(main);
+
+        source.next("a1");
+        source.next("b1");
+        parked.onEmptyPeek = () -> {
+            source.next("c1");
+            source.complete();
+        };
+        collector.groupA.request(1);
+
+        assertTrue(collector.completed);
+        assertEquals(List.of('a', 'b', 'c'), collector.keys);
+        assertEquals(List.of("a1", "b1", "c1"), collector.items);
+    }
+
+    // At the limit a new key evicts the group idle the longest, never one that
+    // still holds items.
+    @Test
+    void newKeyAtMaxGroupsEvictsTheLongestIdleGroup() {
+        ManualSource source = new ManualSource();
+        GroupCollector collector = new GroupCollector();
+        source.subscribe(new GroupByMain<>(collector, new ObjectGroupTable<>(s -> s.charAt(0)), 2, 4));
+
+        source.next("a1");
+        source.next("b1");
+        source.next("c1");
+        assertEquals(List.of('b'), collector.closed);
+
+        // a goes idle after c, so c goes first
+        collector.groupA.request(1);
+        source.next("d1");
+        source.next("e1");
+        assertEquals(List.of('b', 'c', 'a'), collector.closed);
+        assertEquals(List.of('a', 'b', 'c', 'd', 'e'), collector.keys);
+        assertEquals(List.of("b1", "c1", "a1", "d1", "e1"), collector.items);
+    }
+
+    // Cancelling the busy group drops its items and makes room, so the parked
+    // items are delivered, and everything that left is re-requested.
+    @Test
+    void cancellingAGroupResumesParkedItems() {
+        ManualSource source = new ManualSource();
+        GroupCollector collector = new GroupCollector();
+        source.subscribe(new GroupByMain<>(collector, new ObjectGroupTable<>(s -> s.charAt(0)), 1, 4));
+
+        source.next("a1");
+        source.next("b1");
+        source.next("b2");
+        assertEquals(List.of('a'), collector.keys);
+        assertEquals(4, source.requested);
+
+        collector.groupA.cancel();
+        assertEquals(List.of('a', 'b'), collector.keys);
+        assertEquals(List.of("b1", "b2"), collector.items);
+        // a1 dropped plus b1 and b2 delivered reach the limit of 3
+        assertEquals(7, source.requested);
+    }
+
+    // Three keys homed at the last slot sit at 15, 0 and 1, and a key homed
+    // at 0 sits at 2. Removing from that wrapped run must shift the rest back
+    // so that every remaining key is still found without opening a group.
+    @Test
+    void longTableRemovalShiftsAWrappedProbeChainBack() {
+        List<Long> home15 = keysHomedAt(15, 3);
+        long homed0 = keysHomedAt(0, 1).get(0);
+        LongGroupTable<Long, Long> table = new LongGroupTable<>(k -> k, Long::valueOf);
+        List<GroupedPublisher<Long, Long>> opened = new ArrayList<>();
+        GroupByMain<Long, Long> main = new GroupByMain<>(new Subscriber<>() {
+            @Override
+            public void onSubscribe(Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(GroupedPublisher<Long, Long> group) {
+                opened.add(group);
+            }
+
+            @Override
+            public void onComplete() {
+            }
+
+            @Override
+            public Context currentContext() {
+                return Context.EMPTY;
+            }
+        }, table, 16, 16);
+        main.onSubscribe(new Subscription() {
+            @Override
+            public void request(long n) {
+            }
+
+            @Override
+            public void cancel() {
+            }
+        });
+
+        Map<Long, UnicastGroup<Long, Long>> groups = new HashMap<>();
+        for (long key : List.of(home15.get(0), home15.get(1), home15.get(2), homed0)) {
+            groups.put(key, table.get(key, main));
+        }
+        assertEquals(4, opened.size());
+
+        UnicastGroup<Long, Long> first = groups.remove(home15.get(0));
+        assertTrue(table.remove(first));
+        assertFalse(table.remove(first));
+        assertTrue(table.remove(groups.remove(home15.get(2))));
+        assertEquals(2, table.size());
+        for (Map.Entry<Long, UnicastGroup<Long, Long>> entry : groups.entrySet()) {
+            assertSame(entry.getValue(), table.get(entry.getKey(), main));
+        }
+        assertEquals(4, opened.size());
+    }
+
+    // mirrors LongGroupTable.slot() for a table of 16
+    private static List<Long> keysHomedAt(int slot, int count) {
+        List<Long> keys = new ArrayList<>();
+        for (long key = 1; keys.size() < count; key++) {
+            if (((int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & 15) == slot) {
+                keys.add(key);
+            }
+        }
+        return keys;
+    }
+
+    private static final class ManualSource implements Publisher<String> {
+        private Subscriber<String> subscriber;
+        long requested;
+
+        @Override
+        public void subscribe(Subscriber<String> subscriber) {
+            this.subscriber = subscriber;
+            subscriber.onSubscribe(new Subscription() {
+                @Override
+                public void request(long n) {
+                    requested += n;
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+        }
+
+        void next(String item) {
+            subscriber.onNext(item);
+        }
+
+        void complete() {
+            subscriber.onComplete();
+        }
+    }
+
+    // Runs onEmptyPeek once, after a peek has found the queue empty but before
+    // the caller sees the result.
+    private static final class SteppingQueue<E> extends AbstractQueue<E> {
+        private final Queue<E> queue = new SpscArrayQueue<>(4);
+        Runnable onEmptyPeek;
+
+        @Override
+        public E peek() {
+            E item = queue.peek();
+            Runnable step = onEmptyPeek;
+            if (item == null && step != null) {
+                onEmptyPeek = null;
+                step.run();
+            }
+            return item;
+        }
+
+        @Override
+        public boolean offer(E item) {
+            return queue.offer(item);
+        }
+
+        @Override
+        public E poll() {
+            return queue.poll();
+        }
+
+        @Override
+        public Iterator<E> iterator() {
+            return queue.iterator();
+        }
+
+        @Override
+        public int size() {
+            return queue.size();
+        }
+    }
+
+    // Takes every group; group "a" is held without demand until the test
+    // requests from it, the others are drained unbounded.
+    private static final class GroupCollector implements Subscriber<GroupedPublisher<Character, String>> {
+        final List<Character> keys = new ArrayList<>();
+        final List<String> items = new ArrayList<>();
+        // keys of the groups completed so far
+        final List<Character> closed = new ArrayList<>();
+        boolean completed;
+        Subscription groupA;
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(GroupedPublisher<Character, String> group) {
+            keys.add(group.key());
+            boolean held = group.key() == 'a';
+            group.subscribe(new Subscriber<>() {
+                @Override
+                public void onSubscribe(Subscription subscription) {
+                    if (held) {
+                        groupA = subscription;
+                    } else {
+                        subscription.request(Long.MAX_VALUE);
+                    }
+                }
+
+                @Override
+                public void onNext(String item) {
+                    items.add(item);
+                }
+
+                @Override
+                public void onComplete() {
+                    closed.add(group.key());
+                }
+
+                @Override
+                public Context currentContext() {
+                    return Context.EMPTY;
+                }
+            });
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+
+        @Override
+        public Context currentContext() {
+            return Context.EMPTY;
+        }
+    }
+}
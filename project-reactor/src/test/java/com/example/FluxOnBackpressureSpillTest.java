@@ -0,0 +1,144 @@
+package com.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class FluxOnBackpressureSpillTest {
+    @TempDir
+    Path dir;
+
+    // 4-byte items make 8-byte records: two fill a 16-byte segment exactly
+    private static final FluxOnBackpressureSpill.Serializer<Integer> INTS = new FluxOnBackpressureSpill.Serializer<>() {
+        @Override
+        public byte[] serialize(Integer item) {
+            return ByteBuffer.allocate(4).putInt(item).array();
+        }
+
+        @Override
+        public Integer deserialize(byte[] bytes) {
+            return ByteBuffer.wrap(bytes).getInt();
+        }
+    };
+
+    @Test
+    void ringThenDiskThenRingKeepsOrderAcrossSegments() {
+        TestPublisher<Integer> source = new TestPublisher<>();
+        TestSubscriber<Integer> subscriber = new TestSubscriber<>(0);
+        new FluxOnBackpressureSpill<>(source, INTS, dir, 16, 2).subscribe(subscriber);
+
+        // 1, 2 fill the ring; 3..7 go to three segments
+        source.next(1, 2, 3, 4, 5, 6, 7);
+        assertEquals(3, files());
+        subscriber.request(3);
+        assertEquals(List.of(1, 2, 3), subscriber.items);
+        // reading 5 moves past the first segment and deletes it
+        subscriber.request(2);
+        assertEquals(2, files());
+
+        // disk is not empty yet, so 8 is spilled behind 7 rather than queued
+        // in the emptied ring ahead of it
+        source.next(8);
+        subscriber.request(3);
+        assertEquals(1, files());
+        assertEquals(List.of(1, 2, 3, 4, 5, 6, 7, 8), subscriber.items);
+
+        // all read back: the ring is used again, and overflows into a new segment
+        source.next(9, 10, 11, 12);
+        assertEquals(2, files());
+        subscriber.request(Long.MAX_VALUE);
+        assertEquals(1, files());
+        source.complete();
+
+        assertEquals(List.of(1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12), subscriber.items);
+        assertTrue(subscriber.completed);
+        assertEquals(0, files());
+    }
+
+    // After one record a 12-byte segment has 4 bytes left: too few for the
+    // next record, so the writer leaves an END_OF_SEGMENT marker there.
+    @Test
+    void readerFollowsEndOfSegmentMarker() {
+        roundTrip(12);
+    }
+
+    // After two records an 18-byte segment has 2 bytes left, no room for a
+    // marker; the reader moves on by itself.
+    @Test
+    void readerMovesOnWhenFewerThanFourBytesRemain() {
+        roundTrip(18);
+    }
+
+    private void roundTrip(int segmentSize) {
+        TestPublisher<Integer> source = new TestPublisher<>();
+        TestSubscriber<Integer> subscriber = new TestSubscriber<>(0);
+        new FluxOnBackpressureSpill<>(source, INTS, dir, segmentSize, 1).subscribe(subscriber);
+
+        source.next(1, 2, 3, 4, 5, 6);
+        source.complete();
+        subscriber.request(Long.MAX_VALUE);
+
+        assertEquals(List.of(1, 2, 3, 4, 5, 6), subscriber.items);
+        assertTrue(subscriber.completed);
+        assertEquals(0, files());
+    }
+
+    @Test
+    void cancelDeletesUnreadSegments() {
+        TestPublisher<Integer> source = new TestPublisher<>();
+        TestSubscriber<Integer> subscriber = new TestSubscriber<>(1);
+        new FluxOnBackpressureSpill<>(source, INTS, dir, 16, 1).subscribe(subscriber);
+
+        // 1 goes straight out, 2 waits in the ring, 3..6 fill two segments
+        source.next(1, 2, 3, 4, 5, 6);
+        assertEquals(2, files());
+        subscriber.cancel();
+        subscriber.cancel();
+
+        assertEquals(List.of(1), subscriber.items);
+        assertEquals(1, source.cancelled);
+        assertEquals(0, files());
+    }
+
+    @Test
+    void rejectsItemsTooLargeForASegment() {
+        TestPublisher<String> source = new TestPublisher<>();
+        new FluxOnBackpressureSpill<>(source, new FluxOnBackpressureSpill.Serializer<String>() {
+            @Override
+            public byte[] serialize(String item) {
+                return item.getBytes(StandardCharsets.UTF_8);
+            }
+
+            @Override
+            public String deserialize(byte[] bytes) {
+                return new String(bytes, StandardCharsets.UTF_8);
+            }
+        }, dir, 12, 1).subscribe(new TestSubscriber<>(0));
+
+        source.next("ring");
+        // a 4-byte prefix and 8 bytes fill the segment exactly
+        source.next("8 bytes!");
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> source.next("9 bytes!!"));
+        assertTrue(e.getMessage().contains("9 bytes"), e.getMessage());
+    }
+
+    private long files() {
+        try (Stream<Path> list = Files.list(dir)) {
+            return list.count();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
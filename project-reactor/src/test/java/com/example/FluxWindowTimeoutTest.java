@@ -0,0 +1,63 @@
+package com.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class FluxWindowTimeoutTest {
+
+    @Test
+    void sizeAndTimerBothCloseWindows() {
+        TestPublisher<Integer> source = new TestPublisher<>();
+        ManualScheduler scheduler = new ManualScheduler();
+        List<TestSubscriber<Integer>> windows = new ArrayList<>();
+        TestSubscriber<Publisher<Integer>> subscriber = new TestSubscriber<>() {
+            @Override
+            public void onNext(Publisher<Integer> window) {
+                TestSubscriber<Integer> inner = new TestSubscriber<>();
+                windows.add(inner);
+                window.subscribe(inner);
+            }
+        };
+        new FluxWindowTimeout<>(source, 2, Duration.ofSeconds(1), scheduler).subscribe(subscriber);
+
+        source.next(1, 2, 3);
+        scheduler.fireTimers();
+        source.next(4);
+        source.complete();
+
+        assertEquals(3, windows.size());
+        assertEquals(List.of(1, 2), windows.get(0).items);
+        assertEquals(List.of(3), windows.get(1).items);
+        assertEquals(List.of(4), windows.get(2).items);
+        assertTrue(windows.get(1).completed);
+        assertTrue(subscriber.completed);
+    }
+
+    @Test
+    void windowsCutShortByTheTimerDoNotInflateUpstreamDemand() {
+        TestPublisher<Integer> source = new TestPublisher<>();
+        ManualScheduler scheduler = new ManualScheduler();
+        TestSubscriber<Publisher<Integer>> subscriber = new TestSubscriber<>(2) {
+            @Override
+            public void onNext(Publisher<Integer> window) {
+                window.subscribe(new TestSubscriber<>());
+            }
+        };
+        new FluxWindowTimeout<>(source, 4, Duration.ofSeconds(1), scheduler).subscribe(subscriber);
+
+        assertEquals(8, source.requested);
+        source.next(1);
+        scheduler.fireTimers();
+        source.next(2, 3, 4, 5);
+        assertEquals(8, source.requested);
+
+        subscriber.request(1);
+        assertEquals(9, source.requested);
+    }
+}
@@ -0,0 +1,73 @@
+package com.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class IntFluxTest {
+
+    // A dropped item is re-requested, so the filter still fills the demand.
+    @Test
+    void mapAndFilterHonourDemand() {
+        TestSubscriber<Integer> subscriber = new TestSubscriber<>(2);
+        new IntFluxBoxed(new IntFluxFilter(
+                new IntFluxMap(new IntFluxJust(1, 2, 3, 4, 5, 6), i -> i * 3), i -> i % 2 == 0))
+                .subscribe(subscriber);
+        assertEquals(List.of(6, 12), subscriber.items);
+
+        subscriber.request(5);
+        assertEquals(List.of(6, 12, 18), subscriber.items);
+        assertTrue(subscriber.completed);
+    }
+
+    @Test
+    void consecutiveMapsAndFiltersFuse() {
+        IntFluxMap map = new IntFluxMap(new IntFluxMap(new IntFluxJust(1, 2), i -> i + 1), i -> i * 10);
+        assertTrue(map.upstream instanceof IntFluxJust);
+        IntFluxFilter filter = new IntFluxFilter(new IntFluxFilter(map, i -> i > 20), i -> i < 40);
+        assertSame(map, filter.upstream);
+
+        TestSubscriber<Integer> subscriber = new TestSubscriber<>();
+        new IntFluxBoxed(filter).subscribe(subscriber);
+        assertEquals(List.of(30), subscriber.items);
+    }
+
+    // The result waits for a request; without an identity an empty source
+    // completes without a value.
+    @Test
+    void reduceWaitsForDemand() {
+        TestSubscriber<Integer> sum = new TestSubscriber<>(0);
+        new IntFluxBoxed(IntFluxReduce.sum(new IntFluxJust(1, 2, 3, 4))).subscribe(sum);
+        assertEquals(List.of(), sum.items);
+        sum.request(1);
+        assertEquals(List.of(10), sum.items);
+        assertTrue(sum.completed);
+
+        TestSubscriber<Integer> emptySum = new TestSubscriber<>();
+        new IntFluxBoxed(IntFluxReduce.sum(new IntFluxJust())).subscribe(emptySum);
+        assertEquals(List.of(0), emptySum.items);
+
+        TestSubscriber<Integer> emptyMin = new TestSubscriber<>();
+        new IntFluxBoxed(IntFluxReduce.min(new IntFluxJust())).subscribe(emptyMin);
+        assertEquals(List.of(), emptyMin.items);
+        assertTrue(emptyMin.completed);
+
+        TestSubscriber<Integer> max = new TestSubscriber<>();
+        new IntFluxBoxed(IntFluxReduce.max(new IntFluxJust(3, -7, 5))).subscribe(max);
+        assertEquals(List.of(5), max.items);
+    }
+
+    @Test
+    void mapToIntBridgesABoxedSource() {
+        TestSubscriber<Integer> subscriber = new TestSubscriber<>(1);
+        new IntFluxBoxed(new FluxMapToInt<>(new FluxJust<>("a", "bb", "ccc"), String::length)).subscribe(subscriber);
+        assertEquals(List.of(1), subscriber.items);
+        subscriber.request(2);
+        assertEquals(List.of(1, 2, 3), subscriber.items);
+        assertTrue(subscriber.completed);
+    }
+}
@@ -0,0 +1,75 @@
+package com.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class LongFluxTest {
+
+    private static final long BIG = 1L << 40;
+
+    // A dropped item is re-requested, so the filter still fills the demand.
+    @Test
+    void mapAndFilterHonourDemand() {
+        TestSubscriber<Long> subscriber = new TestSubscriber<>(2);
+        new LongFluxBoxed(new LongFluxFilter(
+                new LongFluxMap(new LongFluxJust(1, 2, 3, 4, 5, 6), i -> i * BIG), i -> i % (2 * BIG) == 0))
+                .subscribe(subscriber);
+        assertEquals(List.of(2 * BIG, 4 * BIG), subscriber.items);
+
+        subscriber.request(5);
+        assertEquals(List.of(2 * BIG, 4 * BIG, 6 * BIG), subscriber.items);
+        assertTrue(subscriber.completed);
+    }
+
+    @Test
+    void consecutiveMapsAndFiltersFuse() {
+        LongFluxMap map = new LongFluxMap(new LongFluxMap(new LongFluxJust(1, 2), i -> i + 1), i -> i * BIG);
+        assertTrue(map.upstream instanceof LongFluxJust);
+        LongFluxFilter filter = new LongFluxFilter(new LongFluxFilter(map, i -> i > BIG), i -> i < 3 * BIG);
+        assertSame(map, filter.upstream);
+
+        TestSubscriber<Long> subscriber = new TestSubscriber<>();
+        new LongFluxBoxed(filter).subscribe(subscriber);
+        assertEquals(List.of(2 * BIG), subscriber.items);
+    }
+
+    // The result waits for a request; without an identity an empty source
+    // completes without a value.
+    @Test
+    void reduceWaitsForDemand() {
+        TestSubscriber<Long> sum = new TestSubscriber<>(0);
+        new LongFluxBoxed(LongFluxReduce.sum(new LongFluxJust(BIG, BIG, 1))).subscribe(sum);
+        assertEquals(List.of(), sum.items);
+        sum.request(1);
+        assertEquals(List.of(2 * BIG + 1), sum.items);
+        assertTrue(sum.completed);
+
+        TestSubscriber<Long> emptySum = new TestSubscriber<>();
+        new LongFluxBoxed(LongFluxReduce.sum(new LongFluxJust())).subscribe(emptySum);
+        assertEquals(List.of(0L), emptySum.items);
+
+        TestSubscriber<Long> emptyMax = new TestSubscriber<>();
+        new LongFluxBoxed(LongFluxReduce.max(new LongFluxJust())).subscribe(emptyMax);
+        assertEquals(List.of(), emptyMax.items);
+        assertTrue(emptyMax.completed);
+
+        TestSubscriber<Long> min = new TestSubscriber<>();
+        new LongFluxBoxed(LongFluxReduce.min(new LongFluxJust(3, -BIG, 5))).subscribe(min);
+        assertEquals(List.of(-BIG), min.items);
+    }
+
+    @Test
+    void mapToLongBridgesABoxedSource() {
+        TestSubscriber<Long> subscriber = new TestSubscriber<>(1);
+        new LongFluxBoxed(new FluxMapToLong<>(new FluxJust<>(1, 2, 3), i -> i * BIG)).subscribe(subscriber);
+        assertEquals(List.of(BIG), subscriber.items);
+        subscriber.request(2);
+        assertEquals(List.of(BIG, 2 * BIG, 3 * BIG), subscriber.items);
+        assertTrue(subscriber.completed);
+    }
+}
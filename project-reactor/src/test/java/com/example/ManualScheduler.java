@@ -0,0 +1,85 @@
+package com.example;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Runs tasks in place, and delayed ones only when the test fires them.
+final class ManualScheduler implements Scheduler {
+    private final List<Runnable> timers = new ArrayList<>();
+    private int workers;
+
+    void fireTimers() {
+        List<Runnable> due = new ArrayList<>(timers);
+        timers.clear();
+        due.forEach(Runnable::run);
+    }
+
+    @Override
+    public Worker createWorker() {
+        workers++;
+        return new Worker() {
+            private boolean disposed;
+
+            @Override
+            public void schedule(Runnable task) {
+                if (!disposed) {
+                    task.run();
+                }
+            }
+
+            @Override
+            public Disposable schedule(Runnable task, long delay, TimeUnit unit) {
+                boolean[] cancelled = new boolean[1];
+                timers.add(() -> {
+                    if (!cancelled[0] && !disposed) {
+                        task.run();
+                    }
+                });
+                return new Disposable() {
+                    @Override
+                    public void dispose() {
+                        cancelled[0] = true;
+                    }
+
+                    @Override
+                    public boolean isDisposed() {
+                        return cancelled[0];
+                    }
+                };
+            }
+
+            @Override
+            public void dispose() {
+                if (!disposed) {
+                    disposed = true;
+                    workers--;
+                }
+            }
+
+            @Override
+            public boolean isDisposed() {
+                return disposed;
+            }
+        };
+    }
+
+    @Override
+    public int queueSize() {
+        return timers.size();
+    }
+
+    @Override
+    public int activeWorkers() {
+        return workers;
+    }
+
+    @Override
+    public void dispose() {
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return false;
+    }
+}
@@ -0,0 +1,96 @@
+package com.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+
+import org.junit.jupiter.api.Test;
+
+class MpscQueueTest {
+    private static final int PRODUCERS = 4;
+    private static final int PER_PRODUCER = 200_000;
+
+    @Test
+    void arrayQueueKeepsEveryProducersItemsInOrder() throws InterruptedException {
+        stress(new MpscArrayQueue<>(64));
+    }
+
+    @Test
+    void linkedQueueKeepsEveryProducersItemsInOrder() throws InterruptedException {
+        stress(new MpscLinkedQueue<>());
+    }
+
+    @Test
+    void arrayQueueRejectsOffersPastCapacity() {
+        Queue<Integer> queue = new MpscArrayQueue<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(queue.offer(i));
+        }
+        assertFalse(queue.offer(4));
+        assertEquals(0, queue.poll());
+        assertTrue(queue.offer(4));
+        assertEquals(4, queue.size());
+    }
+
+    @Test
+    void iteratorsSkipConsumedItems() {
+        for (Queue<Integer> queue : List.<Queue<Integer>>of(new MpscArrayQueue<>(8), new MpscLinkedQueue<>())) {
+            for (int i = 0; i < 5; i++) {
+                queue.offer(i);
+            }
+            queue.poll();
+            queue.poll();
+
+            assertEquals(List.of(2, 3, 4), new ArrayList<>(queue));
+            assertEquals("[2, 3, 4]", queue.toString());
+            assertTrue(queue.contains(3));
+            assertFalse(queue.contains(1));
+            queue.clear();
+            assertNull(queue.poll());
+            assertFalse(queue.iterator().hasNext());
+        }
+    }
+
+    // Producers retry while the queue is full; the consumer checks that each
+    // producer's items arrive once each and in the order they were offered.
+    // Both sides yield rather than spin, so this also runs on a single core.
+    private static void stress(Queue<Long> queue) throws InterruptedException {
+        List<Thread> producers = new ArrayList<>();
+        for (int p = 0; p < PRODUCERS; p++) {
+            long producer = p;
+            Thread thread = new Thread(() -> {
+                for (long seq = 0; seq < PER_PRODUCER; seq++) {
+                    Long item = producer << 32 | seq;
+                    while (!queue.offer(item)) {
+                        Thread.yield();
+                    }
+                }
+            });
+            producers.add(thread);
+            thread.start();
+        }
+
+        long[] next = new long[PRODUCERS];
+        for (int received = 0; received < PRODUCERS * PER_PRODUCER; ) {
+            Long item = queue.poll();
+            if (item == null) {
+                Thread.yield();
+                continue;
+            }
+            int producer = (int) (item >>> 32);
+            assertEquals(next[producer], item & 0xFFFF_FFFFL);
+            next[producer]++;
+            received++;
+        }
+        for (Thread thread : producers) {
+            thread.join();
+        }
+        assertNull(queue.poll());
+        assertTrue(queue.isEmpty());
+    }
+}
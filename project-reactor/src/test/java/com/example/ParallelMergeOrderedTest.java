@@ -0,0 +1,113 @@
+package com.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class ParallelMergeOrderedTest {
+
+    // Rails of different lengths: rail 0 carries 0, 1, 2, rail 1 carries 3
+    // and rail 2 carries 4, 5. The merge emits the smallest head, waits while
+    // an unfinished rail is empty, and stops waiting on a rail once it is done.
+    @Test
+    void smallestHeadWinsAcrossUnevenRails() {
+        ManualRails rails = new ManualRails(3);
+        TestSubscriber<Integer> subscriber = new TestSubscriber<>();
+        new ParallelMergeOrdered<>(rails, 4).subscribe(subscriber);
+
+        rails.next(0, 0, 1, 2);
+        rails.next(2, 4);
+        assertEquals(List.of(), subscriber.items);
+
+        rails.next(1, 3);
+        assertEquals(List.of(0, 1, 2), subscriber.items);
+
+        rails.rail(0).complete();
+        assertEquals(List.of(0, 1, 2, 3), subscriber.items);
+        rails.rail(1).complete();
+        assertEquals(List.of(0, 1, 2, 3, 4), subscriber.items);
+
+        rails.next(2, 5);
+        rails.rail(2).complete();
+        assertEquals(List.of(0, 1, 2, 3, 4, 5), subscriber.items);
+        assertTrue(subscriber.completed);
+    }
+
+    // Demand caps the merge even when every rail has items, and each rail is
+    // re-requested from what was taken off it.
+    @Test
+    void mergeHonoursDemandAndReplenishesEachRail() {
+        ManualRails rails = new ManualRails(2);
+        TestSubscriber<Integer> subscriber = new TestSubscriber<>(2);
+        new ParallelMergeOrdered<>(rails, 4).subscribe(subscriber);
+        assertEquals(4, rails.rail(0).requested);
+
+        rails.next(0, 0, 2, 3, 4);
+        rails.next(1, 1, 5);
+        assertEquals(List.of(0, 1), subscriber.items);
+
+        subscriber.request(3);
+        assertEquals(List.of(0, 1, 2, 3, 4), subscriber.items);
+        // rail 0 is re-requested once 3 of its items, the limit, are taken
+        assertEquals(7, rails.rail(0).requested);
+        assertEquals(4, rails.rail(1).requested);
+
+        rails.rail(0).complete();
+        rails.rail(1).complete();
+        assertFalse(subscriber.completed);
+        subscriber.request(1);
+        assertEquals(List.of(0, 1, 2, 3, 4, 5), subscriber.items);
+        assertTrue(subscriber.completed);
+    }
+
+    // Ordered rails fed by hand with explicit sequence numbers.
+    private static final class ManualRails extends ParallelPublisher<Integer> {
+        private final TestPublisher<Indexed<Integer>>[] rails;
+
+        @SuppressWarnings("unchecked")
+        ManualRails(int parallelism) {
+            rails = new TestPublisher[parallelism];
+            for (int i = 0; i < parallelism; i++) {
+                rails[i] = new TestPublisher<>();
+            }
+        }
+
+        @Override
+        int parallelism() {
+            return rails.length;
+        }
+
+        @Override
+        boolean ordered() {
+            return true;
+        }
+
+        @Override
+        void subscribe(Subscriber<Integer>[] subscribers) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        void subscribeOrdered(Subscriber<Indexed<Integer>>[] subscribers) {
+            validate(subscribers);
+            for (int i = 0; i < rails.length; i++) {
+                rails[i].subscribe(subscribers[i]);
+            }
+        }
+
+        TestPublisher<Indexed<Integer>> rail(int rail) {
+            return rails[rail];
+        }
+
+        // the items double as their sequence numbers
+        void next(int rail, int... items) {
+            for (int item : items) {
+                rails[rail].next(new Indexed<>(item, item));
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class ParallelSchedulerTest {
+
+    @Test
+    void workerRunsItsTasksInOrder() throws InterruptedException {
+        ParallelScheduler scheduler = new ParallelScheduler(2, "test-parallel");
+        try {
+            Scheduler.Worker worker = scheduler.createWorker();
+            List<Integer> ran = Collections.synchronizedList(new ArrayList<>());
+            CountDownLatch done = new CountDownLatch(1);
+            for (int i = 0; i < 100; i++) {
+                int task = i;
+                worker.schedule(() -> ran.add(task));
+            }
+            worker.schedule(done::countDown);
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+
+            List<Integer> expected = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                expected.add(i);
+            }
+            assertEquals(expected, ran);
+        } finally {
+            scheduler.dispose();
+        }
+    }
+
+    // Tasks already queued on the loop are skipped once their worker is
+    // disposed, and disposing twice counts once.
+    @Test
+    void disposedWorkerSkipsQueuedTasks() throws InterruptedException {
+        ParallelScheduler scheduler = new ParallelScheduler(1, "test-parallel");
+        try {
+            Scheduler.Worker blocked = scheduler.createWorker();
+            Scheduler.Worker other = scheduler.createWorker();
+            assertEquals(2, scheduler.activeWorkers());
+
+            CountDownLatch started = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            List<String> ran = Collections.synchronizedList(new ArrayList<>());
+            other.schedule(() -> {
+                started.countDown();
+                awaitQuietly(release);
+            });
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+            blocked.schedule(() -> ran.add("skipped"));
+            blocked.dispose();
+            blocked.dispose();
+            assertEquals(1, scheduler.activeWorkers());
+
+            CountDownLatch done = new CountDownLatch(1);
+            other.schedule(done::countDown);
+            release.countDown();
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+            assertEquals(List.of(), ran);
+        } finally {
+            scheduler.dispose();
+        }
+        assertThrows(RejectedExecutionException.class, scheduler::createWorker);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+
+class PipelineCompilerTest {
+
+    private static List<Supplier<Publisher<Integer>>> pipelines() {
+        return List.of(
+                () -> new FluxMap<>(new FluxJust<>(1, 2, 3, 4, 5), x -> x * 10),
+                () -> new FluxFilter<>(new FluxMap<>(new FluxJust<>(1, 2, 3, 4, 5, 6), x -> x + 1), x -> x % 2 == 0),
+                () -> new FluxMap<>(new FluxFilter<>(new FluxContextWrite<>(
+                        new FluxMap<>(new FluxJust<>(3, 4, 5, 6, 7, 8, 9), x -> x * x),
+                        ctx -> ctx.put("k", "v")), x -> x % 3 != 0), x -> x - 1),
+                () -> new FluxFilter<>(new FluxJust<>(1, 2, 3), x -> false),
+                () -> new FluxMap<>(new MonoJust<>(7), x -> x * 6),
+                () -> new FluxMap<>(MonoEmpty.<Integer>instance(), x -> x * 6));
+    }
+
+    @Test
+    void compiledPipelinesEmitWhatThePlainOnesDo() {
+        for (Supplier<Publisher<Integer>> pipeline : pipelines()) {
+            List<Integer> expected = TestSubscriber.collect(pipeline.get(), Long.MAX_VALUE);
+            Publisher<Integer> compiled = PipelineCompiler.compile(pipeline.get());
+            assertTrue(compiled instanceof CompiledFlux);
+
+            assertEquals(expected, TestSubscriber.collect(compiled, Long.MAX_VALUE));
+            // one item per request, so each drain stops mid-array
+            assertEquals(expected, TestSubscriber.collect(compiled, 1));
+            assertEquals(expected, TestSubscriber.poll(compiled));
+        }
+    }
+
+    @Test
+    void otherChainsComeBackUnchanged() {
+        Publisher<Integer> buffered = new FluxMap<>(new FluxBuffer<>(new FluxJust<>(1, 2), 2), List::size);
+        assertSame(buffered, PipelineCompiler.compile(buffered));
+    }
+
+    @Test
+    void resubscribingFromOnCompleteStartsOver() {
+        Publisher<Integer> compiled = PipelineCompiler.compile(
+                new FluxFilter<>(new FluxJust<>(1, 2, 3, 4), x -> x % 2 == 0));
+        List<Integer> received = new ArrayList<>();
+        AtomicInteger rounds = new AtomicInteger();
+        compiled.subscribe(new TestSubscriber<>() {
+            @Override
+            public void onNext(Integer item) {
+                received.add(item);
+            }
+
+            @Override
+            public void onComplete() {
+                if (rounds.incrementAndGet() < 3) {
+                    compiled.subscribe(this);
+                }
+            }
+        });
+
+        assertEquals(3, rounds.get());
+        assertEquals(List.of(2, 4, 2, 4, 2, 4), received);
+    }
+
+    // The compiled loop is shared by every subscription; only the
+    // subscription holds per-subscriber state.
+    @Test
+    void concurrentSubscribersEachGetTheWholeSequence() throws InterruptedException {
+        Publisher<Integer> compiled = PipelineCompiler.compile(
+                new FluxMap<>(new FluxFilter<>(new FluxJust<>(1, 2, 3, 4, 5, 6, 7, 8), x -> x % 2 == 1), x -> x * 3));
+        List<Integer> expected = List.of(3, 9, 15, 21);
+        List<String> failures = Collections.synchronizedList(new ArrayList<>());
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            long demand = t % 2 == 0 ? Long.MAX_VALUE : 1;
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    List<Integer> items = TestSubscriber.collect(compiled, demand);
+                    if (!items.equals(expected)) {
+                        failures.add(items.toString());
+                        return;
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(List.of(), failures);
+    }
+
+    @Test
+    void cancellingStopsTheLoop() {
+        Publisher<Integer> compiled = PipelineCompiler.compile(new FluxMap<>(new FluxJust<>(1, 2, 3, 4), x -> x));
+        TestSubscriber<Integer> subscriber = new TestSubscriber<>(0) {
+            @Override
+            public void onNext(Integer item) {
+                super.onNext(item);
+                if (item == 2) {
+                    cancel();
+                }
+            }
+        };
+        compiled.subscribe(subscriber);
+        subscriber.request(10);
+
+        assertEquals(List.of(1, 2), subscriber.items);
+        assertFalse(subscriber.completed);
+    }
+}
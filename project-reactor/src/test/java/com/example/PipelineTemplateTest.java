@@ -0,0 +1,240 @@
+package com.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+
+class PipelineTemplateTest {
+    // emits the "user" entry of the context it was subscribed with, twice
+    private static final Publisher<Object> USER = subscriber -> {
+        Object user = subscriber.currentContext().get("user");
+        new FluxJust<>(user, user).subscribe(subscriber);
+    };
+
+    private static List<Supplier<Publisher<Integer>>> pipelines() {
+        return List.of(
+                () -> new FluxMap<>(new FluxJust<>(1, 2, 3, 4, 5), x -> x * 10),
+                () -> new FluxFilter<>(new FluxMap<>(new FluxJust<>(1, 2, 3, 4, 5, 6), x -> x + 1), x -> x % 2 == 0),
+                () -> new FluxMap<>(new FluxFilter<>(new FluxContextWrite<>(
+                        new FluxMap<>(new FluxJust<>(3, 4, 5, 6, 7, 8, 9), x -> x * x),
+                        ctx -> ctx.put("k", "v")), x -> x % 3 != 0), x -> x - 1),
+                () -> new FluxFilter<>(new FluxJust<>(1, 2, 3), x -> false),
+                // not fusable: items are pushed through the pooled subscriber
+                () -> new FluxFilter<>(new FluxMap<>(hideFusion(new FluxJust<>(1, 2, 3, 4)), x -> x * 2), x -> x != 4));
+    }
+
+    @Test
+    void templatesEmitWhatThePlainPipelinesDo() {
+        for (Supplier<Publisher<Integer>> pipeline : pipelines()) {
+            List<Integer> expected = TestSubscriber.collect(pipeline.get(), Long.MAX_VALUE);
+            PipelineTemplate<Integer> template = PipelineTemplate.of(pipeline.get(), 2);
+            // more rounds than pool slots, so pooled subscribers get reused
+            for (int round = 0; round < 4; round++) {
+                assertEquals(expected, TestSubscriber.collect(template, Long.MAX_VALUE));
+                assertEquals(expected, TestSubscriber.collect(template, 1));
+            }
+        }
+    }
+
+    @Test
+    void fusedSubscribersPollTheirOwnItems() {
+        PipelineTemplate<Integer> template = PipelineTemplate.of(
+                new FluxMap<>(new FluxJust<>(1, 2, 3), x -> x * 2), 2);
+        assertEquals(List.of(2, 4, 6), TestSubscriber.poll(template));
+
+        // the first subscription's pooled subscriber goes back to the pool as
+        // soon as it fuses, and serves the second while the first still polls
+        List<QueueSubscription<Integer>> held = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            template.subscribe(new TestSubscriber<>(0) {
+                @Override
+                @SuppressWarnings("unchecked")
+                public void onSubscribe(Subscription subscription) {
+                    QueueSubscription<Integer> qs = (QueueSubscription<Integer>) subscription;
+                    qs.requestFusion(QueueSubscription.SYNC);
+                    held.add(qs);
+                }
+            });
+        }
+        assertEquals(2, held.get(0).poll());
+        assertEquals(2, held.get(1).poll());
+        assertEquals(4, held.get(1).poll());
+        assertEquals(4, held.get(0).poll());
+        assertEquals(6, held.get(0).poll());
+        assertEquals(6, held.get(1).poll());
+        assertEquals(null, held.get(0).poll());
+        assertEquals(null, held.get(1).poll());
+    }
+
+    @Test
+    void sequentialSubscriptionsReuseOnePooledSubscriber() {
+        Set<Subscriber<?>> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        Publisher<Integer> source = subscriber -> {
+            seen.add(subscriber);
+            new FluxJust<>(1, 2, 3).subscribe(subscriber);
+        };
+        PipelineTemplate<Integer> template = PipelineTemplate.of(new FluxMap<>(source, x -> x + 1), 4);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(List.of(2, 3, 4), TestSubscriber.collect(template, Long.MAX_VALUE));
+            assertEquals(List.of(2, 3, 4), TestSubscriber.poll(template));
+        }
+        assertEquals(1, seen.size());
+    }
+
+    @Test
+    void contextWritesApplyPerSubscription() {
+        PipelineTemplate<String> template = PipelineTemplate.of(new FluxMap<>(
+                new FluxContextWrite<>(USER, ctx -> ctx.put("user", ctx.getOrDefault("name", "?") + "@eu")),
+                x -> x + "!"), 2);
+        for (String name : List.of("ann", "bob", "cy", "ann")) {
+            assertEquals(List.of(name + "@eu!", name + "@eu!"), collect(template, name));
+        }
+    }
+
+    // A pooled subscriber is released before onComplete runs, so one that
+    // resubscribes from there is handed that same subscriber again.
+    @Test
+    void resubscribingFromOnCompleteStartsOver() {
+        for (Supplier<Publisher<Integer>> pipeline : pipelines()) {
+            List<Integer> once = TestSubscriber.collect(pipeline.get(), Long.MAX_VALUE);
+            PipelineTemplate<Integer> template = PipelineTemplate.of(pipeline.get(), 2);
+            List<Integer> received = new ArrayList<>();
+            AtomicInteger rounds = new AtomicInteger();
+            template.subscribe(new TestSubscriber<>() {
+                @Override
+                public void onNext(Integer item) {
+                    received.add(item);
+                }
+
+                @Override
+                public void onComplete() {
+                    if (rounds.incrementAndGet() < 3) {
+                        template.subscribe(this);
+                    }
+                }
+            });
+
+            List<Integer> expected = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                expected.addAll(once);
+            }
+            assertEquals(3, rounds.get());
+            assertEquals(expected, received);
+        }
+    }
+
+    @Test
+    void concurrentSubscribersDoNotShareState() throws InterruptedException {
+        PipelineTemplate<String> template = PipelineTemplate.of(new FluxFilter<>(new FluxMap<>(
+                new FluxContextWrite<>(USER, ctx -> ctx.put("user", ctx.get("name"))),
+                x -> x + "!"), x -> !x.isEmpty()), 4);
+        List<String> failures = Collections.synchronizedList(new ArrayList<>());
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            int thread = t;
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    String name = "t" + thread + "-" + i;
+                    List<String> expected = List.of(name + "!", name + "!");
+                    List<String> items = i % 2 == 0 ? collect(template, name) : poll(template, name);
+                    if (!items.equals(expected)) {
+                        failures.add(expected + " but got " + items);
+                        return;
+                    }
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(List.of(), failures);
+    }
+
+    private static List<String> collect(Publisher<String> publisher, String name) {
+        NamedSubscriber subscriber = new NamedSubscriber(name, false);
+        publisher.subscribe(subscriber);
+        return subscriber.items;
+    }
+
+    private static List<String> poll(Publisher<String> publisher, String name) {
+        NamedSubscriber subscriber = new NamedSubscriber(name, true);
+        publisher.subscribe(subscriber);
+        return subscriber.items;
+    }
+
+    private static <T> Publisher<T> hideFusion(Publisher<T> source) {
+        return subscriber -> source.subscribe(new Subscriber<T>() {
+            @Override
+            public void onSubscribe(Subscription subscription) {
+                subscriber.onSubscribe(new Subscription() {
+                    @Override
+                    public void request(long n) {
+                        subscription.request(n);
+                    }
+
+                    @Override
+                    public void cancel() {
+                        subscription.cancel();
+                    }
+                });
+            }
+
+            @Override
+            public void onNext(T item) {
+                subscriber.onNext(item);
+            }
+
+            @Override
+            public void onComplete() {
+                subscriber.onComplete();
+            }
+
+            @Override
+            public Context currentContext() {
+                return subscriber.currentContext();
+            }
+        });
+    }
+
+    // Subscribes with {name: name} as its context, pushed or fused.
+    private static final class NamedSubscriber extends TestSubscriber<String> {
+        private final Context context;
+        private final boolean fuse;
+
+        NamedSubscriber(String name, boolean fuse) {
+            this.context = Context.EMPTY.put("name", name);
+            this.fuse = fuse;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void onSubscribe(Subscription subscription) {
+            if (fuse && subscription instanceof QueueSubscription) {
+                QueueSubscription<String> qs = (QueueSubscription<String>) subscription;
+                if (qs.requestFusion(QueueSubscription.SYNC) == QueueSubscription.SYNC) {
+                    String item;
+                    while ((item = qs.poll()) != null) {
+                        items.add(item);
+                    }
+                    onComplete();
+                    return;
+                }
+            }
+            super.onSubscribe(subscription);
+        }
+
+        @Override
+        public Context currentContext() {
+            return context;
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+
+class SinksTest {
+    private static final int EMITTERS = 4;
+
+    @Test
+    void boundedSinksReportOverflowOrDrop() {
+        List<Supplier<Sinks.Many<Integer>>> failFast = List.of(
+                () -> Sinks.many().unicast(4, Sinks.OverflowStrategy.FAIL_FAST),
+                () -> Sinks.many().multicast(4, Sinks.OverflowStrategy.FAIL_FAST));
+        for (Supplier<Sinks.Many<Integer>> spec : failFast) {
+            Sinks.Many<Integer> sink = spec.get();
+            for (int i = 0; i < 4; i++) {
+                assertEquals(Sinks.EmitResult.OK, sink.tryEmitNext(i));
+            }
+            assertEquals(Sinks.EmitResult.FAIL_OVERFLOW, sink.tryEmitNext(4));
+            assertEquals(Sinks.EmitResult.OK, sink.tryEmitComplete());
+            assertEquals(Sinks.EmitResult.FAIL_TERMINATED, sink.tryEmitNext(5));
+            assertEquals(Sinks.EmitResult.FAIL_TERMINATED, sink.tryEmitComplete());
+
+            TestSubscriber<Integer> subscriber = new TestSubscriber<>();
+            sink.asFlux().subscribe(subscriber);
+            assertEquals(List.of(0, 1, 2, 3), subscriber.items);
+            assertTrue(subscriber.completed);
+        }
+
+        Sinks.Many<Integer> dropping = Sinks.many().unicast(2, Sinks.OverflowStrategy.DROP_LATEST);
+        dropping.tryEmitNext(0);
+        dropping.tryEmitNext(1);
+        assertEquals(Sinks.EmitResult.DROPPED, dropping.tryEmitNext(2));
+    }
+
+    @Test
+    void unicastDeliversEveryItemOfConcurrentEmitters() throws InterruptedException {
+        Sinks.Many<Long> sink = Sinks.many().unicast();
+        OrderedSubscriber subscriber = new OrderedSubscriber();
+        sink.asFlux().subscribe(subscriber);
+
+        Set<Long> accepted = emitConcurrently(sink, 50_000, true);
+        sink.tryEmitComplete();
+
+        assertTrue(subscriber.await());
+        subscriber.assertReceivedExactly(accepted);
+    }
+
+    // With FAIL_FAST a full sink hands the item back; whatever was reported OK
+    // arrives exactly once, and nothing else does.
+    @Test
+    void failFastDeliversExactlyTheItemsReportedOk() throws InterruptedException {
+        for (Supplier<Sinks.Many<Long>> spec : List.<Supplier<Sinks.Many<Long>>>of(
+                () -> Sinks.many().unicast(16, Sinks.OverflowStrategy.FAIL_FAST),
+                () -> Sinks.many().multicast(16, Sinks.OverflowStrategy.FAIL_FAST))) {
+            Sinks.Many<Long> sink = spec.get();
+            OrderedSubscriber subscriber = new OrderedSubscriber();
+            sink.asFlux().subscribe(subscriber);
+
+            Set<Long> accepted = emitConcurrently(sink, 20_000, false);
+            assertFalse(accepted.isEmpty());
+            sink.tryEmitComplete();
+
+            assertTrue(subscriber.await());
+            subscriber.assertReceivedExactly(accepted);
+        }
+    }
+
+    @Test
+    void multicastSubscribersSeeTheSameSequence() throws InterruptedException {
+        Sinks.Many<Long> sink = Sinks.many().multicast(64, Sinks.OverflowStrategy.FAIL_FAST);
+        OrderedSubscriber first = new OrderedSubscriber();
+        OrderedSubscriber second = new OrderedSubscriber();
+        sink.asFlux().subscribe(first);
+        sink.asFlux().subscribe(second);
+        assertEquals(2, sink.currentSubscriberCount());
+
+        Set<Long> accepted = emitConcurrently(sink, 20_000, true);
+        sink.tryEmitComplete();
+
+        assertTrue(first.await());
+        assertTrue(second.await());
+        first.assertReceivedExactly(accepted);
+        assertEquals(first.items, second.items);
+    }
+
+    // Completion lands while emitters are mid-flight: an item reported OK must
+    // still be delivered, ahead of onComplete, and a rejected one never is.
+    @Test
+    void completionRacingEmissionLosesNothingReportedOk() throws InterruptedException {
+        for (int round = 0; round < 500; round++) {
+            Sinks.Many<Long> sink = round % 2 == 0
+                    ? Sinks.many().unicast()
+                    : Sinks.many().multicast(1024, Sinks.OverflowStrategy.FAIL_FAST);
+            OrderedSubscriber subscriber = new OrderedSubscriber();
+            sink.asFlux().subscribe(subscriber);
+
+            CountDownLatch started = new CountDownLatch(EMITTERS);
+            Set<Long> accepted = ConcurrentHashMap.newKeySet();
+            List<Thread> emitters = new ArrayList<>();
+            for (int p = 0; p < EMITTERS; p++) {
+                long producer = p;
+                emitters.add(start(() -> {
+                    started.countDown();
+                    for (long seq = 0; seq < 200; seq++) {
+                        long item = producer << 32 | seq;
+                        Sinks.EmitResult result = sink.tryEmitNext(item);
+                        if (result == Sinks.EmitResult.OK) {
+                            accepted.add(item);
+                        } else if (result != Sinks.EmitResult.FAIL_TERMINATED) {
+                            subscriber.violation = "emit returned " + result;
+                        }
+                    }
+                }));
+            }
+            started.await();
+            assertEquals(Sinks.EmitResult.OK, sink.tryEmitComplete());
+            for (Thread emitter : emitters) {
+                emitter.join();
+            }
+
+            assertTrue(subscriber.await());
+            subscriber.assertReceivedExactly(accepted);
+        }
+    }
+
+    // Each emitter sends its own increasing sequence; retry keeps offering an
+    // item the sink rejected as full, otherwise it is skipped.
+    private static Set<Long> emitConcurrently(Sinks.Many<Long> sink, int perEmitter, boolean retry)
+            throws InterruptedException {
+        Set<Sinks.EmitResult> unexpected = ConcurrentHashMap.newKeySet();
+        Set<Long> accepted = ConcurrentHashMap.newKeySet();
+        List<Thread> emitters = new ArrayList<>();
+        for (int p = 0; p < EMITTERS; p++) {
+            long producer = p;
+            emitters.add(start(() -> {
+                for (long seq = 0; seq < perEmitter; seq++) {
+                    long item = producer << 32 | seq;
+                    Sinks.EmitResult result;
+                    while ((result = sink.tryEmitNext(item)) == Sinks.EmitResult.FAIL_OVERFLOW && retry) {
+                        Thread.yield();
+                    }
+                    if (result == Sinks.EmitResult.OK) {
+                        accepted.add(item);
+                    } else if (result != Sinks.EmitResult.FAIL_OVERFLOW) {
+                        unexpected.add(result);
+                    }
+                }
+            }));
+        }
+        for (Thread emitter : emitters) {
+            emitter.join();
+        }
+        assertEquals(Set.of(), unexpected);
+        return accepted;
+    }
+
+    private static Thread start(Runnable task) {
+        Thread thread = new Thread(task);
+        thread.start();
+        return thread;
+    }
+
+    // Checks each emitter's items arrive in order, and none after onComplete.
+    private static final class OrderedSubscriber extends TestSubscriber<Long> {
+        private final long[] next = new long[EMITTERS];
+        volatile String violation;
+
+        @Override
+        public void onNext(Long item) {
+            if (completed) {
+                violation = "onNext(" + item + ") after onComplete";
+            }
+            int producer = (int) (item >>> 32);
+            long seq = item & 0xFFFF_FFFFL;
+            if (seq < next[producer]) {
+                violation = "item " + seq + " of emitter " + producer + " out of order or repeated";
+            }
+            next[producer] = seq + 1;
+            super.onNext(item);
+        }
+
+        void assertReceivedExactly(Set<Long> accepted) {
+            assertEquals(null, violation);
+            assertTrue(completed);
+            assertEquals(accepted.size(), items.size());
+            assertEquals(accepted, new HashSet<>(items));
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.example;
+
+// A source the test pushes items through by hand; it records the demand and
+// cancellations it receives.
+final class TestPublisher<T> implements Publisher<T> {
+    private Subscriber<T> subscriber;
+    volatile long requested;
+    volatile int cancelled;
+
+    @Override
+    public void subscribe(Subscriber<T> subscriber) {
+        this.subscriber = subscriber;
+        subscriber.onSubscribe(new Subscription() {
+            @Override
+            public void request(long n) {
+                requested = Operators.addCap(requested, n);
+            }
+
+            @Override
+            public void cancel() {
+                cancelled++;
+            }
+        });
+    }
+
+    @SafeVarargs
+    final void next(T... items) {
+        for (T item : items) {
+            subscriber.onNext(item);
+        }
+    }
+
+    void complete() {
+        subscriber.onComplete();
+    }
+}
@@ -0,0 +1,101 @@
+package com.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+// Records what it receives, asking for initialRequest items on subscribe;
+// further demand is up to the test.
+class TestSubscriber<T> implements Subscriber<T> {
+    private final long initialRequest;
+    private final CountDownLatch terminated = new CountDownLatch(1);
+    final List<T> items = Collections.synchronizedList(new ArrayList<>());
+    volatile Subscription subscription;
+    volatile boolean completed;
+
+    TestSubscriber(long initialRequest) {
+        this.initialRequest = initialRequest;
+    }
+
+    TestSubscriber() {
+        this(Long.MAX_VALUE);
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        this.subscription = subscription;
+        if (initialRequest > 0) {
+            subscription.request(initialRequest);
+        }
+    }
+
+    @Override
+    public void onNext(T item) {
+        items.add(item);
+    }
+
+    @Override
+    public void onComplete() {
+        completed = true;
+        terminated.countDown();
+    }
+
+    @Override
+    public Context currentContext() {
+        return Context.EMPTY;
+    }
+
+    void request(long n) {
+        subscription.request(n);
+    }
+
+    void cancel() {
+        subscription.cancel();
+    }
+
+    boolean await() throws InterruptedException {
+        return terminated.await(10, TimeUnit.SECONDS);
+    }
+
+    // Requests demand items at a time until completion; each request is made
+    // after the previous batch has arrived.
+    static <T> List<T> collect(Publisher<T> publisher, long demand) {
+        TestSubscriber<T> subscriber = new TestSubscriber<>(demand) {
+            private long received;
+
+            @Override
+            public void onNext(T item) {
+                super.onNext(item);
+                if (demand != Long.MAX_VALUE && ++received % demand == 0) {
+                    request(demand);
+                }
+            }
+        };
+        publisher.subscribe(subscriber);
+        assertTrue(subscriber.completed);
+        return subscriber.items;
+    }
+
+    // Takes SYNC fusion and pulls every item with poll().
+    @SuppressWarnings("unchecked")
+    static <T> List<T> poll(Publisher<T> publisher) {
+        List<T> polled = new ArrayList<>();
+        publisher.subscribe(new TestSubscriber<>(0) {
+            @Override
+            public void onSubscribe(Subscription subscription) {
+                QueueSubscription<T> qs = (QueueSubscription<T>) subscription;
+                assertEquals(QueueSubscription.SYNC, qs.requestFusion(QueueSubscription.SYNC));
+                T item;
+                while ((item = qs.poll()) != null) {
+                    polled.add(item);
+                }
+            }
+        });
+        return polled;
+    }
+}